@@ -1,33 +1,64 @@
 package org.example.driverandfleetmanagementapp.aop;
 
 
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.example.driverandfleetmanagementapp.audit.AuditFields;
 import org.example.driverandfleetmanagementapp.audit.AuditLog;
-import org.example.driverandfleetmanagementapp.audit.AuditLogRepository;
+import org.example.driverandfleetmanagementapp.audit.AuditWriter;
 import org.example.driverandfleetmanagementapp.audit.Auditable;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
 import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
 
 
 @Aspect
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AuditAspect {
 
 
-    private final AuditLogRepository auditRepository;
+    private final AuditWriter auditWriter;
+    private final EntityManager entityManager;
+    private final VehicleMapper vehicleMapper;
+    private final DriverMapper driverMapper;
+    private final TransactionTemplate snapshotTransaction;
+
+    public AuditAspect(AuditWriter auditWriter, EntityManager entityManager, VehicleMapper vehicleMapper,
+                       DriverMapper driverMapper, PlatformTransactionManager transactionManager) {
+        this.auditWriter = auditWriter;
+        this.entityManager = entityManager;
+        this.vehicleMapper = vehicleMapper;
+        this.driverMapper = driverMapper;
+        // only for calls outside a transaction, see snapshot
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        this.snapshotTransaction.setReadOnly(true);
+    }
 
 
     @Around("@annotation(auditable)")
     public Object audit(ProceedingJoinPoint joinPoint, Auditable auditable) throws Throwable {
+        Object before = auditable.captureChanges() ? snapshot(auditable.entity(), joinPoint.getArgs()) : null;
+
         Object result = joinPoint.proceed();
 
         try {
@@ -40,9 +71,20 @@ public class AuditAspect {
                     .action(auditable.action())
                     .userId(userId)
                     .timestamp(LocalDateTime.now())
+                    .changes(diff(before, result))
                     .build();
 
-            auditRepository.save(audit);
+            // queued for the background writer, only once the audited change is committed
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        auditWriter.submit(audit);
+                    }
+                });
+            } else {
+                auditWriter.submit(audit);
+            }
 
         } catch (Exception e) {
             log.warn("Audit failed: {}", e.getMessage());
@@ -51,6 +93,49 @@ public class AuditAspect {
         return result;
     }
 
+    // state before the call, as the DTO the audited method returns afterwards
+    private Object snapshot(String entity, Object[] args) {
+        if (args.length == 0 || !(args[0] instanceof Long id)) {
+            return null;
+        }
+        try {
+            // inside the audited transaction the entity is read once for both, and read directly: a template or a
+            // transactional repository joining the transaction would mark it rollback-only when the snapshot fails
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return read(entity, id);
+            }
+            return snapshotTransaction.execute(status -> read(entity, id));
+        } catch (Exception e) {
+            log.warn("Audit snapshot failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Object read(String entity, Long id) {
+        return switch (entity) {
+            case "VEHICLE" -> find(Vehicle.class, id, "driver").map(vehicleMapper::toDto).orElse(null);
+            case "DRIVER" -> find(Driver.class, id, "vehicles").map(driverMapper::toDto).orElse(null);
+            default -> null;
+        };
+    }
+
+    // same fetch as the repositories' findById, through the EntityManager so no transaction interceptor is involved
+    private <T> Optional<T> find(Class<T> type, Long id, String association) {
+        EntityGraph<T> graph = entityManager.createEntityGraph(type);
+        graph.addAttributeNodes(association);
+        return Optional.ofNullable(entityManager.find(type, id, Map.of(SpecHints.HINT_SPEC_FETCH_GRAPH, graph)));
+    }
+
+    private String diff(Object before, Object after) {
+        if (before instanceof VehicleDto old && after instanceof VehicleDto updated) {
+            return AuditFields.VEHICLE.diff(old, updated);
+        }
+        if (before instanceof DriverDto old && after instanceof DriverDto updated) {
+            return AuditFields.DRIVER.diff(old, updated);
+        }
+        return null;
+    }
+
     private Long extractId(Object result) {
         if (result instanceof DriverDto dto) return dto.getId();
         if (result instanceof VehicleDto dto) return dto.getId();
@@ -62,4 +147,4 @@ public class AuditAspect {
                 .getAuthentication()
                 .getName();
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,18 @@
 package org.example.driverandfleetmanagementapp.audit;
 
 import lombok.RequiredArgsConstructor;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 
 
 
@@ -15,27 +22,73 @@ import java.util.List;
 public class AuditController {
 
     private final AuditLogRepository auditRepository;
+    private final AuditTrailService auditTrailService;
 
 
+    // from / to (ISO date-time) restrict the time range, on PostgreSQL only the matching monthly partitions are read
     @GetMapping
     public Page<AuditLog> getAllAuditLogs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size){
-        return auditRepository.findAll(PageRequest.of(page, size));
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        if (from == null && to == null) {
+            return auditRepository.findAll(PageRequest.of(page, size));
+        }
+        return auditRepository.findByTimestampBetween(from != null ? from : AuditTrailService.MIN_TIMESTAMP,
+                to != null ? to : AuditTrailService.MAX_TIMESTAMP, PageRequest.of(page, size));
     }
 
+    // newest first, pass nextCursor of the previous response as "after"
     @GetMapping("/{entityType}/{entityId}")
-    public List<AuditLog> getEntityAuditTrail(
+    public CursorPage<AuditLog> getEntityAuditTrail(
             @PathVariable String entityType,
-            @PathVariable Long entityId) {
+            @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        return auditRepository.findByEntityTypeAndEntityIdOrderByTimestampDesc(
-                entityType, entityId);
+        return auditTrailService.scrollEntityTrail(entityType, entityId, from, to, after, limit);
+    }
+
+    @GetMapping(value = "/{entityType}/{entityId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEntityAuditTrail(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ndjson("audit-" + entityType.toLowerCase() + "-" + entityId + ".ndjson",
+                out -> auditTrailService.exportEntityTrail(entityType, entityId, from, to, out));
     }
 
     @GetMapping("/my-operations")
-    public List<AuditLog> getMyOperations(Authentication auth) {
+    public CursorPage<AuditLog> getMyOperations(
+            Authentication auth,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        String currentUser = auth.getName();
+        return auditTrailService.scrollUserOperations(currentUser, from, to, after, limit);
+    }
+
+    @GetMapping(value = "/my-operations/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMyOperations(
+            Authentication auth,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
         String currentUser = auth.getName();
-        return auditRepository.findByUserIdOrderByTimestampDesc(currentUser);
+        return ndjson("audit-my-operations.ndjson",
+                out -> auditTrailService.exportUserOperations(currentUser, from, to, out));
+    }
+
+
+    private ResponseEntity<StreamingResponseBody> ndjson(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 }
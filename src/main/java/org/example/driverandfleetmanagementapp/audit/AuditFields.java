@@ -0,0 +1,54 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleBasicDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+import java.util.function.Function;
+
+
+// Fields compared for the changes column of audit_logs - name -> accessor, relations by id only
+public final class AuditFields {
+
+    public static final FieldDiffer<VehicleDto> VEHICLE = new FieldDiffer<>(vehicleFields());
+
+    public static final FieldDiffer<DriverDto> DRIVER = new FieldDiffer<>(driverFields());
+
+    private AuditFields() {
+    }
+
+
+    private static SequencedMap<String, Function<VehicleDto, ?>> vehicleFields() {
+        SequencedMap<String, Function<VehicleDto, ?>> fields = new LinkedHashMap<>();
+        fields.put("licensePlate", VehicleDto::getLicensePlate);
+        fields.put("brand", VehicleDto::getBrand);
+        fields.put("model", VehicleDto::getModel);
+        fields.put("productionYear", VehicleDto::getProductionYear);
+        fields.put("type", VehicleDto::getType);
+        fields.put("registrationDate", VehicleDto::getRegistrationDate);
+        fields.put("technicalInspectionDate", VehicleDto::getTechnicalInspectionDate);
+        fields.put("mileage", VehicleDto::getMileage);
+        fields.put("status", VehicleDto::getStatus);
+        fields.put("driverId", vehicle -> vehicle.getDriver() != null ? vehicle.getDriver().getId() : null);
+        return fields;
+    }
+
+    private static SequencedMap<String, Function<DriverDto, ?>> driverFields() {
+        SequencedMap<String, Function<DriverDto, ?>> fields = new LinkedHashMap<>();
+        fields.put("firstName", DriverDto::getFirstName);
+        fields.put("lastName", DriverDto::getLastName);
+        fields.put("licenseNumber", DriverDto::getLicenseNumber);
+        fields.put("licenseType", DriverDto::getLicenseType);
+        fields.put("dateOfBirth", DriverDto::getDateOfBirth);
+        fields.put("phoneNumber", DriverDto::getPhoneNumber);
+        fields.put("email", DriverDto::getEmail);
+        fields.put("status", DriverDto::getStatus);
+        // sorted, the vehicles set has no stable order
+        fields.put("vehicleIds", driver -> driver.getVehicles() == null ? null : driver.getVehicles().stream()
+                .map(VehicleBasicDto::getId)
+                .sorted()
+                .toList());
+        return fields;
+    }
+}
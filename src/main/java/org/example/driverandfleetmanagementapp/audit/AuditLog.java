@@ -19,7 +19,7 @@ public class AuditLog {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_seq")
-    @SequenceGenerator(name = "audit_seq", sequenceName = "audit_logs_seq", allocationSize = 1)
+    @SequenceGenerator(name = "audit_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
     private Long id;
 
     private String entityType;
@@ -28,4 +28,7 @@ public class AuditLog {
     private String userId;
     private LocalDateTime timestamp;
 
+    // field-level diff of updates, see FieldDiffer
+    private String changes;
+
 }
@@ -1,13 +1,55 @@
 package org.example.driverandfleetmanagementapp.audit;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
 
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId);
+    // The timestamp bounds let PostgreSQL prune the monthly audit_logs partitions outside [from, to]
 
-    List<AuditLog> findByUserIdOrderByTimestampDesc(String userId);
-}
\ No newline at end of file
+    Page<AuditLog> findByTimestampBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // keyset windows on (timestamp, id), served in index order by idx_audit_entity / idx_audit_user
+
+    Window<AuditLog> findByEntityTypeAndEntityIdAndTimestampBetween(String entityType, Long entityId,
+                                                                    LocalDateTime from, LocalDateTime to,
+                                                                    ScrollPosition position, Limit limit, Sort sort);
+
+    Window<AuditLog> findByUserIdAndTimestampBetween(String userId, LocalDateTime from, LocalDateTime to,
+                                                     ScrollPosition position, Limit limit, Sort sort);
+
+    // streaming NDJSON exports of a whole trail, newest first
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+            "AND a.timestamp BETWEEN :from AND :to ORDER BY a.timestamp DESC, a.id DESC")
+    Stream<AuditLog> streamEntityTrail(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId " +
+            "AND a.timestamp BETWEEN :from AND :to ORDER BY a.timestamp DESC, a.id DESC")
+    Stream<AuditLog> streamUserOperations(@Param("userId") String userId,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
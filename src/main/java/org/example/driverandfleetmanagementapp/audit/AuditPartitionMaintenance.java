@@ -0,0 +1,187 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.AuditProperties;
+import org.postgresql.PGConnection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Keeps the monthly audit_logs partitions on PostgreSQL in shape: creates the partitions of the coming months
+ * and moves partitions past the retention period out of the database. An expired partition is detached in a
+ * transaction of its own, since DETACH locks the whole audit_logs table, and then copied to a gzipped CSV in the
+ * archive directory and dropped in a second one. A failed copy leaves the detached table for the next run.
+ */
+@Slf4j
+public class AuditPartitionMaintenance {
+
+    static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname, i.inhparent IS NOT NULL AS attached
+            FROM pg_class c
+            LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+            WHERE c.relkind = 'r'
+              AND c.relnamespace = current_schema()::regnamespace
+              AND c.relname ~ '^audit_logs_p[0-9]{6}$'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditProperties.Partitioning properties;
+    private final Counter archived;
+
+    public AuditPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     AuditProperties auditProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = auditProperties.getPartitioning();
+        this.archived = Counter.builder("fleet.audit.partitions.archived")
+                .description("Expired audit_logs partitions archived to disk and dropped")
+                .register(meterRegistry);
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${fleet.audit.partitioning.cron:0 30 3 * * *}")
+    public void maintain() {
+        try {
+            createPartitions();
+            archiveExpiredPartitions();
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public int createPartitions() {
+        Integer created = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT create_audit_log_partitions(?, ?)", Integer.class,
+                Date.valueOf(LocalDate.now().withDayOfMonth(1)), properties.getMonthsAhead()));
+        if (created != null && created > 0) {
+            log.info("Created {} audit_logs partition(s)", created);
+        }
+        return created == null ? 0 : created;
+    }
+
+    public List<String> archiveExpiredPartitions() {
+        List<Partition> partitions = jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString("relname"), rs.getBoolean("attached")));
+        List<String> expired = expiredPartitions(partitions.stream().map(Partition::name).toList(),
+                YearMonth.now(), properties.getRetentionMonths());
+
+        return expired.stream()
+                .filter(name -> archive(name, partitions.stream().anyMatch(p -> p.name().equals(name) && p.attached())))
+                .toList();
+    }
+
+
+    // partitions whose month ended before the first month still kept, oldest first
+    static List<String> expiredPartitions(Collection<String> partitionNames, YearMonth currentMonth, int retentionMonths) {
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        return partitionNames.stream()
+                .filter(name -> partitionMonth(name).map(month -> month.isBefore(oldestKept)).orElse(false))
+                .sorted()
+                .toList();
+    }
+
+    static Optional<YearMonth> partitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches() ? Optional.of(YearMonth.parse(matcher.group(1), PARTITION_MONTH)) : Optional.empty();
+    }
+
+    private boolean archive(String partition, boolean attached) {
+        Path archiveDirectory = properties.getArchiveDirectory();
+        Path target = archiveDirectory.resolve(partition + ".csv.gz");
+        Path tmp = archiveDirectory.resolve(partition + ".csv.gz.tmp");
+        try {
+            if (attached && !detach(partition)) {
+                return false;
+            }
+
+            // only the detached table is locked while it is copied and dropped, audit_logs stays usable
+            Boolean done = transactionTemplate.execute(status -> {
+                // another instance took over the detached table
+                if (!tryLockPartitions() || jdbcTemplate.queryForObject("SELECT to_regclass(?)", String.class, partition) == null) {
+                    return false;
+                }
+                long rows = copyOut(partition, tmp);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                log.info("Archived audit_logs partition {} ({} rows) to {}", partition, rows, target);
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                archived.increment();
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("Archiving audit_logs partition {} failed, it stays in the database: {}", partition, e.getMessage());
+        }
+        return false;
+    }
+
+    // DETACH takes an ACCESS EXCLUSIVE lock on audit_logs, committed right away so no write waits for the copy
+    private boolean detach(String partition) {
+        Boolean detached = transactionTemplate.execute(status -> {
+            if (!tryLockPartitions()) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+            return true;
+        });
+        return Boolean.TRUE.equals(detached);
+    }
+
+    // held until the end of the transaction, another instance archiving right now makes this one skip
+    private boolean tryLockPartitions() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('audit_logs_partitions'))", Boolean.class));
+    }
+
+    private long copyOut(String partition, Path file) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+
+    private record Partition(String name, boolean attached) {
+    }
+}
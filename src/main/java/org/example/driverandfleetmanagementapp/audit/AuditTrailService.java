@@ -0,0 +1,132 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.example.driverandfleetmanagementapp.export.NdjsonRowWriter;
+import org.example.driverandfleetmanagementapp.utilis.KeysetCursor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+
+/**
+ * Audit trails of one entity or one user, newest first. Windows are keyset-paginated on (timestamp, id),
+ * whole trails are streamed as NDJSON - neither loads more than a window / fetch of rows at once.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditTrailService {
+
+    static final String SORT_PROPERTY = "timestamp";
+    // open ends stay within the PostgreSQL timestamp range
+    static final LocalDateTime MIN_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime MAX_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final AuditLogRepository auditLogRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> scrollEntityTrail(String entityType, Long entityId, LocalDateTime from, LocalDateTime to,
+                                                  String after, int limit) {
+        validateRange(from, to);
+        CursorPageRequest request = request(after, limit);
+        // validates the limit as well
+        Sort sort = sort(request);
+        KeysetScrollPosition position = KeysetCursor.decode(request, AuditLog.class);
+        Window<AuditLog> window = auditLogRepository.findByEntityTypeAndEntityIdAndTimestampBetween(entityType, entityId,
+                from(from), to(to, position), position, Limit.of(limit), sort);
+        return KeysetCursor.page(window, window.getContent(), request);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> scrollUserOperations(String userId, LocalDateTime from, LocalDateTime to,
+                                                     String after, int limit) {
+        validateRange(from, to);
+        CursorPageRequest request = request(after, limit);
+        // validates the limit as well
+        Sort sort = sort(request);
+        KeysetScrollPosition position = KeysetCursor.decode(request, AuditLog.class);
+        Window<AuditLog> window = auditLogRepository.findByUserIdAndTimestampBetween(userId,
+                from(from), to(to, position), position, Limit.of(limit), sort);
+        return KeysetCursor.page(window, window.getContent(), request);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportEntityTrail(String entityType, Long entityId, LocalDateTime from, LocalDateTime to,
+                                  OutputStream out) throws IOException {
+        validateRange(from, to);
+        try (Stream<AuditLog> audits = auditLogRepository.streamEntityTrail(entityType, entityId, from(from), to(to, null))) {
+            return write(audits.iterator(), out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportUserOperations(String userId, LocalDateTime from, LocalDateTime to,
+                                     OutputStream out) throws IOException {
+        validateRange(from, to);
+        try (Stream<AuditLog> audits = auditLogRepository.streamUserOperations(userId, from(from), to(to, null))) {
+            return write(audits.iterator(), out);
+        }
+    }
+
+
+    private long write(Iterator<AuditLog> audits, OutputStream out) throws IOException {
+        NdjsonRowWriter<AuditLog> writer = new NdjsonRowWriter<>(objectMapper, out);
+        long written = 0;
+        while (audits.hasNext()) {
+            writer.write(audits.next());
+            if (++written % AuditLogRepository.EXPORT_FETCH_SIZE == 0) {
+                writer.flush();
+                // audit rows are never read back, keep the first-level cache empty
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private CursorPageRequest request(String after, int limit) {
+        return new CursorPageRequest(after, limit, SORT_PROPERTY, Sort.Direction.DESC);
+    }
+
+    // newest first, the id breaks ties in the same direction so one index serves the whole order
+    private Sort sort(CursorPageRequest request) {
+        return KeysetCursor.sort(request, Set.of(SORT_PROPERTY)).and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessLogicException("'from' must not be after 'to'");
+        }
+    }
+
+    private LocalDateTime from(LocalDateTime from) {
+        return from != null ? from : MIN_TIMESTAMP;
+    }
+
+    // The keyset predicate is an OR of (timestamp, id) comparisons, which no index can seek on. Every row after
+    // the cursor is at most as new as the cursor row, so that timestamp also bounds the range scan.
+    private LocalDateTime to(LocalDateTime to, KeysetScrollPosition position) {
+        LocalDateTime upper = to != null ? to : MAX_TIMESTAMP;
+        if (position != null && position.getKeys().get(SORT_PROPERTY) instanceof LocalDateTime cursorTimestamp
+                && cursorTimestamp.isBefore(upper)) {
+            upper = cursorTimestamp;
+        }
+        return upper;
+    }
+}
@@ -0,0 +1,413 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.AuditProperties;
+import org.springframework.context.SmartLifecycle;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Writes audit records in the background instead of one insert inside every audited call.
+ * Callers only put the record on a bounded lock-free queue, a single writer thread takes it off in batches
+ * (batchSize records or whatever arrived within flushInterval) and inserts each batch in one transaction.
+ * A full queue is handled by the configured OverflowPolicy, whatever is still queued is written on shutdown.
+ */
+@Slf4j
+public class AuditWriter implements SmartLifecycle {
+
+    static final String SPILL_FILE = "audit-spill.ndjson";
+    static final String REPLAY_SUFFIX = ".replay";
+    static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long REPLAY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    // ConcurrentLinkedQueue is lock-free but unbounded, the capacity is enforced by reserving a slot in size first
+    private final ConcurrentLinkedQueue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    // not synchronized - request threads spill too, a virtual thread would pin its carrier during the file I/O
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Path spillFile;
+
+    private final DistributionSummary batchSize;
+    private final Timer writeLatency;
+    private final Timer failedWriteLatency;
+    private final Counter written;
+    private final Counter spilled;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile boolean spillPending;
+    private volatile Thread writerThread;
+    // records the writer still needs to complete its batch, an offer reaching it wakes the writer
+    private volatile int needed;
+    // no replay attempts before this System.nanoTime() after a failed write
+    private volatile long replayNotBefore = System.nanoTime();
+
+    public AuditWriter(AuditLogRepository auditLogRepository, AuditProperties properties,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.spillFile = properties.getSpillDirectory().resolve(SPILL_FILE);
+
+        Gauge.builder("fleet.audit.queue.depth", size, AtomicInteger::get)
+                .description("Audit records waiting for the background writer")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("fleet.audit.batch.size")
+                .description("Audit records written per batch")
+                .register(meterRegistry);
+        this.writeLatency = Timer.builder("fleet.audit.write.latency")
+                .description("Time to insert one batch of audit records")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedWriteLatency = Timer.builder("fleet.audit.write.latency")
+                .description("Time to insert one batch of audit records")
+                .tag("outcome", "error")
+                .register(meterRegistry);
+        this.written = Counter.builder("fleet.audit.events.written")
+                .description("Audit records inserted by the background writer")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("fleet.audit.events.spilled")
+                .description("Audit records spilled to disk")
+                .register(meterRegistry);
+    }
+
+
+    public void submit(AuditLog audit) {
+        if (stopped) {
+            // late record after the final flush, nobody is left to drain the queue
+            write(List.of(audit));
+            return;
+        }
+        if (!offer(audit)) {
+            overflow(audit);
+        }
+        if (stopped) {
+            flushQueue();
+        }
+    }
+
+    public void submitAll(Collection<AuditLog> audits) {
+        audits.forEach(this::submit);
+    }
+
+    public int queueDepth() {
+        return size.get();
+    }
+
+
+    private boolean offer(AuditLog audit) {
+        int capacity = properties.getQueueCapacity();
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        queue.offer(audit);
+        if (current + 1 >= needed) {
+            // a full batch is waiting, no need to sit out the flush interval
+            wakeWriter();
+        }
+        return true;
+    }
+
+    private AuditLog poll() {
+        AuditLog audit = queue.poll();
+        if (audit != null) {
+            size.decrementAndGet();
+        }
+        return audit;
+    }
+
+    private void overflow(AuditLog audit) {
+        switch (properties.getOverflowPolicy()) {
+            case DROP -> drop(1, "queue_full");
+            case SPILL -> spill(List.of(audit));
+            case BLOCK -> {
+                long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+                wakeWriter();
+                while (!offer(audit)) {
+                    if (stopped) {
+                        write(List.of(audit));
+                        return;
+                    }
+                    if (System.nanoTime() - deadline >= 0) {
+                        drop(1, "block_timeout");
+                        return;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    private void drop(int count, String reason) {
+        Counter.builder("fleet.audit.events.dropped")
+                .description("Audit records that were never written")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(count);
+        log.warn("Audit failed: {} record(s) dropped ({})", count, reason);
+    }
+
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(properties.getBatchSize());
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            drainTo(batch);
+            if (batch.isEmpty()) {
+                replaySpill();
+                awaitRecords(properties.getBatchSize(), flushIntervalNanos);
+                continue;
+            }
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            long remaining;
+            while (running && batch.size() < properties.getBatchSize() && (remaining = deadline - System.nanoTime()) > 0) {
+                awaitRecords(properties.getBatchSize() - batch.size(), remaining);
+                drainTo(batch);
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Publishes what is needed before looking at the queue, so an offer either sees it and wakes this thread
+    // or was already counted in size
+    private void awaitRecords(int count, long nanos) {
+        needed = count;
+        if (size.get() < count) {
+            LockSupport.parkNanos(this, nanos);
+        }
+    }
+
+    private void drainTo(List<AuditLog> batch) {
+        AuditLog audit;
+        while (batch.size() < properties.getBatchSize() && (audit = poll()) != null) {
+            batch.add(audit);
+        }
+    }
+
+    private void flushQueue() {
+        List<AuditLog> batch = new ArrayList<>(properties.getBatchSize());
+        do {
+            batch.clear();
+            drainTo(batch);
+            write(batch);
+        } while (!batch.isEmpty());
+    }
+
+    // a batch that cannot be inserted is spilled or dropped, never retried in place
+    private void write(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            auditLogRepository.saveAll(batch);
+            writeLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failedWriteLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Audit batch of {} record(s) could not be written: {}", batch.size(), e.getMessage());
+            replayNotBefore = System.nanoTime() + REPLAY_BACKOFF_NANOS;
+            if (properties.getOverflowPolicy() == AuditProperties.OverflowPolicy.SPILL) {
+                spill(batch);
+            } else {
+                drop(batch.size(), "write_error");
+            }
+        }
+    }
+
+
+    private void spill(List<AuditLog> audits) {
+        spillLock.lock();
+        try {
+            Files.createDirectories(spillFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditLog audit : audits) {
+                    writer.write(objectMapper.writeValueAsString(audit));
+                    writer.newLine();
+                }
+            }
+            spilled.increment(audits.size());
+            spillPending = true;
+        } catch (IOException e) {
+            log.error("Audit spill to {} failed: {}", spillFile, e.getMessage());
+            drop(audits.size(), "spill_error");
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    // spilled records go back to the database once the queue has drained, oldest file first
+    private void replaySpill() {
+        if (!spillPending || size.get() > 0 || System.nanoTime() - replayNotBefore < 0) {
+            return;
+        }
+        try {
+            spillLock.lock();
+            try {
+                spillPending = false;
+                if (Files.exists(spillFile)) {
+                    Files.move(spillFile, spillFile.resolveSibling(SPILL_FILE + "." + System.currentTimeMillis() + REPLAY_SUFFIX));
+                }
+            } finally {
+                spillLock.unlock();
+            }
+            for (Path file : replayFiles()) {
+                replay(file);
+            }
+        } catch (IOException e) {
+            log.error("Audit spill replay failed: {}", e.getMessage());
+            spillPending = true;
+            replayNotBefore = System.nanoTime() + REPLAY_BACKOFF_NANOS;
+        }
+    }
+
+    // parsed as a whole before anything is inserted, so a file that cannot be read is never inserted in part and
+    // then again on the next attempt; lines that are no record (a spill cut short by a crash) are skipped and counted
+    private void replay(Path file) throws IOException {
+        List<AuditLog> audits = new ArrayList<>();
+        int unreadable = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    AuditLog audit = objectMapper.readValue(line, AuditLog.class);
+                    // a new row, ids handed out to a failed batch are not reused
+                    audit.setId(null);
+                    audits.add(audit);
+                } catch (JsonProcessingException e) {
+                    unreadable++;
+                }
+            }
+        } catch (IOException e) {
+            quarantine(file, e);
+            return;
+        }
+        if (unreadable > 0) {
+            drop(unreadable, "corrupt_spill");
+        }
+
+        // failed batches are spilled again, the file is never replayed twice
+        for (int from = 0; from < audits.size(); from += properties.getBatchSize()) {
+            write(audits.subList(from, Math.min(from + properties.getBatchSize(), audits.size())));
+        }
+        Files.delete(file);
+        log.info("Replayed {} spilled audit record(s) from {}", audits.size(), file.getFileName());
+    }
+
+    // set aside for a look by hand instead of failing every replay attempt
+    private void quarantine(Path file, IOException cause) throws IOException {
+        Path corrupt = file.resolveSibling(file.getFileName() + CORRUPT_SUFFIX);
+        Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+        log.error("Audit spill {} is unreadable and was moved to {}: {}", file.getFileName(), corrupt.getFileName(), cause.getMessage());
+    }
+
+    private List<Path> replayFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillFile.getParent(), SPILL_FILE + ".*" + REPLAY_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private void wakeWriter() {
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        // leftovers of a previous run, e.g. spilled while the database was down
+        try {
+            spillPending = Files.exists(spillFile) || (Files.isDirectory(spillFile.getParent()) && !replayFiles().isEmpty());
+        } catch (IOException e) {
+            log.warn("Audit spill directory {} not readable: {}", spillFile.getParent(), e.getMessage());
+        }
+        stopped = false;
+        running = true;
+        needed = properties.getBatchSize();
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = writerThread;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+        stopped = true;
+        // final flush - whatever the writer had not taken yet and records submitted while it was stopping
+        flushQueue();
+        if (size.get() > 0) {
+            log.warn("{} audit record(s) still queued after shutdown", size.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // stopped after the web server, requests finishing during graceful shutdown are still audited
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
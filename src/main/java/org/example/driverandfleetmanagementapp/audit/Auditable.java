@@ -11,4 +11,7 @@ import java.lang.annotation.Target;
 public @interface Auditable {
     String entity();
     String action();
+
+    // Records a field-level diff in the changes column - the first argument must be the id of the entity
+    boolean captureChanges() default false;
 }
\ No newline at end of file
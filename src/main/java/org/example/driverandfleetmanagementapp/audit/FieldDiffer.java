@@ -0,0 +1,105 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.SequencedMap;
+import java.util.function.Function;
+
+
+/**
+ * Field-level diff of two snapshots of the same type, encoded as minimal JSON:
+ * {"field":[before,after],...} with only the fields that changed, null when nothing did.
+ * Fields are read through the accessor functions given once at construction (method references),
+ * there is no reflection per call; the JSON keys are escaped up front as well.
+ */
+public final class FieldDiffer<T> {
+
+    private final String[] keys;
+    private final Function<T, ?>[] accessors;
+
+    @SuppressWarnings("unchecked")
+    public FieldDiffer(SequencedMap<String, Function<T, ?>> fields) {
+        this.keys = new String[fields.size()];
+        this.accessors = new Function[fields.size()];
+        int i = 0;
+        for (var field : fields.entrySet()) {
+            StringBuilder key = new StringBuilder();
+            appendString(key, field.getKey());
+            keys[i] = key.append(":[").toString();
+            accessors[i++] = field.getValue();
+        }
+    }
+
+
+    public String diff(T before, T after) {
+        if (before == null || after == null) {
+            return null;
+        }
+        StringBuilder json = null;
+        for (int i = 0; i < accessors.length; i++) {
+            Object oldValue = accessors[i].apply(before);
+            Object newValue = accessors[i].apply(after);
+            if (Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+            if (json == null) {
+                json = new StringBuilder(64).append('{');
+            } else {
+                json.append(',');
+            }
+            json.append(keys[i]);
+            appendValue(json, oldValue);
+            json.append(',');
+            appendValue(json, newValue);
+            json.append(']');
+        }
+        return json == null ? null : json.append('}').toString();
+    }
+
+
+    private static void appendValue(StringBuilder json, Object value) {
+        switch (value) {
+            case null -> json.append("null");
+            case Number number -> json.append(number);
+            case Boolean bool -> json.append(bool);
+            case Enum<?> constant -> appendString(json, constant.name());
+            case TemporalAccessor temporal -> appendString(json, temporal.toString());
+            case Collection<?> collection -> {
+                json.append('[');
+                boolean first = true;
+                for (Object element : collection) {
+                    if (!first) {
+                        json.append(',');
+                    }
+                    appendValue(json, element);
+                    first = false;
+                }
+                json.append(']');
+            }
+            default -> appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Reverse index from dependency tags to the cache entries carrying them.
+ * Filled by DependencyTrackingCache on every put and cleaned up on eviction, expiry and size eviction.
+ */
+public class CacheDependencyIndex {
+
+    public record EntryRef(String cacheName, Object key) {
+    }
+
+    // the stored value identifies which put a registration belongs to
+    private record Registration(Object value, Set<String> tags) {
+    }
+
+    private final ConcurrentHashMap<String, Set<EntryRef>> entriesByTag = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<EntryRef, Registration> registrations = new ConcurrentHashMap<>();
+
+
+    public void register(String cacheName, Object key, Object value, Collection<String> tags) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        unregister(ref);
+
+        Set<String> entryTags = ConcurrentHashMap.newKeySet();
+        entryTags.addAll(tags);
+        registrations.put(ref, new Registration(value, entryTags));
+        for (String tag : entryTags) {
+            entriesByTag.compute(tag, (t, refs) -> {
+                Set<EntryRef> updated = refs == null ? ConcurrentHashMap.newKeySet() : refs;
+                updated.add(ref);
+                return updated;
+            });
+        }
+    }
+
+    public void unregister(String cacheName, Object key) {
+        unregister(new EntryRef(cacheName, key));
+    }
+
+    /**
+     * Unregisters the entry only while it is still registered for the given value. Caffeine reports an
+     * expired value when a put replaces it, after the new value was already registered under the same key.
+     */
+    public void unregister(String cacheName, Object key, Object value) {
+        EntryRef ref = new EntryRef(cacheName, key);
+        Registration[] removed = new Registration[1];
+        registrations.computeIfPresent(ref, (r, registration) -> {
+            if (registration.value() != value) {
+                return registration;
+            }
+            removed[0] = registration;
+            return null;
+        });
+        if (removed[0] != null) {
+            removeTags(ref, removed[0].tags());
+        }
+    }
+
+    public void unregisterCache(String cacheName) {
+        registrations.keySet().stream()
+                .filter(ref -> ref.cacheName().equals(cacheName))
+                .toList()
+                .forEach(this::unregister);
+    }
+
+    public Set<EntryRef> entriesFor(String tag) {
+        Set<EntryRef> refs = entriesByTag.get(tag);
+        return refs == null ? Set.of() : Set.copyOf(refs);
+    }
+
+    public int size() {
+        return registrations.size();
+    }
+
+
+    private void unregister(EntryRef ref) {
+        Registration registration = registrations.remove(ref);
+        if (registration != null) {
+            removeTags(ref, registration.tags());
+        }
+    }
+
+    private void removeTags(EntryRef ref, Set<String> tags) {
+        for (String tag : tags) {
+            entriesByTag.computeIfPresent(tag, (t, refs) -> {
+                refs.remove(ref);
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+}
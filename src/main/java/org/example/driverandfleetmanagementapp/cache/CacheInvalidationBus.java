@@ -0,0 +1,26 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import java.util.Collection;
+
+
+/**
+ * Broadcasts invalidated dependency tags to the other instances of the application,
+ * each of them evicts its own local entries carrying those tags. Messages reach every subscriber,
+ * including the sender, which recognises its own messages by their origin. Published from inside the
+ * transaction that made the change, messages reach the subscribers only once it commits.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(String origin, Collection<String> tags);
+
+    void subscribe(Subscriber subscriber);
+
+
+    interface Subscriber {
+
+        void onInvalidate(String origin, Collection<String> tags);
+
+        // Messages may have been lost (e.g. the connection dropped), local entries can no longer be trusted
+        void onMessagesMissed();
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Evicts exactly the cache entries that depend on the given tags instead of clearing whole caches.
+ * Eviction runs right away and once more after commit, so entries re-read while the transaction
+ * was still open do not survive it. The tags are also broadcast to the other nodes as part of the
+ * transaction, on commit they evict the entries they hold from both cache levels.
+ */
+@Service
+@Slf4j
+public class CacheInvalidationService {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final CacheDependencyIndex dependencyIndex;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationBus invalidationBus;
+    private final Counter remoteInvalidations;
+    private final String nodeId = UUID.randomUUID().toString();
+    // Striped by tag hash to stay bounded; two tags sharing a stripe only cost an extra skipped put
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CacheInvalidationService(CacheManager cacheManager, CacheDependencyIndex dependencyIndex, MeterRegistry meterRegistry,
+                                    CacheInvalidationBus invalidationBus) {
+        this.cacheManager = cacheManager;
+        this.dependencyIndex = dependencyIndex;
+        this.meterRegistry = meterRegistry;
+        this.invalidationBus = invalidationBus;
+
+        Gauge.builder("fleet.cache.dependency.index.size", dependencyIndex, CacheDependencyIndex::size)
+                .description("Number of cache entries tracked by the dependency index")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("fleet.cache.remote.invalidations")
+                .description("Invalidation messages received from other nodes")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(new CacheInvalidationBus.Subscriber() {
+            @Override
+            public void onInvalidate(String origin, Collection<String> tags) {
+                if (nodeId.equals(origin)) {
+                    return;
+                }
+                remoteInvalidations.increment();
+                evictTagged(tags);
+            }
+
+            @Override
+            public void onMessagesMissed() {
+                clearLocal();
+            }
+        });
+    }
+
+
+    public void invalidate(String... tags) {
+        invalidate(List.of(tags));
+    }
+
+    public void invalidate(Collection<String> tags) {
+        evictTagged(tags);
+        // sent with the transaction, the other nodes receive it when it commits
+        invalidationBus.publish(nodeId, tags);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictTagged(tags);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Changes every time the tag is invalidated, here or on another node. A loader that read the database
+     * while the value moved can compare it before and after to tell that its result is stale.
+     */
+    public long generation(String tag) {
+        return generations.get(stripe(tag));
+    }
+
+
+    // Remote nodes evict both levels too: the sender only knows the keys it holds itself, the shared level can hold
+    // entries only this node loaded
+    private void evictTagged(Collection<String> tags) {
+        // Bumped before looking up the entries, so a put racing with this call is either found below or sees the new generation
+        tags.forEach(tag -> generations.incrementAndGet(stripe(tag)));
+
+        Set<CacheDependencyIndex.EntryRef> refs = new HashSet<>();
+        tags.forEach(tag -> refs.addAll(dependencyIndex.entriesFor(tag)));
+
+        for (CacheDependencyIndex.EntryRef ref : refs) {
+            Cache cache = cacheManager.getCache(ref.cacheName());
+            if (cache == null) {
+                dependencyIndex.unregister(ref.cacheName(), ref.key());
+                continue;
+            }
+            cache.evict(ref.key());
+            evictionCounter(ref.cacheName()).increment();
+        }
+
+        if (!refs.isEmpty()) {
+            log.debug("Evicted {} cache entries for tags {}", refs.size(), tags);
+        }
+    }
+
+    private void clearLocal() {
+        log.warn("Cache invalidation messages may have been missed, clearing local caches");
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.clearLocal();
+            } else if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static int stripe(String tag) {
+        return Math.floorMod(tag.hashCode(), GENERATION_STRIPES);
+    }
+
+    private Counter evictionCounter(String cacheName) {
+        return Counter.builder("fleet.cache.targeted.evictions")
+                .description("Cache entries evicted by tag-based invalidation")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+
+/**
+ * Source of fresh values for refresh-ahead caches. Called in the background once an entry is older
+ * than its refreshAfterWrite, while readers keep getting the current value.
+ */
+@FunctionalInterface
+public interface CacheReloader {
+
+    /**
+     * @return the reloaded value, or null when the key cannot be reloaded or the row is gone - the entry is then dropped
+     */
+    Object reload(String cacheName, Object key);
+}
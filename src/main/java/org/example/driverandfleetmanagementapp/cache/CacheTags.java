@@ -0,0 +1,87 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.example.driverandfleetmanagementapp.dto.DriverBasicDto;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleBasicDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.springframework.data.domain.Page;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Dependency tags of cache entries. A tag names something an entry depends on
+ * ("vehicle:12", "driver:7", "licensePlate:ABC12345", "role:ROLE_ADMIN", a page query), a mutation evicts every
+ * entry carrying its tags.
+ */
+public final class CacheTags {
+
+    private CacheTags() {
+    }
+
+    public static String vehicle(Long id) {
+        return "vehicle:" + id;
+    }
+
+    public static String driver(Long id) {
+        return "driver:" + id;
+    }
+
+    public static String licensePlate(String licensePlate) {
+        return "licensePlate:" + licensePlate;
+    }
+
+    public static String license(String licenseNumber) {
+        return "license:" + licenseNumber;
+    }
+
+    public static String user(String username) {
+        return "user:" + username;
+    }
+
+    // by granted authority, "ROLE_ADMIN"
+    public static String role(String authority) {
+        return "role:" + authority;
+    }
+
+
+    /**
+     * String keys are tags themselves ("driver:7" stays tagged even when the cached set is empty),
+     * page keys carry their query tag and every DTO found in the value adds its entity tags.
+     */
+    public static Set<String> of(Object key, Object value) {
+        Set<String> tags = new HashSet<>();
+        if (key instanceof String stringKey) {
+            tags.add(stringKey);
+        } else if (key instanceof PageCacheKey pageKey) {
+            tags.add(pageKey.queryTag());
+        }
+        collect(value, tags);
+        return tags;
+    }
+
+
+    private static void collect(Object value, Set<String> tags) {
+        if (value instanceof VehicleDto vehicle) {
+            tags.add(vehicle(vehicle.getId()));
+            collect(vehicle.getDriver(), tags);
+        } else if (value instanceof DriverDto driver) {
+            tags.add(driver(driver.getId()));
+            if (driver.getVehicles() != null) {
+                driver.getVehicles().forEach(v -> collect(v, tags));
+            }
+        } else if (value instanceof DriverBasicDto driver) {
+            tags.add(driver(driver.getId()));
+        } else if (value instanceof VehicleBasicDto vehicle) {
+            tags.add(vehicle(vehicle.getId()));
+        } else if (value instanceof UserDetails user) {
+            tags.add(user(user.getUsername()));
+            user.getAuthorities().forEach(authority -> tags.add(role(authority.getAuthority())));
+        } else if (value instanceof Page<?> page) {
+            page.forEach(element -> collect(element, tags));
+        } else if (value instanceof Iterable<?> elements) {
+            elements.forEach(element -> collect(element, tags));
+        }
+    }
+}
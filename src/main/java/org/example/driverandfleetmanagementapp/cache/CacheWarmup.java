@@ -0,0 +1,197 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.CacheProperties;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Fills the per-id and per-natural-key caches of active vehicles and drivers before the instance takes traffic.
+ * Runs as an ApplicationRunner, so Spring Boot only switches readiness to ACCEPTING_TRAFFIC once it is done;
+ * the "cacheWarmup" health contributor reports OUT_OF_SERVICE until then.
+ * Entities are read in keyset batches, one short read-only transaction per batch.
+ */
+@Component("cacheWarmup")
+@Slf4j
+public class CacheWarmup implements ApplicationRunner, HealthIndicator {
+
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED, DISABLED }
+
+    private final CacheProperties cacheProperties;
+    private final CacheManager cacheManager;
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final VehicleMapper vehicleMapper;
+    private final DriverMapper driverMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private volatile State state = State.PENDING;
+    private volatile long vehiclesLoaded;
+    private volatile long driversLoaded;
+    private volatile Duration duration;
+
+    public CacheWarmup(CacheProperties cacheProperties, CacheManager cacheManager,
+                       VehicleRepository vehicleRepository, DriverRepository driverRepository,
+                       VehicleMapper vehicleMapper, DriverMapper driverMapper,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        this.cacheManager = cacheManager;
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.vehicleMapper = vehicleMapper;
+        this.driverMapper = driverMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("fleet.cache.warmup.running", this, w -> w.state == State.RUNNING ? 1 : 0)
+                .description("1 while the startup cache warm-up is running")
+                .register(meterRegistry);
+    }
+
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    public void warmUp() {
+        CacheProperties.Warmup warmup = cacheProperties.getWarmup();
+        if (!warmup.isEnabled()) {
+            state = State.DISABLED;
+            return;
+        }
+
+        state = State.RUNNING;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            vehiclesLoaded = warmVehicles(warmup);
+            driversLoaded = warmDrivers(warmup);
+            state = State.COMPLETED;
+        } catch (RuntimeException e) {
+            // the caches are an optimisation, a failed warm-up must not keep the instance out of rotation
+            state = State.FAILED;
+            log.warn("Cache warm-up failed after {} vehicles and {} drivers", vehiclesLoaded, driversLoaded, e);
+        } finally {
+            duration = Duration.ofNanos(sample.stop(Timer.builder("fleet.cache.warmup.duration")
+                    .description("Duration of the startup cache warm-up")
+                    .tag("outcome", state.name().toLowerCase())
+                    .register(meterRegistry)));
+        }
+        log.info("Cache warm-up {} in {} ms: {} vehicles, {} drivers",
+                state.name().toLowerCase(), duration.toMillis(), vehiclesLoaded, driversLoaded);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+
+    @Override
+    public Health health() {
+        Health.Builder builder = switch (state) {
+            case PENDING, RUNNING -> Health.outOfService();
+            case COMPLETED, FAILED, DISABLED -> Health.up();
+        };
+        builder.withDetail("state", state)
+                .withDetail("vehicles", vehiclesLoaded)
+                .withDetail("drivers", driversLoaded);
+        if (duration != null) {
+            builder.withDetail("durationMs", duration.toMillis());
+        }
+        return builder.build();
+    }
+
+
+    private long warmVehicles(CacheProperties.Warmup warmup) {
+        Cache byId = cacheManager.getCache("vehicles");
+        Cache byPlate = cacheManager.getCache("vehiclesByPlate");
+
+        return warm("vehicle", capacityOf("vehicles"), warmup.getBatchSize(),
+                (afterId, limit) -> vehicleRepository.findIdsByStatusInAfter(warmup.getVehicleStatuses(), afterId, PageRequest.of(0, limit)),
+                ids -> vehicleRepository.findByIdIn(ids).stream().map(vehicleMapper::toDto).toList(),
+                (VehicleDto vehicle) -> {
+                    byId.putIfAbsent(CacheTags.vehicle(vehicle.getId()), vehicle);
+                    byPlate.putIfAbsent(CacheTags.licensePlate(vehicle.getLicensePlate()), vehicle);
+                });
+    }
+
+    private long warmDrivers(CacheProperties.Warmup warmup) {
+        Cache byId = cacheManager.getCache("drivers");
+        Cache byLicense = cacheManager.getCache("driversByLicense");
+
+        return warm("driver", capacityOf("drivers"), warmup.getBatchSize(),
+                (afterId, limit) -> driverRepository.findIdsByStatusInAfter(warmup.getDriverStatuses(), afterId, PageRequest.of(0, limit)),
+                ids -> driverRepository.findByIdIn(ids).stream().map(driverMapper::toDto).toList(),
+                (DriverDto driver) -> {
+                    byId.putIfAbsent(CacheTags.driver(driver.getId()), driver);
+                    byLicense.putIfAbsent(CacheTags.license(driver.getLicenseNumber()), driver);
+                });
+    }
+
+    // Loads batches of ids after the last one seen until none are left or the cache would start evicting
+    private <D> long warm(String entity, long capacity, int batchSize, IdBatchQuery nextIds,
+                          Function<List<Long>, List<D>> load, Consumer<D> cacheEntry) {
+        Counter loadedCounter = Counter.builder("fleet.cache.warmup.entities")
+                .description("Entities loaded into the caches by the startup warm-up")
+                .tag("entity", entity)
+                .register(meterRegistry);
+
+        long loaded = 0;
+        long afterId = 0;
+        while (loaded < capacity) {
+            int limit = (int) Math.min(batchSize, capacity - loaded);
+            long from = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batchIds = nextIds.find(from, limit);
+                if (!batchIds.isEmpty()) {
+                    load.apply(batchIds).forEach(cacheEntry);
+                }
+                return batchIds;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            loaded += ids.size();
+            loadedCounter.increment(ids.size());
+            afterId = ids.getLast();
+            log.debug("Cache warm-up: {} {}s loaded", loaded, entity);
+        }
+        return loaded;
+    }
+
+    private long capacityOf(String cacheName) {
+        CacheProperties.Spec spec = cacheProperties.getSpecs().get(cacheName);
+        return spec != null ? spec.getMaximumWeight() : Long.MAX_VALUE;
+    }
+
+
+    @FunctionalInterface
+    private interface IdBatchQuery {
+        List<Long> find(long afterId, int limit);
+    }
+}
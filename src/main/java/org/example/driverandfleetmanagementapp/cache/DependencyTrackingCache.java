@@ -0,0 +1,76 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import java.util.concurrent.Callable;
+
+
+/**
+ * Caffeine cache that records the dependency tags of every stored entry in a CacheDependencyIndex.
+ * Still a CaffeineCache, so actuator and Micrometer cache metrics keep working unchanged.
+ */
+public class DependencyTrackingCache extends CaffeineCache {
+
+    private final CacheDependencyIndex dependencyIndex;
+
+    public DependencyTrackingCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                   boolean allowNullValues, CacheDependencyIndex dependencyIndex) {
+        super(name, cache, allowNullValues);
+        this.dependencyIndex = dependencyIndex;
+    }
+
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        // registered inside the loader - an invalidation of this key waits for the load to finish
+        return super.get(key, () -> {
+            T value = valueLoader.call();
+            dependencyIndex.register(getName(), key, toStoreValue(value), CacheTags.of(key, value));
+            return value;
+        });
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        // registered before the write, so an invalidation running concurrently can already see the entry; the
+        // expiry of a value this put replaces unregisters only that value, see CacheDependencyIndex
+        dependencyIndex.register(getName(), key, toStoreValue(value), CacheTags.of(key, value));
+        super.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, value);
+        if (existing == null) {
+            dependencyIndex.register(getName(), key, toStoreValue(value), CacheTags.of(key, value));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        dependencyIndex.unregister(getName(), key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        dependencyIndex.unregister(getName(), key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        dependencyIndex.unregisterCache(getName());
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        dependencyIndex.unregisterCache(getName());
+        return super.invalidate();
+    }
+}
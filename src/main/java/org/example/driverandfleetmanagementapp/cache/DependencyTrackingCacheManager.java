@@ -0,0 +1,21 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.lang.NonNull;
+
+
+public class DependencyTrackingCacheManager extends CaffeineCacheManager {
+
+    private final CacheDependencyIndex dependencyIndex;
+
+    public DependencyTrackingCacheManager(CacheDependencyIndex dependencyIndex) {
+        this.dependencyIndex = dependencyIndex;
+    }
+
+    @Override
+    @NonNull
+    protected Cache adaptCaffeineCache(@NonNull String name, @NonNull com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new DependencyTrackingCache(name, cache, isAllowNullValues(), dependencyIndex);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Bus for a single instance and for tests, delivers synchronously to every subscriber in this JVM - once the
+ * current transaction commits, like NOTIFY does.
+ */
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+
+    @Override
+    public void publish(String origin, Collection<String> tags) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(origin, tags);
+                }
+            });
+        } else {
+            deliver(origin, tags);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+
+    private void deliver(String origin, Collection<String> tags) {
+        subscribers.forEach(subscriber -> subscriber.onInvalidate(origin, tags));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+
+/**
+ * Remembers natural-key lookups that found nothing, so repeated requests for unknown plates or license
+ * numbers stop reaching the database until the entry expires. Entries are keyed by their tag
+ * ("licensePlate:XYZ", "license:123"), so a create or update touching that key evicts them. A miss
+ * read while such a create was committing is dropped again, since its invalidation may have run
+ * before the miss was stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class NegativeLookupCache {
+
+    public static final String VEHICLE_PLATE_MISSES = "vehiclePlateMisses";
+    public static final String DRIVER_LICENSE_MISSES = "driverLicenseMisses";
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationService invalidationService;
+
+
+    public <T> Optional<T> lookup(String cacheName, String tag, Supplier<Optional<T>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        if (cache.get(tag) != null) {
+            return Optional.empty();
+        }
+
+        long generation = invalidationService.generation(tag);
+        Optional<T> result = loader.get();
+        if (result.isEmpty()) {
+            cache.put(tag, Boolean.TRUE);
+            // Checked after the put: an invalidation that bumps the generation later also finds and evicts the entry
+            if (invalidationService.generation(tag) != generation) {
+                cache.evict(tag);
+            }
+        }
+        return result;
+    }
+}
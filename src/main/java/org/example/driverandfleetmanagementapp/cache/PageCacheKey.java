@@ -0,0 +1,26 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Cache key of a single result page. Query criteria are kept as a list instead of a joined string,
+ * so "a:b" + "c" and "a" + "b:c" can never produce the same key.
+ */
+public record PageCacheKey(String query, List<Object> criteria, int pageNumber, int pageSize, String sort) {
+
+    // Tag shared by every page of the same query, used to drop all of them when a new row may belong there
+    public String queryTag() {
+        return query + criteria;
+    }
+
+    public static String queryTag(String query, Object... criteria) {
+        return query + Arrays.asList(criteria);
+    }
+
+    @Override
+    public String toString() {
+        return queryTag() + ":page=" + pageNumber + ",size=" + pageSize + ",sort=" + sort;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Key generator for paged @Cacheable methods. The Pageable argument is split into page number,
+ * size and sort, so every page of the same query gets its own cache entry.
+ */
+@Component("pageKeyGenerator")
+public class PageCacheKeyGenerator implements KeyGenerator {
+
+    @Override
+    @NonNull
+    public Object generate(@NonNull Object target, @NonNull Method method, @NonNull Object... params) {
+        List<Object> criteria = new ArrayList<>();
+        Pageable pageable = Pageable.unpaged();
+
+        for (Object param : params) {
+            if (param instanceof Pageable p) {
+                pageable = p;
+            } else {
+                criteria.add(param);
+            }
+        }
+
+        if (pageable.isUnpaged()) {
+            return new PageCacheKey(method.getName(), Collections.unmodifiableList(criteria), -1, -1, pageable.getSort().toString());
+        }
+        return new PageCacheKey(method.getName(), Collections.unmodifiableList(criteria),
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Cache invalidation bus over PostgreSQL LISTEN/NOTIFY. Tags are sent with pg_notify on the connection of the
+ * current transaction, so they are delivered only if and when it commits and take no second pooled connection.
+ * A dedicated connection outside the pool listens on the channel.
+ * After the listening connection is lost, subscribers are told that messages may have been missed.
+ */
+@Slf4j
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    // NOTIFY payloads must stay below 8000 bytes
+    static final int MAX_PAYLOAD_BYTES = 7_500;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(2);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String channel;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresCacheInvalidationBus(String channel, DataSourceProperties dataSourceProperties,
+                                        JdbcTemplate jdbcTemplate) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.channel = channel;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    @Override
+    public void publish(String origin, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        // a failed NOTIFY aborts the transaction, the change is never committed without its invalidation
+        for (String payload : payloads(origin, tags)) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("cache-invalidation-listener")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    subscribers.forEach(Subscriber::onMessagesMissed);
+                }
+                connectedBefore = true;
+                log.info("Listening for cache invalidations on channel {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {}", RECONNECT_DELAY, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            Message message = objectMapper.readValue(payload, Message.class);
+            subscribers.forEach(subscriber -> subscriber.onInvalidate(message.origin(), message.tags()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload, e);
+        }
+    }
+
+
+    // Splits the tags into as many NOTIFY payloads as needed to stay under the size limit
+    List<String> payloads(String origin, Collection<String> tags) {
+        List<String> payloads = new ArrayList<>();
+        List<String> chunk = new ArrayList<>();
+        int chunkBytes = 0;
+        for (String tag : tags) {
+            int tagBytes = tag.length() * 3 + 3; // worst case UTF-8 size plus quotes and comma
+            if (!chunk.isEmpty() && chunkBytes + tagBytes > MAX_PAYLOAD_BYTES - 100) {
+                payloads.add(encode(origin, chunk));
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(tag);
+            chunkBytes += tagBytes;
+        }
+        if (!chunk.isEmpty()) {
+            payloads.add(encode(origin, chunk));
+        }
+        return payloads;
+    }
+
+    private String encode(String origin, List<String> tags) {
+        try {
+            return objectMapper.writeValueAsString(new Message(origin, tags));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cache invalidation message", e);
+        }
+    }
+
+
+    record Message(String origin, List<String> tags) {
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.lang.NonNull;
+
+
+public class RefreshAheadCacheLoader implements CacheLoader<Object, Object> {
+
+    private final String cacheName;
+    private final CacheReloader reloader;
+    private final CacheDependencyIndex dependencyIndex;
+
+    public RefreshAheadCacheLoader(String cacheName, CacheReloader reloader, CacheDependencyIndex dependencyIndex) {
+        this.cacheName = cacheName;
+        this.reloader = reloader;
+        this.dependencyIndex = dependencyIndex;
+    }
+
+
+    // Misses are loaded by the @Cacheable method itself, the loader only refreshes entries that already exist
+    @Override
+    public Object load(@NonNull Object key) {
+        return null;
+    }
+
+    @Override
+    public Object reload(@NonNull Object key, @NonNull Object oldValue) {
+        Object value = reloader.reload(cacheName, key);
+        if (value != null) {
+            dependencyIndex.register(cacheName, key, value, CacheTags.of(key, value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+/**
+ * Reloads entries of the "vehicles" and "drivers" caches straight from the repositories.
+ * Going through the services would hit the cache again and return the entry being refreshed.
+ */
+@Component
+public class RepositoryCacheReloader implements CacheReloader {
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final VehicleMapper vehicleMapper;
+    private final DriverMapper driverMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public RepositoryCacheReloader(VehicleRepository vehicleRepository, DriverRepository driverRepository,
+                                   VehicleMapper vehicleMapper, DriverMapper driverMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.driverRepository = driverRepository;
+        this.vehicleMapper = vehicleMapper;
+        this.driverMapper = driverMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+
+    @Override
+    public Object reload(String cacheName, Object key) {
+        if (!(key instanceof String stringKey) || stringKey.indexOf(':') < 0) {
+            return null;
+        }
+        String prefix = stringKey.substring(0, stringKey.indexOf(':'));
+        String value = stringKey.substring(stringKey.indexOf(':') + 1);
+
+        return transactionTemplate.execute(status -> switch (cacheName + "/" + prefix) {
+            case "vehicles/vehicle" -> vehicleRepository.findById(Long.valueOf(value))
+                    .map(vehicleMapper::toDto)
+                    .orElse(null);
+            case "vehicles/driver" -> vehicleMapper.toDtoSet(vehicleRepository.findByDriverId(Long.valueOf(value)));
+            case "drivers/driver" -> driverRepository.findById(Long.valueOf(value))
+                    .map(driverMapper::toDto)
+                    .orElse(null);
+            case "drivers/vehicle" -> vehicleRepository.findById(Long.valueOf(value))
+                    .map(Vehicle::getDriver)
+                    .map(driverMapper::toDto)
+                    .orElse(null);
+            default -> null;
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.cache.Cache;
+
+
+/**
+ * Second cache level shared by all instances (e.g. a Redis-backed Spring Cache). When a bean of this type
+ * exists, the local Caffeine caches are layered over it by {@link TwoTierCacheManager}. An invalidation reaches
+ * the shared entries the nodes still hold locally, every node evicts those from both levels. An entry no node holds
+ * any more (expired or evicted by size locally) is not reached, so shared entries must not outlive the local ones:
+ * give them the expireAfterWrite of the local spec or a shorter one.
+ */
+@FunctionalInterface
+public interface SharedCacheTier {
+
+    Cache getCache(String name);
+}
@@ -0,0 +1,120 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import java.util.concurrent.Callable;
+
+
+/**
+ * Local Caffeine cache (L1) in front of a shared cache (L2). Reads try L1, then L2, then the loader;
+ * values found in L2 are copied into L1. Writes and evictions go to both levels; {@link #clearLocal()}
+ * drops only L1, for a node that may have missed invalidations of other nodes.
+ */
+public class TwoTierCache implements Cache {
+
+    private final Cache local;
+    private final Cache shared;
+
+    public TwoTierCache(Cache local, Cache shared) {
+        this.local = local;
+        this.shared = shared;
+    }
+
+
+    public Cache getLocal() {
+        return local;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = shared.get(key);
+        if (value != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object result = value != null ? value.get() : null;
+        if (result != null && type != null && !type.isInstance(result)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + result);
+        }
+        return (T) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        // L1 keeps the per-key single-flight, only one caller per node goes to L2 or the loader
+        return local.get(key, () -> {
+            ValueWrapper value = shared.get(key);
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = valueLoader.call();
+            shared.put(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        shared.put(key, value);
+        local.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        ValueWrapper existing = shared.putIfAbsent(key, value);
+        local.put(key, existing != null ? existing.get() : value);
+        return existing != null ? new SimpleValueWrapper(existing.get()) : null;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        shared.evict(key);
+        local.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean sharedEvicted = shared.evictIfPresent(key);
+        return local.evictIfPresent(key) || sharedEvicted;
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        local.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean sharedInvalidated = shared.invalidate();
+        return local.invalidate() || sharedInvalidated;
+    }
+
+    public void clearLocal() {
+        local.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Layers the caches of the local manager over the shared tier. Only caches known locally exist,
+ * so the static cache list of CacheConfig still applies.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager localCacheManager;
+    private final SharedCacheTier sharedCacheTier;
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager localCacheManager, SharedCacheTier sharedCacheTier) {
+        this.localCacheManager = localCacheManager;
+        this.sharedCacheTier = sharedCacheTier;
+    }
+
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        Cache local = localCacheManager.getCache(name);
+        if (local == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoTierCache(local, sharedCacheTier.getCache(n)));
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+}
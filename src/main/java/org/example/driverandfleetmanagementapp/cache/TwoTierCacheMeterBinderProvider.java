@@ -0,0 +1,22 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+
+/**
+ * Keeps the Caffeine statistics of the local level visible in cache metrics when caches are two-tier.
+ */
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        if (cache.getLocal() instanceof CaffeineCache local) {
+            return new CaffeineCacheMetrics<>(local.getNativeCache(), cache.getName(), tags);
+        }
+        return null;
+    }
+}
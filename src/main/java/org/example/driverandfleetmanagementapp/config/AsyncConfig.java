@@ -1,23 +1,45 @@
 package org.example.driverandfleetmanagementapp.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import java.util.concurrent.Executor;
 
+
+/**
+ * The executor of @Async methods follows the execution mode of the rest of the app: spring.threads.virtual.enabled=true
+ * moves request handling (Tomcat) and @Scheduled jobs to virtual threads through Boot's own auto-configuration, and
+ * the @Async tasks here.
+ */
 @Configuration
 @EnableAsync
+@EnableConfigurationProperties(AsyncProperties.class)
 public class AsyncConfig {
 
-    @Bean
-    public Executor taskExecutor() {
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor platformTaskExecutor(AsyncProperties properties) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("notification-");
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("async-");
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // a virtual thread per task; the limit stands in for the pool bounds, so blocking tasks cannot pile up unbounded
+    @Bean(name = "taskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualTaskExecutor(AsyncProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getConcurrencyLimit());
+        return executor;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "fleet.async")
+public class AsyncProperties {
+
+    // Platform threads (spring.threads.virtual.enabled=false)
+    private int corePoolSize = 2;
+
+    private int maxPoolSize = 5;
+
+    private int queueCapacity = 100;
+
+    // Virtual threads - @Async tasks running at once, further submitters wait for one to finish
+    private int concurrencyLimit = 200;
+}
@@ -0,0 +1,33 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.driverandfleetmanagementapp.audit.AuditLogRepository;
+import org.example.driverandfleetmanagementapp.audit.AuditPartitionMaintenance;
+import org.example.driverandfleetmanagementapp.audit.AuditWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public AuditWriter auditWriter(AuditLogRepository auditLogRepository, AuditProperties auditProperties,
+                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new AuditWriter(auditLogRepository, auditProperties, objectMapper, meterRegistry);
+    }
+
+    // needs the partitioned audit_logs table of the PostgreSQL migrations
+    @Bean
+    @ConditionalOnProperty(name = "fleet.audit.partitioning.enabled", havingValue = "true")
+    public AuditPartitionMaintenance auditPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                                               AuditProperties auditProperties, MeterRegistry meterRegistry) {
+        return new AuditPartitionMaintenance(jdbcTemplate, transactionManager, auditProperties, meterRegistry);
+    }
+}
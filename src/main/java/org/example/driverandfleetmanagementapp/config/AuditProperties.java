@@ -0,0 +1,60 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.nio.file.Path;
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "fleet.audit")
+public class AuditProperties {
+
+    // Audit records waiting for the background writer, see OverflowPolicy for what happens when it is full
+    private int queueCapacity = 10_000;
+
+    // Records written per transaction, split further into JDBC batches of hibernate.jdbc.batch_size
+    private int batchSize = 200;
+
+    // A partial batch is written at the latest this long after its first record was taken from the queue
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    // BLOCK only - how long a caller waits for room in the queue before the record is dropped
+    private Duration blockTimeout = Duration.ofSeconds(1);
+
+    // SPILL only - overflow (and batches that failed to write) is appended here and replayed once the queue drains
+    private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"), "fleet-audit-spill");
+
+    // Upper bound of the final flush on shutdown
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    private Partitioning partitioning = new Partitioning();
+
+
+    // PostgreSQL only - monthly audit_logs partitions, see V8__partition_audit_logs.sql
+    @Data
+    public static class Partitioning {
+
+        private boolean enabled = false;
+
+        // partitions are created this many months ahead of the current one
+        private int monthsAhead = 3;
+
+        // partitions whose whole month is older than this are detached, archived and dropped
+        private int retentionMonths = 12;
+
+        // one gzipped CSV per archived partition
+        private Path archiveDirectory = Path.of("audit-archive");
+
+        private String cron = "0 30 3 * * *";
+    }
+
+
+    public enum OverflowPolicy {
+        BLOCK, // the calling thread waits up to blockTimeout, then the record is dropped
+        DROP, // dropped immediately, counted in fleet.audit.events.dropped
+        SPILL // appended to a file in spillDirectory
+    }
+}
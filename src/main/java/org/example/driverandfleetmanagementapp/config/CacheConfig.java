@@ -1,27 +1,108 @@
 package org.example.driverandfleetmanagementapp.config;
 
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.example.driverandfleetmanagementapp.cache.CacheDependencyIndex;
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.cache.CacheReloader;
+import org.example.driverandfleetmanagementapp.cache.DependencyTrackingCacheManager;
+import org.example.driverandfleetmanagementapp.cache.InMemoryCacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.cache.PostgresCacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.cache.RefreshAheadCacheLoader;
+import org.example.driverandfleetmanagementapp.cache.SharedCacheTier;
+import org.example.driverandfleetmanagementapp.cache.TwoTierCacheManager;
+import org.example.driverandfleetmanagementapp.cache.TwoTierCacheMeterBinderProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Collection;
+import java.util.List;
 
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    public CacheDependencyIndex cacheDependencyIndex() {
+        return new CacheDependencyIndex();
+    }
+
+    // Caffeine caches alone, or layered over the shared tier when one is configured
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties, CacheDependencyIndex dependencyIndex,
+                                     CacheReloader cacheReloader, ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        CacheManager localCacheManager = caffeineCacheManager(cacheProperties, dependencyIndex, cacheReloader);
+        SharedCacheTier sharedTier = sharedCacheTier.getIfAvailable();
+        return sharedTier != null ? new TwoTierCacheManager(localCacheManager, sharedTier) : localCacheManager;
+    }
+
+    public CacheManager caffeineCacheManager(CacheProperties cacheProperties, CacheDependencyIndex dependencyIndex,
+                                             CacheReloader cacheReloader) {
+        CaffeineCacheManager cacheManager = new DependencyTrackingCacheManager(dependencyIndex);
 
-        cacheManager.setCacheSpecification(
-                "maximumSize=500,expireAfterWrite=15m,recordStats"
-        );
+        // static mode - only the caches declared in CacheProperties exist, a typo in @Cacheable fails fast
+        cacheManager.setCacheNames(List.of());
+
+        cacheProperties.getSpecs().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumWeight(spec.getMaximumWeight())
+                    .weigher(weigher(spec.getWeigher()))
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .evictionListener((key, value, cause) -> dependencyIndex.unregister(name, key, value))
+                    .recordStats();
+
+            if (spec.getRefreshAfterWrite() != null) {
+                // refresh-ahead: hot keys are reloaded in the background and never expire under readers
+                cacheManager.registerCustomCache(name, builder
+                        .refreshAfterWrite(spec.getRefreshAfterWrite())
+                        .build(new RefreshAheadCacheLoader(name, cacheReloader, dependencyIndex)));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        });
 
-        cacheManager.setCacheNames(Set.of("vehicles", "drivers"));
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public TwoTierCacheMeterBinderProvider twoTierCacheMeterBinderProvider() {
+        return new TwoTierCacheMeterBinderProvider();
+    }
+
+
+    @Bean
+    @ConditionalOnProperty(name = "fleet.cache.bus.type", havingValue = "memory", matchIfMissing = true)
+    public CacheInvalidationBus inMemoryCacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "fleet.cache.bus.type", havingValue = "postgres")
+    public CacheInvalidationBus postgresCacheInvalidationBus(CacheProperties cacheProperties, DataSourceProperties dataSourceProperties,
+                                                             JdbcTemplate jdbcTemplate) {
+        return new PostgresCacheInvalidationBus(cacheProperties.getBus().getChannel(), dataSourceProperties, jdbcTemplate);
+    }
+
+
+    static Weigher<Object, Object> weigher(CacheProperties.WeigherType type) {
+        if (type == CacheProperties.WeigherType.ELEMENTS) {
+            return (key, value) -> {
+                if (value instanceof Page<?> page) return Math.max(1, page.getNumberOfElements());
+                if (value instanceof Collection<?> collection) return Math.max(1, collection.size());
+                return 1;
+            };
+        }
+        return (key, value) -> 1;
+    }
+}
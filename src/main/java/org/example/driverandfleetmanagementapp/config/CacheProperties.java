@@ -0,0 +1,95 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+@Data
+@ConfigurationProperties(prefix = "fleet.cache")
+public class CacheProperties {
+
+    // Defaults per cache name, every entry can be overridden with fleet.cache.specs.<name>.*
+    private Map<String, Spec> specs = defaultSpecs();
+
+    private Bus bus = new Bus();
+
+    private Warmup warmup = new Warmup();
+
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+
+        // Upper bound of the total weight held by the cache, see WeigherType
+        private long maximumWeight;
+
+        private Duration expireAfterWrite;
+
+        private WeigherType weigher;
+
+        // Optional - entries older than this are reloaded in the background on the next read, before they expire
+        private Duration refreshAfterWrite;
+    }
+
+
+    @Data
+    public static class Bus {
+
+        // memory - single instance, postgres - LISTEN/NOTIFY between all instances sharing the database
+        private BusType type = BusType.MEMORY;
+
+        private String channel = "fleet_cache_invalidation";
+    }
+
+
+    @Data
+    public static class Warmup {
+
+        private boolean enabled = true;
+
+        private int batchSize = 500;
+
+        // "active" entities loaded into the caches, at most as many as the vehicles / drivers cache holds
+        private Set<Vehicle.VehicleStatus> vehicleStatuses = EnumSet.of(Vehicle.VehicleStatus.AVAILABLE, Vehicle.VehicleStatus.IN_USE);
+
+        private Set<Driver.DriverStatus> driverStatuses = EnumSet.of(Driver.DriverStatus.ACTIVE);
+    }
+
+
+    public enum BusType {
+        MEMORY,
+        POSTGRES
+    }
+
+
+    public enum WeigherType {
+        ENTRY, // every cached value weighs 1
+        ELEMENTS // pages and collections weigh their number of elements
+    }
+
+
+    private static Map<String, Spec> defaultSpecs() {
+        Map<String, Spec> specs = new LinkedHashMap<>();
+        specs.put("vehicles", new Spec(5_000, Duration.ofMinutes(15), WeigherType.ELEMENTS, Duration.ofMinutes(10)));
+        specs.put("drivers", new Spec(5_000, Duration.ofMinutes(15), WeigherType.ENTRY, Duration.ofMinutes(10)));
+        specs.put("vehiclesByPlate", new Spec(5_000, Duration.ofMinutes(15), WeigherType.ENTRY, null));
+        specs.put("driversByLicense", new Spec(5_000, Duration.ofMinutes(15), WeigherType.ENTRY, null));
+        specs.put("vehiclePlateMisses", new Spec(20_000, Duration.ofSeconds(30), WeigherType.ENTRY, null));
+        specs.put("driverLicenseMisses", new Spec(20_000, Duration.ofSeconds(30), WeigherType.ENTRY, null));
+        specs.put("vehiclePages", new Spec(10_000, Duration.ofMinutes(2), WeigherType.ELEMENTS, null));
+        specs.put("driverPages", new Spec(10_000, Duration.ofMinutes(2), WeigherType.ELEMENTS, null));
+        // users behind authenticated requests, kept short - a role changed outside the application applies after it
+        specs.put("users", new Spec(10_000, Duration.ofSeconds(60), WeigherType.ENTRY, null));
+        return specs;
+    }
+}
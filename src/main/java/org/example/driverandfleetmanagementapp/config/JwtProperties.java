@@ -0,0 +1,47 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    // HMAC-SHA256 key, at least 32 characters
+    private String secret;
+
+    // Token lifetime in seconds
+    private long expiration = 86_400;
+
+    // Where an authenticated request gets its roles from: database - the user looked up through the "users" cache,
+    // claims - the role claim of the verified token, no database access; a role change then applies to new tokens only
+    private AuthoritiesSource authorities = AuthoritiesSource.DATABASE;
+
+    private Cache cache = new Cache();
+
+    private Revocation revocation = new Revocation();
+
+
+    @Data
+    public static class Cache {
+
+        // Verified tokens whose claims are kept until the token expires, so a client sending the same token again
+        // is not parsed and HMAC-verified again; 0 verifies every request
+        private long maximumSize = 10_000;
+    }
+
+
+    @Data
+    public static class Revocation {
+
+        // Revoked tokens past their expiry are deleted from revoked_tokens and from memory
+        private String cleanupCron = "0 */15 * * * *";
+    }
+
+
+    public enum AuthoritiesSource {
+        DATABASE,
+        CLAIMS
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.driverandfleetmanagementapp.notification.FileNotificationChannel;
+import org.example.driverandfleetmanagementapp.notification.InMemoryNotificationChannel;
+import org.example.driverandfleetmanagementapp.notification.LoggingNotificationChannel;
+import org.example.driverandfleetmanagementapp.notification.NotificationChannel;
+import org.example.driverandfleetmanagementapp.notification.NotificationDispatcher;
+import org.example.driverandfleetmanagementapp.notification.WebhookNotificationChannel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+@Configuration
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationConfig {
+
+    // Channels come from fleet.notifications.channels, NotificationChannel beans (e.g. a real SMS provider) are added to them
+    @Bean
+    public NotificationDispatcher notificationDispatcher(NotificationProperties notificationProperties,
+                                                         ObjectProvider<NotificationChannel> channelBeans,
+                                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        List<NotificationChannel> channels = new ArrayList<>();
+        for (Map.Entry<String, NotificationProperties.Channel> entry : notificationProperties.getChannels().entrySet()) {
+            channels.add(channel(entry.getKey(), entry.getValue(), objectMapper));
+        }
+        channelBeans.orderedStream().forEach(channels::add);
+
+        NotificationDispatcher dispatcher = new NotificationDispatcher(channels, notificationProperties, meterRegistry);
+        for (String channel : notificationProperties.getInspectionReminder().getChannels()) {
+            if (!dispatcher.channelNames().contains(channel)) {
+                throw new IllegalStateException("Inspection reminder channel '" + channel + "' is not configured");
+            }
+        }
+        return dispatcher;
+    }
+
+
+    private NotificationChannel channel(String name, NotificationProperties.Channel config, ObjectMapper objectMapper) {
+        return switch (config.getType()) {
+            case LOG -> new LoggingNotificationChannel(name);
+            case MEMORY -> new InMemoryNotificationChannel(name);
+            case FILE -> new FileNotificationChannel(name,
+                    config.getPath() != null ? config.getPath() : Path.of("notifications", name + ".ndjson"), objectMapper);
+            case WEBHOOK -> {
+                if (config.getUrl() == null) {
+                    throw new IllegalStateException("Notification channel '" + name + "' of type WEBHOOK needs a url");
+                }
+                yield new WebhookNotificationChannel(name, config.getUrl(), config.getTimeout(), objectMapper);
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Data
+@ConfigurationProperties(prefix = "fleet.notifications")
+public class NotificationProperties {
+
+    // Notifications accepted but not yet delivered (queued, in flight or waiting for a retry), over all channels
+    private int maxPending = 50_000;
+
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.BLOCK;
+
+    // BLOCK only - how long a caller waits for room before the notification is rejected
+    private Duration blockTimeout = Duration.ofSeconds(2);
+
+    private Retry retry = new Retry();
+
+    // Upper bound of the wait for pending deliveries on shutdown
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    // Channels by name, every entry can be overridden with fleet.notifications.channels.<name>.*
+    private Map<String, Channel> channels = defaultChannels();
+
+    private InspectionReminder inspectionReminder = new InspectionReminder();
+
+
+    @Data
+    public static class Retry {
+
+        // including the first attempt
+        private int maxAttempts = 4;
+
+        private Duration initialBackoff = Duration.ofMillis(500);
+
+        private Duration maxBackoff = Duration.ofSeconds(30);
+
+        private double multiplier = 2.0;
+    }
+
+
+    @Data
+    public static class Channel {
+
+        private ChannelType type = ChannelType.LOG;
+
+        // concurrent sends on this channel, the rest wait for a permit
+        private int maxConcurrency = 100;
+
+        // WEBHOOK only
+        private URI url;
+
+        private Duration timeout = Duration.ofSeconds(10);
+
+        // FILE only
+        private Path path;
+    }
+
+
+    @Data
+    public static class InspectionReminder {
+
+        // every reminder goes out on each of these channels
+        private List<String> channels = List.of("email");
+
+        // recipient of reminders for vehicles without an assigned driver
+        private String fleetManagerRecipient = "fleet-manager@example.com";
+
+        // scheduled run over the whole fleet, "-" disables it
+        private String cron = "0 0 6 * * *";
+
+        private int daysAhead = 30;
+
+        // vehicles read and queued per batch, the watermark moves once per batch
+        private int batchSize = 500;
+
+        private Ledger ledger = new Ledger();
+    }
+
+
+    @Data
+    public static class Ledger {
+
+        // sizing of the in-memory Bloom filter of ledger keys; past it the false positive rate rises until the next
+        // clean-up rebuilds the filter at twice the size
+        private long expectedEntries = 1_000_000;
+
+        private double falsePositiveRate = 0.01;
+
+        // ledger rows are kept this long after their inspection date
+        private Duration retention = Duration.ofDays(365);
+
+        private String cleanupCron = "0 45 4 * * *";
+    }
+
+
+    public enum RejectionPolicy {
+        BLOCK, // the caller waits up to blockTimeout, then the notification is rejected
+        DROP // rejected immediately, counted in fleet.notifications.delivered{outcome=rejected}
+    }
+
+
+    public enum ChannelType {
+        LOG,
+        FILE,
+        WEBHOOK,
+        MEMORY
+    }
+
+
+    private static Map<String, Channel> defaultChannels() {
+        Map<String, Channel> channels = new LinkedHashMap<>();
+        channels.put("email", new Channel());
+        channels.put("sms", new Channel());
+        // domain events of the outbox
+        channels.put("events", new Channel());
+        return channels;
+    }
+}
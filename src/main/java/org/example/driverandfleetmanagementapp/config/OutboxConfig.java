@@ -0,0 +1,37 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.driverandfleetmanagementapp.notification.NotificationDispatcher;
+import org.example.driverandfleetmanagementapp.outbox.OutboxEventRepository;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
+import org.example.driverandfleetmanagementapp.outbox.OutboxRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                                           OutboxProperties outboxProperties, NotificationDispatcher notificationDispatcher) {
+        if (!notificationDispatcher.channelNames().contains(outboxProperties.getDomainEventChannel())) {
+            throw new IllegalStateException("Domain event channel '" + outboxProperties.getDomainEventChannel() + "' is not configured");
+        }
+        return new OutboxPublisher(outboxEventRepository, objectMapper, outboxProperties.getDomainEventChannel());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "fleet.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   NotificationDispatcher notificationDispatcher, OutboxProperties outboxProperties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(jdbcTemplate, transactionManager, notificationDispatcher, outboxProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "fleet.outbox")
+public class OutboxProperties {
+
+    // the relay can be switched off on instances that should only write to the outbox
+    private boolean relayEnabled = true;
+
+    // Rows claimed per transaction
+    private int batchSize = 500;
+
+    // Wait between polls while the outbox is empty, a full batch is followed by the next claim right away
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    // Claimed rows are hidden from other relays this long; an instance dying mid-delivery leaves them to the others after it
+    private Duration lease = Duration.ofMinutes(5);
+
+    // Deliveries dispatched but not yet finished, no new rows are claimed above it
+    private int maxInFlight = 5_000;
+
+    // Relay-level attempts of a row, each one already retried by the notification dispatcher
+    private int maxAttempts = 5;
+
+    // Wait before the next attempt of a failed row, multiplied by the number of attempts so far
+    private Duration retryDelay = Duration.ofMinutes(1);
+
+    // Notification channel the domain events (vehicle status changes, assignments) are published on
+    private String domainEventChannel = "events";
+
+    // Delivered rows are deleted after this long
+    private Duration retention = Duration.ofDays(7);
+
+    private String cleanupCron = "0 15 4 * * *";
+
+    // Upper bound of the wait for deliveries in flight on shutdown, the rest is delivered again after the lease
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
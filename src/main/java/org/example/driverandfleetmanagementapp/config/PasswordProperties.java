@@ -0,0 +1,58 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+
+@Data
+@ConfigurationProperties(prefix = "fleet.password")
+public class PasswordProperties {
+
+    // Algorithm of new hashes; stored hashes of any supported algorithm keep matching
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    // A successful login rehashes a password stored with another algorithm or a lower cost than configured here
+    private boolean upgradeOnLogin = true;
+
+    private Bcrypt bcrypt = new Bcrypt();
+
+    private Argon2 argon2 = new Argon2();
+
+    private Executor executor = new Executor();
+
+
+    @Data
+    public static class Bcrypt {
+
+        // log2 of the rounds, every step doubles the time of a hash
+        private int strength = 10;
+    }
+
+
+    @Data
+    public static class Argon2 {
+
+        private int memoryKib = 16_384;
+
+        private int iterations = 2;
+
+        private int parallelism = 1;
+    }
+
+
+    @Data
+    public static class Executor {
+
+        // Hashes computed at once; hashing is CPU work, more threads than cores only slow each other down
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        // Hashes waiting for a thread, past it a login fails at once instead of holding its request thread
+        private int queueCapacity = 100;
+    }
+
+
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2
+    }
+}
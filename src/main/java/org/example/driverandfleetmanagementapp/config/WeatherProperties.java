@@ -0,0 +1,72 @@
+package org.example.driverandfleetmanagementapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+
+@Data
+@ConfigurationProperties(prefix = "weather")
+public class WeatherProperties {
+
+    private Api api = new Api();
+
+    private Cache cache = new Cache();
+
+    private Client client = new Client();
+
+    private Batch batch = new Batch();
+
+
+    @Data
+    public static class Api {
+
+        private String key;
+
+        private String url;
+    }
+
+
+    @Data
+    public static class Cache {
+
+        // A city's weather is served without asking the API for this long
+        private Duration ttl = Duration.ofMinutes(5);
+
+        // After the ttl it is still served for this long while one background call refreshes it; past both it is
+        // gone and the next request waits for the API
+        private Duration staleWhileRevalidate = Duration.ofMinutes(10);
+
+        // Cities held at most
+        private long maximumSize = 1_000;
+    }
+
+
+    @Data
+    public static class Client {
+
+        // Connections to the API at most; resilience4j.bulkhead.instances.weather-api caps the calls in flight to match
+        private int maxConnections = 200;
+
+        // Calls waiting for a free connection, beyond it they fail right away
+        private int pendingAcquireMaxCount = 400;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+        // Idle connections are closed after this long, before the API's keep-alive drops them under a request
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        // From the request sent to the response headers
+        private Duration responseTimeout = Duration.ofSeconds(5);
+    }
+
+
+    @Data
+    public static class Batch {
+
+        // Cities of one POST /api/weather/batch looked up at once, cached ones answer right away
+        private int parallelism = 10;
+    }
+}
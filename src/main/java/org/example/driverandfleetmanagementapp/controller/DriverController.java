@@ -7,15 +7,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import org.example.driverandfleetmanagementapp.export.ExportFormat;
+import org.example.driverandfleetmanagementapp.export.FleetExportService;
 import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.service.bulkimport.BulkImportService;
 import org.example.driverandfleetmanagementapp.service.driver.DriverService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 
 
@@ -26,6 +39,8 @@ import org.springframework.web.bind.annotation.*;
 public class DriverController {
 
     private final DriverService driverService;
+    private final FleetExportService fleetExportService;
+    private final BulkImportService bulkImportService;
 
 
     @RateLimiter(name = "api")
@@ -79,6 +94,50 @@ public class DriverController {
         return ResponseEntity.ok(driverService.getDriversByStatus(status, PageRequest.of(page, size, Sort.by(sortDirection, sortBy))));
     }
 
+    @RateLimiter(name = "api")
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll drivers", description = "Keyset pagination without total count - pass nextCursor of the previous response as 'after'")
+    @ApiResponse(responseCode = "200", description = "Drivers retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or sort property")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<CursorPage<DriverDto>> scrollDrivers(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        return ResponseEntity.ok(driverService.scrollDrivers(new CursorPageRequest(after, limit, sortBy, sortDirection)));
+    }
+
+    @RateLimiter(name = "api")
+    @GetMapping("/status/{status}/scroll")
+    @Operation(summary = "Scroll drivers by status", description = "Keyset pagination of drivers with the given status, without total count")
+    @ApiResponse(responseCode = "200", description = "Drivers retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid status, cursor, limit or sort property")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<CursorPage<DriverDto>> scrollDriversByStatus(
+            @PathVariable Driver.DriverStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        return ResponseEntity.ok(driverService.scrollDriversByStatus(status, new CursorPageRequest(after, limit, sortBy, sortDirection)));
+    }
+
+    @RateLimiter(name = "api")
+    @GetMapping("/export")
+    @Operation(summary = "Export all drivers", description = "Streams every driver as NDJSON (one JSON object per line) or CSV, without pagination")
+    @ApiResponse(responseCode = "200", description = "Drivers streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid export format")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<StreamingResponseBody> exportDrivers(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("drivers." + format.getFileExtension()).build().toString())
+                .body(out -> fleetExportService.exportDrivers(format, out));
+    }
+
     @RateLimiter(name = "api")
     @GetMapping("/search")
     @Operation(summary = "Search drivers by name", description = "Searches for drivers by first name and last name")
@@ -147,6 +206,27 @@ public class DriverController {
         return new ResponseEntity<>(driverService.createDriver(driverDto), HttpStatus.CREATED);
     }
 
+    @RateLimiter(name = "admin-api")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import drivers", description = "Creates drivers from a JSON array, every row is validated and reported on its own")
+    @ApiResponse(responseCode = "200", description = "Import processed, see the per-row report")
+    @ApiResponse(responseCode = "400", description = "Body is not a JSON array")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<ImportReport> importDrivers(
+            @RequestBody List<DriverDto> drivers) {
+        return ResponseEntity.ok(bulkImportService.importDrivers(drivers));
+    }
+
+    @RateLimiter(name = "admin-api")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk import drivers from NDJSON", description = "Creates drivers from one JSON object per line, read as a stream")
+    @ApiResponse(responseCode = "200", description = "Import processed, see the per-row report")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<ImportReport> importDriversNdjson(
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importDrivers(body));
+    }
+
     @RateLimiter(name = "admin-api")
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing driver", description = "Updates a driver entry by ID")
@@ -7,10 +7,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderResponse;
+import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderRunDto;
+import org.example.driverandfleetmanagementapp.service.notification.InspectionReminderJob;
 import org.example.driverandfleetmanagementapp.service.notification.NotificationService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
@@ -23,6 +26,7 @@ import java.util.Collections;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final InspectionReminderJob inspectionReminderJob;
 
 
     @RateLimiter(name = "admin-api", fallbackMethod = "inspectionRemindersFallback")
@@ -41,6 +45,31 @@ public class NotificationController {
     }
 
 
+    @PostMapping("/inspection-reminders/runs")
+    @Operation(summary = "Start an inspection reminder run", description = "Sends reminders for every vehicle with an upcoming technical inspection in the background, in batches")
+    @ApiResponse(responseCode = "202", description = "Run started, poll its progress")
+    @ApiResponse(responseCode = "409", description = "Another run is still in progress")
+    public ResponseEntity<InspectionReminderRunDto> startInspectionReminderRun(
+            @RequestParam(defaultValue = "30") int days,
+            Authentication auth) {
+        return ResponseEntity.accepted().body(inspectionReminderJob.start(days, auth != null ? auth.getName() : "system"));
+    }
+
+
+    @GetMapping("/inspection-reminders/runs/{id}")
+    @Operation(summary = "Get inspection reminder run progress")
+    public ResponseEntity<InspectionReminderRunDto> getInspectionReminderRun(@PathVariable Long id) {
+        return ResponseEntity.ok(inspectionReminderJob.getRun(id));
+    }
+
+
+    @GetMapping("/inspection-reminders/runs/latest")
+    @Operation(summary = "Get the progress of the latest inspection reminder run")
+    public ResponseEntity<InspectionReminderRunDto> getLatestInspectionReminderRun() {
+        return ResponseEntity.ok(inspectionReminderJob.getLatestRun());
+    }
+
+
     public ResponseEntity<InspectionReminderResponse> inspectionRemindersFallback(
             int days, int page, int size, String sortBy, Sort.Direction sortDirection, Exception ex) {
 
@@ -7,16 +7,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import org.example.driverandfleetmanagementapp.export.ExportFormat;
+import org.example.driverandfleetmanagementapp.export.FleetExportService;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.service.bulkimport.BulkImportService;
 import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.Set;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 
 @RestController
@@ -26,6 +39,8 @@ import java.util.Set;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final FleetExportService fleetExportService;
+    private final BulkImportService bulkImportService;
 
     @RateLimiter(name = "api")
     @GetMapping
@@ -80,6 +95,50 @@ public class VehicleController {
         ));
     }
 
+    @RateLimiter(name = "api")
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll vehicles", description = "Keyset pagination without total count - pass nextCursor of the previous response as 'after'")
+    @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or sort property")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<CursorPage<VehicleDto>> scrollVehicles(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        return ResponseEntity.ok(vehicleService.scrollVehicles(new CursorPageRequest(after, limit, sortBy, sortDirection)));
+    }
+
+    @RateLimiter(name = "api")
+    @GetMapping("/status/{status}/scroll")
+    @Operation(summary = "Scroll vehicles by status", description = "Keyset pagination of vehicles with the given status, without total count")
+    @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid status, cursor, limit or sort property")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<CursorPage<VehicleDto>> scrollVehiclesByStatus(
+            @PathVariable Vehicle.VehicleStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction sortDirection) {
+        return ResponseEntity.ok(vehicleService.scrollVehiclesByStatus(status, new CursorPageRequest(after, limit, sortBy, sortDirection)));
+    }
+
+    @RateLimiter(name = "api")
+    @GetMapping("/export")
+    @Operation(summary = "Export all vehicles", description = "Streams every vehicle as NDJSON (one JSON object per line) or CSV, without pagination")
+    @ApiResponse(responseCode = "200", description = "Vehicles streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid export format")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<StreamingResponseBody> exportVehicles(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("vehicles." + format.getFileExtension()).build().toString())
+                .body(out -> fleetExportService.exportVehicles(format, out));
+    }
+
     @RateLimiter(name = "api")
     @GetMapping("/search")
     @Operation(summary = "Search vehicles by brand and model", description = "Searches for vehicles by brand and model with pagination")
@@ -139,6 +198,27 @@ public class VehicleController {
         return new ResponseEntity<>(vehicleService.createVehicle(vehicleDto), HttpStatus.CREATED);
     }
 
+    @RateLimiter(name = "admin-api")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import vehicles", description = "Creates vehicles from a JSON array, every row is validated and reported on its own")
+    @ApiResponse(responseCode = "200", description = "Import processed, see the per-row report")
+    @ApiResponse(responseCode = "400", description = "Body is not a JSON array")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<ImportReport> importVehicles(
+            @RequestBody List<VehicleDto> vehicles) {
+        return ResponseEntity.ok(bulkImportService.importVehicles(vehicles));
+    }
+
+    @RateLimiter(name = "admin-api")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk import vehicles from NDJSON", description = "Creates vehicles from one JSON object per line, read as a stream")
+    @ApiResponse(responseCode = "200", description = "Import processed, see the per-row report")
+    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions to access resource")
+    public ResponseEntity<ImportReport> importVehiclesNdjson(
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importVehicles(body));
+    }
+
     @RateLimiter(name = "admin-api")
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing vehicle", description = "Updates a vehicle entry by ID")
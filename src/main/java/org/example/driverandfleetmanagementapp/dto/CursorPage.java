@@ -0,0 +1,11 @@
+package org.example.driverandfleetmanagementapp.dto;
+
+import java.util.List;
+
+
+/**
+ * One window of a keyset-paginated listing. Pass nextCursor as "after" to get the following window,
+ * there is no total count.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,10 @@
+package org.example.driverandfleetmanagementapp.dto;
+
+import org.springframework.data.domain.Sort;
+
+
+// Keyset counterpart of PageRequest - "after" is the opaque cursor of the previous window (null for the first one)
+public record CursorPageRequest(String after, int limit, String sortBy, Sort.Direction direction) {
+
+    public static final int MAX_LIMIT = 100;
+}
@@ -0,0 +1,25 @@
+package org.example.driverandfleetmanagementapp.dto.bulkimport;
+
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Outcome of a bulk import - counts per status and one result per submitted row, ordered by row number.
+ * Rows are independent, a rejected row does not roll back the others.
+ */
+public record ImportReport(int total, long created, long duplicates, long invalid, List<ImportRowResult> rows) {
+
+    public static ImportReport of(List<ImportRowResult> results) {
+        List<ImportRowResult> rows = results.stream().sorted(Comparator.comparingInt(ImportRowResult::row)).toList();
+        return new ImportReport(rows.size(),
+                count(rows, ImportRowStatus.CREATED),
+                count(rows, ImportRowStatus.DUPLICATE),
+                count(rows, ImportRowStatus.INVALID),
+                rows);
+    }
+
+    private static long count(List<ImportRowResult> rows, ImportRowStatus status) {
+        return rows.stream().filter(r -> r.status() == status).count();
+    }
+}
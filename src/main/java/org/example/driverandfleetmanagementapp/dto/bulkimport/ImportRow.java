@@ -0,0 +1,6 @@
+package org.example.driverandfleetmanagementapp.dto.bulkimport;
+
+
+// One parsed row of a bulk import, row numbers start at 1 in the order the rows were sent
+public record ImportRow<T>(int row, T value) {
+}
@@ -0,0 +1,22 @@
+package org.example.driverandfleetmanagementapp.dto.bulkimport;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+
+// key - the natural key of the row (license plate / license number), id - set for created rows only
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ImportRowResult(int row, ImportRowStatus status, String key, Long id, List<String> errors) {
+
+    public static ImportRowResult created(int row, String key, Long id) {
+        return new ImportRowResult(row, ImportRowStatus.CREATED, key, id, List.of());
+    }
+
+    public static ImportRowResult duplicate(int row, String key, String error) {
+        return new ImportRowResult(row, ImportRowStatus.DUPLICATE, key, null, List.of(error));
+    }
+
+    public static ImportRowResult invalid(int row, String key, List<String> errors) {
+        return new ImportRowResult(row, ImportRowStatus.INVALID, key, null, List.copyOf(errors));
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.driverandfleetmanagementapp.dto.bulkimport;
+
+
+public enum ImportRowStatus {
+    CREATED,
+    DUPLICATE, // license plate / license number already exists or appears earlier in the same import
+    INVALID // not parseable, fails the DTO constraints or a creation rule
+}
@@ -12,4 +12,8 @@ public class InspectionReminderResponse {
     private String message;
     private Long totalVehicles;
     private List<VehicleInspectionDto> vehicles;
+    // notifications written to the outbox, delivered in the background
+    private int queuedNotifications;
+    // already queued by an earlier request or run, not sent again
+    private int skippedNotifications;
 }
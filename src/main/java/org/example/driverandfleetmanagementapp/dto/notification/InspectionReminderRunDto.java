@@ -0,0 +1,32 @@
+package org.example.driverandfleetmanagementapp.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.driverandfleetmanagementapp.model.InspectionReminderRun;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InspectionReminderRunDto {
+
+    private Long id;
+    private InspectionReminderRun.RunStatus status;
+    private String triggeredBy;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    // vehicles due when the run started
+    private long totalVehicles;
+    private long processedVehicles;
+    private double progressPercent;
+    private long queuedNotifications;
+    private long skippedNotifications;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
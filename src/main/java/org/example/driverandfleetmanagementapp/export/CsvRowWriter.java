@@ -0,0 +1,61 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.function.Function;
+
+
+// RFC 4180 - comma separated, CRLF line endings, fields quoted only when they contain a separator, quote or line break
+public class CsvRowWriter<T> implements ExportRowWriter<T> {
+
+    private final Writer writer;
+    private final List<Function<T, ?>> extractors;
+
+    public CsvRowWriter(SequencedMap<String, Function<T, ?>> columns, OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.extractors = List.copyOf(columns.values());
+        writeLine(List.copyOf(columns.keySet()));
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        writeLine(extractors.stream().map(extractor -> (Object) extractor.apply(row)).toList());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(format(values.get(i))));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String format(Object value) {
+        if (value == null) return "";
+        // multi-valued columns (e.g. the plates of a driver) go into a single field
+        if (value instanceof Collection<?> collection) {
+            return String.join(";", collection.stream().map(String::valueOf).toList());
+        }
+        return String.valueOf(value);
+    }
+
+    static String escape(String field) {
+        boolean quote = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        return quote ? '"' + field.replace("\"", "\"\"") + '"' : field;
+    }
+}
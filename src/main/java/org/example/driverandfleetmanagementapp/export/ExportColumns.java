@@ -0,0 +1,58 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleBasicDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+import java.util.function.Function;
+
+
+// CSV layout of the exports - header name -> value, in column order
+final class ExportColumns {
+
+    static final SequencedMap<String, Function<VehicleDto, ?>> VEHICLE = vehicleColumns();
+
+    static final SequencedMap<String, Function<DriverDto, ?>> DRIVER = driverColumns();
+
+    private ExportColumns() {
+    }
+
+
+    private static SequencedMap<String, Function<VehicleDto, ?>> vehicleColumns() {
+        SequencedMap<String, Function<VehicleDto, ?>> columns = new LinkedHashMap<>();
+        columns.put("id", VehicleDto::getId);
+        columns.put("licensePlate", VehicleDto::getLicensePlate);
+        columns.put("brand", VehicleDto::getBrand);
+        columns.put("model", VehicleDto::getModel);
+        columns.put("productionYear", VehicleDto::getProductionYear);
+        columns.put("type", VehicleDto::getType);
+        columns.put("registrationDate", VehicleDto::getRegistrationDate);
+        columns.put("technicalInspectionDate", VehicleDto::getTechnicalInspectionDate);
+        columns.put("mileage", VehicleDto::getMileage);
+        columns.put("status", VehicleDto::getStatus);
+        columns.put("driverId", vehicle -> vehicle.getDriver() != null ? vehicle.getDriver().getId() : null);
+        columns.put("driverLicenseNumber", vehicle -> vehicle.getDriver() != null ? vehicle.getDriver().getLicenseNumber() : null);
+        return columns;
+    }
+
+    private static SequencedMap<String, Function<DriverDto, ?>> driverColumns() {
+        SequencedMap<String, Function<DriverDto, ?>> columns = new LinkedHashMap<>();
+        columns.put("id", DriverDto::getId);
+        columns.put("firstName", DriverDto::getFirstName);
+        columns.put("lastName", DriverDto::getLastName);
+        columns.put("licenseNumber", DriverDto::getLicenseNumber);
+        columns.put("licenseType", DriverDto::getLicenseType);
+        columns.put("dateOfBirth", DriverDto::getDateOfBirth);
+        columns.put("phoneNumber", DriverDto::getPhoneNumber);
+        columns.put("email", DriverDto::getEmail);
+        columns.put("status", DriverDto::getStatus);
+        // sorted, the vehicles set has no stable order
+        columns.put("vehiclePlates", driver -> driver.getVehicles() == null ? null : driver.getVehicles().stream()
+                .sorted(Comparator.comparing(VehicleBasicDto::getId))
+                .map(VehicleBasicDto::getLicensePlate)
+                .toList());
+        return columns;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import java.io.IOException;
+
+
+// Writes exported rows one at a time, nothing is kept after write() returns
+public interface ExportRowWriter<T> {
+
+    void write(T row) throws IOException;
+
+    // pushes the buffered rows to the client, called after every chunk and at the end
+    void flush() throws IOException;
+}
@@ -0,0 +1,157 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+
+/**
+ * Streams every vehicle / driver to the client without building pages or lists of the whole fleet.
+ * Rows come from a server-side cursor (see the EXPORT_FETCH_SIZE hint on the repositories), are written in chunks,
+ * and the persistence context is cleared after every chunk - memory stays flat regardless of the fleet size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FleetExportService {
+
+    static final int CHUNK_SIZE = VehicleRepository.EXPORT_FETCH_SIZE;
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final VehicleMapper vehicleMapper;
+    private final DriverMapper driverMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+
+    @Transactional(readOnly = true)
+    public long exportVehicles(ExportFormat format, OutputStream out) throws IOException {
+        ExportRowWriter<VehicleDto> writer = writer(format, ExportColumns.VEHICLE, out);
+        return export("vehicle", format, () -> {
+            try (Stream<Vehicle> vehicles = vehicleRepository.streamAllOrderById()) {
+                return writeInChunks(vehicles.iterator(), chunk -> chunk.stream().map(vehicleMapper::toDto).toList(), writer);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public long exportDrivers(ExportFormat format, OutputStream out) throws IOException {
+        ExportRowWriter<DriverDto> writer = writer(format, ExportColumns.DRIVER, out);
+        return export("driver", format, () -> {
+            try (Stream<Driver> drivers = driverRepository.streamAllOrderById()) {
+                return writeInChunks(drivers.iterator(), chunk -> {
+                    // one query initializes the vehicles of the whole chunk, the drivers are already managed
+                    driverRepository.findByIdIn(chunk.stream().map(Driver::getId).toList());
+                    return chunk.stream().map(driverMapper::toDto).toList();
+                }, writer);
+            }
+        });
+    }
+
+
+    private <E, D> long writeInChunks(Iterator<E> rows, Function<List<E>, List<D>> toDtos,
+                                      ExportRowWriter<D> writer) throws IOException {
+        long written = 0;
+        List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+        // no hasNext() look-ahead before the clear - the row it fetches would be detached along with the chunk
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == CHUNK_SIZE) {
+                written += writeChunk(chunk, toDtos, writer);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            written += writeChunk(chunk, toDtos, writer);
+        }
+        writer.flush();
+        return written;
+    }
+
+    private <E, D> int writeChunk(List<E> chunk, Function<List<E>, List<D>> toDtos,
+                                  ExportRowWriter<D> writer) throws IOException {
+        for (D dto : toDtos.apply(chunk)) {
+            writer.write(dto);
+        }
+        writer.flush();
+        int size = chunk.size();
+        chunk.clear();
+        // detach what was written, otherwise every row of the export stays in the first-level cache
+        entityManager.clear();
+        return size;
+    }
+
+    private long export(String entity, ExportFormat format, ExportTask task) throws IOException {
+        String formatTag = format.name().toLowerCase();
+        long start = System.nanoTime();
+        String outcome = "error";
+        long rows = 0;
+        try {
+            rows = task.run();
+            outcome = "success";
+            return rows;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            double rowsPerSecond = elapsedNanos > 0 ? rows * 1e9 / elapsedNanos : 0;
+
+            Timer.builder("fleet.export.duration")
+                    .description("Duration of full vehicle / driver exports")
+                    .tags("entity", entity, "format", formatTag, "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            Counter.builder("fleet.export.rows")
+                    .description("Rows written by full exports")
+                    .tags("entity", entity, "format", formatTag)
+                    .register(meterRegistry)
+                    .increment(rows);
+            DistributionSummary.builder("fleet.export.throughput")
+                    .description("Rows per second of full exports")
+                    .baseUnit("rows/s")
+                    .tags("entity", entity, "format", formatTag)
+                    .register(meterRegistry)
+                    .record(rowsPerSecond);
+
+            log.info("Export of {}s as {} finished ({}): {} rows in {} ms, {} rows/s", entity, formatTag, outcome,
+                    rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond));
+        }
+    }
+
+    private <T> ExportRowWriter<T> writer(ExportFormat format, SequencedMap<String, Function<T, ?>> columns,
+                                          OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter<>(objectMapper, out);
+            case CSV -> new CsvRowWriter<>(columns, out);
+        };
+    }
+
+
+    @FunctionalInterface
+    private interface ExportTask {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+public class NdjsonRowWriter<T> implements ExportRowWriter<T> {
+
+    private final JsonGenerator generator;
+
+    public NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        // the response stream belongs to the servlet container
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        generator.writeObject(row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
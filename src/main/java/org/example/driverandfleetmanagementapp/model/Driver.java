@@ -25,7 +25,7 @@ public class Driver {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "driver_seq")
-    @SequenceGenerator(name = "driver_seq", sequenceName = "driver_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "driver_seq", sequenceName = "driver_sequence", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
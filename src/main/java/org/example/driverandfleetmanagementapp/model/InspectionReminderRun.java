@@ -0,0 +1,73 @@
+package org.example.driverandfleetmanagementapp.model;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "inspection_reminder_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class InspectionReminderRun {
+
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inspection_run_seq")
+    @SequenceGenerator(name = "inspection_run_seq", sequenceName = "inspection_reminder_runs_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RunStatus status;
+
+    @Column(nullable = false)
+    private String triggeredBy;
+
+    @Column(nullable = false)
+    private LocalDate windowStart;
+
+    @Column(nullable = false)
+    private LocalDate windowEnd;
+
+    @Column(nullable = false)
+    private long totalVehicles;
+
+    @Column(nullable = false)
+    private long processedVehicles;
+
+    // written to the outbox, delivery is tracked per outbox row
+    @Column(nullable = false)
+    private long queuedNotifications;
+
+    // already in the reminder ledger
+    @Column(nullable = false)
+    private long skippedNotifications;
+
+    // watermark - the last vehicle (in technical_inspection_date, id order) whose reminders are in the outbox
+    private LocalDate lastInspectionDate;
+
+    private Long lastVehicleId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String error;
+
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+
+
+}
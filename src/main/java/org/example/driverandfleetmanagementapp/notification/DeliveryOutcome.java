@@ -0,0 +1,8 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+
+public enum DeliveryOutcome {
+    SENT,
+    FAILED, // every attempt failed
+    REJECTED // not accepted, the dispatcher was full or shutting down
+}
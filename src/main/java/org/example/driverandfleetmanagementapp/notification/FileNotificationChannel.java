@@ -0,0 +1,45 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+// Appends every notification as one JSON line to a local file
+public class FileNotificationChannel implements NotificationChannel {
+
+    private final String name;
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    // not synchronized - a virtual thread blocked in a synchronized block would pin its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileNotificationChannel(String name, Path file, ObjectMapper objectMapper) {
+        this.name = name;
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(Notification notification) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(notification) + "\n").getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+// Keeps every notification in memory - for tests and local runs
+public class InMemoryNotificationChannel implements NotificationChannel {
+
+    private final String name;
+    private final ConcurrentLinkedQueue<Notification> sent = new ConcurrentLinkedQueue<>();
+
+    public InMemoryNotificationChannel(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        sent.add(notification);
+    }
+
+    public List<Notification> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
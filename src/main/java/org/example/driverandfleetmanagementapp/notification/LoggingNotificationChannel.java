@@ -0,0 +1,25 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+// Only logs the notification - the default until a real transport is configured
+@Slf4j
+public class LoggingNotificationChannel implements NotificationChannel {
+
+    private final String name;
+
+    public LoggingNotificationChannel(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        log.info("[{}] to {}: {}", name, notification.recipient(), notification.subject());
+    }
+}
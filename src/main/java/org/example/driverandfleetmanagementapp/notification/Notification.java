@@ -0,0 +1,6 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+
+// One message to one recipient - the key identifies it across retries and channels (e.g. for de-duplication downstream)
+public record Notification(String key, String recipient, String subject, String body) {
+}
@@ -0,0 +1,16 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+
+/**
+ * Delivery SPI of the NotificationDispatcher - one implementation per transport (email gateway, SMS gateway, webhook,
+ * file, ...). Besides the channels configured under fleet.notifications.channels, every NotificationChannel bean
+ * is registered under its name.
+ * send is called on a virtual thread, blocking I/O is fine; the dispatcher limits the concurrent calls per channel.
+ * Any exception counts as a failed attempt and is retried with backoff.
+ */
+public interface NotificationChannel {
+
+    String name();
+
+    void send(Notification notification) throws Exception;
+}
@@ -0,0 +1,240 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.springframework.context.SmartLifecycle;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Delivers notifications through the registered channels. Every notification gets its own virtual thread,
+ * a semaphore per channel caps the concurrent sends and failed attempts are retried with exponential backoff
+ * and jitter (no permit is held while waiting). Admission is bounded by maxPending - when it is reached the
+ * RejectionPolicy applies and the returned future completes with REJECTED, callers never get an exception.
+ */
+@Slf4j
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, ChannelState> channels = new LinkedHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final NotificationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+    private volatile boolean accepting = true;
+
+    public NotificationDispatcher(Collection<NotificationChannel> channels, NotificationProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-", 0).factory());
+
+        for (NotificationChannel channel : channels) {
+            NotificationProperties.Channel config = properties.getChannels().get(channel.name());
+            int maxConcurrency = config != null ? config.getMaxConcurrency() : new NotificationProperties.Channel().getMaxConcurrency();
+            if (this.channels.putIfAbsent(channel.name(), new ChannelState(channel, maxConcurrency)) != null) {
+                throw new IllegalStateException("Duplicate notification channel: " + channel.name());
+            }
+        }
+
+        Gauge.builder("fleet.notifications.pending", pending, AtomicInteger::get)
+                .description("Notifications accepted but not yet delivered or given up")
+                .register(meterRegistry);
+        this.channels.values().forEach(state -> Gauge.builder("fleet.notifications.in.flight", state,
+                        s -> s.maxConcurrency - s.permits.availablePermits())
+                .description("Sends currently running on the channel")
+                .tag("channel", state.channel.name())
+                .register(meterRegistry));
+    }
+
+
+    public Set<String> channelNames() {
+        return channels.keySet();
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    public CompletableFuture<DeliveryOutcome> dispatch(String channelName, Notification notification) {
+        ChannelState state = channels.get(channelName);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown notification channel: " + channelName);
+        }
+        if (!admit()) {
+            return completed(state, DeliveryOutcome.REJECTED);
+        }
+        CompletableFuture<DeliveryOutcome> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> deliver(state, notification, result));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            return completed(state, DeliveryOutcome.REJECTED);
+        }
+        return result;
+    }
+
+
+    private boolean admit() {
+        if (!accepting) {
+            return false;
+        }
+        if (tryReserve()) {
+            return true;
+        }
+        if (properties.getRejectionPolicy() == NotificationProperties.RejectionPolicy.DROP) {
+            return false;
+        }
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (accepting && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (tryReserve()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = pending.get();
+            if (current >= properties.getMaxPending()) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void deliver(ChannelState state, Notification notification, CompletableFuture<DeliveryOutcome> result) {
+        NotificationProperties.Retry retry = properties.getRetry();
+        String channel = state.channel.name();
+        DeliveryOutcome outcome = DeliveryOutcome.FAILED;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                Exception failure;
+                state.permits.acquire();
+                long start = System.nanoTime();
+                try {
+                    state.channel.send(notification);
+                    attemptTimer(channel, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    outcome = DeliveryOutcome.SENT;
+                    return;
+                } catch (Exception e) {
+                    attemptTimer(channel, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    failure = e;
+                } finally {
+                    state.permits.release();
+                }
+
+                if (attempt >= retry.getMaxAttempts()) {
+                    log.warn("Notification {} on channel {} failed after {} attempt(s): {}",
+                            notification.key(), channel, attempt, failure.getMessage());
+                    return;
+                }
+                Counter.builder("fleet.notifications.retries")
+                        .description("Failed send attempts that were retried")
+                        .tag("channel", channel)
+                        .register(meterRegistry)
+                        .increment();
+                Thread.sleep(backoff(attempt, retry));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.decrementAndGet();
+            completed(state, outcome, result);
+        }
+    }
+
+    // exponential with full jitter, so retries of a failed burst do not hit the channel at the same moment again
+    static long backoff(int attempt, NotificationProperties.Retry retry) {
+        double exponential = retry.getInitialBackoff().toMillis() * Math.pow(retry.getMultiplier(), attempt - 1);
+        long capped = (long) Math.min(exponential, retry.getMaxBackoff().toMillis());
+        return capped <= 0 ? 0 : ThreadLocalRandom.current().nextLong(capped / 2, capped + 1);
+    }
+
+    private Timer attemptTimer(String channel, String outcome) {
+        return Timer.builder("fleet.notifications.send")
+                .description("Duration of single send attempts")
+                .tags("channel", channel, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private CompletableFuture<DeliveryOutcome> completed(ChannelState state, DeliveryOutcome outcome) {
+        CompletableFuture<DeliveryOutcome> result = new CompletableFuture<>();
+        completed(state, outcome, result);
+        return result;
+    }
+
+    private void completed(ChannelState state, DeliveryOutcome outcome, CompletableFuture<DeliveryOutcome> result) {
+        Counter.builder("fleet.notifications.delivered")
+                .description("Notifications by final outcome")
+                .tags("channel", state.channel.name(), "outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        result.complete(outcome);
+    }
+
+
+    @Override
+    public void start() {
+        accepting = true;
+        running = true;
+    }
+
+    // no new notifications, pending ones get shutdownTimeout to finish (retries included)
+    @Override
+    public void stop() {
+        accepting = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("{} notification(s) still pending after shutdown timeout", pending.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+
+    private static final class ChannelState {
+
+        private final NotificationChannel channel;
+        private final int maxConcurrency;
+        private final Semaphore permits;
+
+        private ChannelState(NotificationChannel channel, int maxConcurrency) {
+            this.channel = channel;
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+
+// POSTs the notification as JSON - also the way to reach email / SMS providers through their HTTP APIs
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    private final String name;
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public WebhookNotificationChannel(String name, URI url, Duration timeout, ObjectMapper objectMapper) {
+        this.name = name;
+        this.url = url;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        // one client per channel, connections are pooled and reused across sends
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(Notification notification) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", notification.key())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(notification)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + name + " answered HTTP " + response.statusCode());
+        }
+    }
+}
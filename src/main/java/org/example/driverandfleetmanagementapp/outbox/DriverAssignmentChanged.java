@@ -0,0 +1,13 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+
+
+// Domain event of the outbox, published when a vehicle is assigned to or removed from a driver
+public record DriverAssignmentChanged(Long vehicleId, Long driverId, Vehicle.VehicleStatus vehicleStatus,
+                                      Driver.DriverStatus driverStatus) {
+
+    public static final String ASSIGNED = "DRIVER_ASSIGNED";
+    public static final String UNASSIGNED = "DRIVER_UNASSIGNED";
+}
@@ -0,0 +1,52 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+
+    // notification channel the event is delivered on
+    private String channel;
+
+    // idempotency key handed to the channel, "outbox:<id>" when not set
+    private String eventKey;
+    private String recipient;
+    private String subject;
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int attempts;
+    private LocalDateTime createdAt;
+
+    // not claimed before - the relay pushes it forward while a delivery is in flight and for retries
+    private LocalDateTime availableAt;
+    private LocalDateTime deliveredAt;
+    private String lastError;
+
+
+    public enum Status {
+        PENDING, DELIVERED, FAILED
+    }
+}
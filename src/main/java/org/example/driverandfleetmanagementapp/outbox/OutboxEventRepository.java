@@ -0,0 +1,13 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+
+// Inserts go through JPA, the relay claims and updates rows with plain SQL (FOR UPDATE SKIP LOCKED), see OutboxRelay
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByStatus(OutboxEvent.Status status);
+
+    long countByStatus(OutboxEvent.Status status);
+}
@@ -0,0 +1,64 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.driverandfleetmanagementapp.notification.Notification;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+
+/**
+ * Adds notifications and domain events to the outbox. Only callable inside a transaction: the rows commit or roll
+ * back together with the change they describe, OutboxRelay delivers them once committed.
+ */
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final String domainEventChannel;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, String domainEventChannel) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.domainEventChannel = domainEventChannel;
+    }
+
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String channel, Notification notification, String aggregateType, Long aggregateId, String eventType) {
+        outboxEventRepository.save(event(aggregateType, aggregateId, eventType, channel)
+                .eventKey(notification.key())
+                .recipient(notification.recipient())
+                .subject(notification.subject())
+                .payload(notification.body())
+                .build());
+    }
+
+    // the payload is serialized to JSON now, the relay passes it on as the notification body
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishDomainEvent(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        try {
+            outboxEventRepository.save(event(aggregateType, aggregateId, eventType, domainEventChannel)
+                    .recipient(aggregateType + ":" + aggregateId)
+                    .subject(eventType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Domain event " + eventType + " is not serializable", e);
+        }
+    }
+
+
+    private OutboxEvent.OutboxEventBuilder event(String aggregateType, Long aggregateId, String eventType, String channel) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .channel(channel)
+                .status(OutboxEvent.Status.PENDING)
+                .createdAt(now)
+                .availableAt(now);
+    }
+}
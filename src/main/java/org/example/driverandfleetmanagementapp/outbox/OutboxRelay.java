@@ -0,0 +1,310 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.OutboxProperties;
+import org.example.driverandfleetmanagementapp.notification.DeliveryOutcome;
+import org.example.driverandfleetmanagementapp.notification.Notification;
+import org.example.driverandfleetmanagementapp.notification.NotificationDispatcher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Delivers the outbox. A single "outbox-relay" thread per instance claims PENDING rows in batches with
+ * FOR UPDATE SKIP LOCKED - concurrent relays of other instances skip each other's rows instead of waiting - and
+ * leases them by moving available_at past the lease, all in one short transaction. The rows are then handed to the
+ * NotificationDispatcher without holding a connection; outcomes are collected as they complete and written back in
+ * batches on the next turn of the loop. Delivery is at least once: a lease that expires before its outcome is
+ * written (crash, shutdown timeout) makes the row claimable again, channels get the same key both times.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    // PostgreSQL skips locked rows before applying the LIMIT; H2 applies it first, so a second relay may come back
+    // empty there - never with a row claimed twice
+    private static final String CLAIM_SQL = """
+            SELECT id, channel, event_key, recipient, subject, payload, attempts, created_at
+            FROM outbox_events
+            WHERE status = 'PENDING' AND available_at <= ?
+            ORDER BY available_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String LEASE_SQL = "UPDATE outbox_events SET available_at = ?, attempts = attempts + 1 WHERE id = ?";
+    private static final String DELIVERED_SQL = "UPDATE outbox_events SET status = 'DELIVERED', delivered_at = ?, last_error = NULL WHERE id = ?";
+    private static final String RETRY_SQL = "UPDATE outbox_events SET available_at = ?, attempts = attempts + ?, last_error = ? WHERE id = ?";
+    private static final String FAILED_SQL = "UPDATE outbox_events SET status = 'FAILED', last_error = ? WHERE id = ?";
+    private static final String OLDEST_AVAILABLE_SQL = "SELECT MIN(available_at) FROM outbox_events WHERE status = 'PENDING'";
+    private static final String CLEANUP_SQL = """
+            DELETE FROM outbox_events WHERE id IN (
+                SELECT id FROM outbox_events WHERE status = 'DELIVERED' AND delivered_at < ? LIMIT ?)
+            """;
+    private static final int CLEANUP_CHUNK = 5_000;
+    private static final long LAG_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationDispatcher dispatcher;
+    private final OutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentLinkedQueue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary claimedRows;
+    private final Timer deliveryLatency;
+
+    private volatile boolean running;
+    private volatile Thread relayThread;
+    private long lagRefreshedAt = System.nanoTime() - LAG_REFRESH_NANOS;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       NotificationDispatcher dispatcher, OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatcher = dispatcher;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        this.claimedRows = DistributionSummary.builder("fleet.outbox.batch.size")
+                .description("Outbox rows claimed per poll")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("fleet.outbox.delivery.latency")
+                .description("Time from the outbox insert to the confirmed delivery")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("fleet.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Seconds the oldest deliverable outbox row has been waiting")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("fleet.outbox.in.flight", inFlight, AtomicInteger::get)
+                .description("Outbox rows dispatched and not yet confirmed")
+                .register(meterRegistry);
+    }
+
+
+    // one turn of the relay loop, returns the number of rows claimed
+    int poll() {
+        applyCompletions();
+        int claimed = 0;
+        if (inFlight.get() < properties.getMaxInFlight()) {
+            List<Claimed> rows = claim(Math.min(properties.getBatchSize(), properties.getMaxInFlight() - inFlight.get()));
+            claimed = rows.size();
+            claimedRows.record(claimed);
+            rows.forEach(this::dispatch);
+        }
+        refreshLag();
+        return claimed;
+    }
+
+    // outcomes collected since the last turn, written in one transaction
+    int applyCompletions() {
+        List<Completion> batch = new ArrayList<>();
+        for (Completion completion; (completion = completions.poll()) != null; ) {
+            batch.add(completion);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> delivered = new ArrayList<>();
+        List<Object[]> retried = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (Completion completion : batch) {
+            Claimed row = completion.row();
+            switch (completion.outcome()) {
+                case SENT -> {
+                    delivered.add(new Object[]{Timestamp.valueOf(now), row.id()});
+                    deliveryLatency.record(Duration.between(row.createdAt(), now));
+                }
+                // the dispatcher was saturated, the attempt does not count
+                case REJECTED -> retried.add(new Object[]{
+                        Timestamp.valueOf(now.plus(properties.getPollInterval())), -1, "rejected by dispatcher", row.id()});
+                case FAILED -> {
+                    if (row.attempt() >= properties.getMaxAttempts()) {
+                        failed.add(new Object[]{completion.error(), row.id()});
+                    } else {
+                        retried.add(new Object[]{Timestamp.valueOf(now.plus(properties.getRetryDelay().multipliedBy(row.attempt()))),
+                                0, completion.error(), row.id()});
+                    }
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            batchUpdate(DELIVERED_SQL, delivered);
+            batchUpdate(RETRY_SQL, retried);
+            batchUpdate(FAILED_SQL, failed);
+        });
+        count("delivered", delivered.size());
+        count("retried", retried.size());
+        count("failed", failed.size());
+        if (!failed.isEmpty()) {
+            log.warn("{} outbox event(s) failed after {} attempts", failed.size(), properties.getMaxAttempts());
+        }
+        return batch.size();
+    }
+
+    @Scheduled(cron = "${fleet.outbox.cleanup-cron:0 15 4 * * *}")
+    public long deleteDelivered() {
+        Timestamp before = Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention()));
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = jdbcTemplate.update(CLEANUP_SQL, before, CLEANUP_CHUNK);
+            deleted += chunk;
+        } while (chunk == CLEANUP_CHUNK);
+        if (deleted > 0) {
+            log.info("Deleted {} delivered outbox event(s)", deleted);
+        }
+        return deleted;
+    }
+
+
+    private List<Claimed> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<Claimed> rows = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new Claimed(
+                    rs.getLong("id"),
+                    rs.getString("channel"),
+                    rs.getString("event_key"),
+                    rs.getString("recipient"),
+                    rs.getString("subject"),
+                    rs.getString("payload"),
+                    rs.getInt("attempts") + 1,
+                    rs.getTimestamp("created_at").toLocalDateTime()), Timestamp.valueOf(now), limit);
+            Timestamp leasedUntil = Timestamp.valueOf(now.plus(properties.getLease()));
+            batchUpdate(LEASE_SQL, rows.stream().map(row -> new Object[]{leasedUntil, row.id()}).toList());
+            return rows;
+        });
+    }
+
+    private void dispatch(Claimed row) {
+        Notification notification = new Notification(row.eventKey() != null ? row.eventKey() : "outbox:" + row.id(),
+                row.recipient(), row.subject(), row.payload());
+        inFlight.incrementAndGet();
+        try {
+            dispatcher.dispatch(row.channel(), notification).whenComplete((outcome, error) -> {
+                completions.add(new Completion(row, outcome != null ? outcome : DeliveryOutcome.FAILED,
+                        outcome == DeliveryOutcome.SENT ? null : "delivery " + (outcome != null ? outcome.name().toLowerCase() : "error")));
+                inFlight.decrementAndGet();
+            });
+        } catch (IllegalArgumentException e) {
+            // unknown channel, retrying will not help
+            completions.add(new Completion(row.exhausted(properties.getMaxAttempts()), DeliveryOutcome.FAILED, e.getMessage()));
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void refreshLag() {
+        long now = System.nanoTime();
+        if (now - lagRefreshedAt < LAG_REFRESH_NANOS) {
+            return;
+        }
+        lagRefreshedAt = now;
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_AVAILABLE_SQL, Timestamp.class);
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis()));
+    }
+
+    private void batchUpdate(String sql, List<Object[]> args) {
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, args);
+        }
+    }
+
+    private void count(String outcome, int events) {
+        if (events > 0) {
+            Counter.builder("fleet.outbox.events")
+                    .description("Outbox events by relay outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(events);
+        }
+    }
+
+    private void runRelay() {
+        long pollIntervalNanos = properties.getPollInterval().toNanos();
+        while (running) {
+            try {
+                // a full batch means more is waiting, anything less - poll again after the interval
+                if (poll() < properties.getBatchSize()) {
+                    LockSupport.parkNanos(this, pollIntervalNanos);
+                }
+            } catch (Exception e) {
+                log.error("Outbox relay poll failed: {}", e.getMessage(), e);
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runRelay, "outbox-relay");
+        thread.setDaemon(true);
+        relayThread = thread;
+        thread.start();
+    }
+
+    // stops claiming, then waits for the deliveries in flight to write their outcomes
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = relayThread;
+        LockSupport.unpark(thread);
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        try {
+            thread.join(properties.getShutdownTimeout().toMillis());
+            while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            applyCompletions();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Outbox outcomes not written on shutdown, the rows are delivered again after their lease: {}", e.getMessage());
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} outbox event(s) still in flight after shutdown", inFlight.get());
+        }
+        relayThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+
+    private record Claimed(long id, String channel, String eventKey, String recipient, String subject, String payload,
+                           int attempt, LocalDateTime createdAt) {
+
+        private Claimed exhausted(int maxAttempts) {
+            return new Claimed(id, channel, eventKey, recipient, subject, payload, maxAttempts, createdAt);
+        }
+    }
+
+    private record Completion(Claimed row, DeliveryOutcome outcome, String error) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+
+
+// Domain event of the outbox, published on every vehicle status change
+public record VehicleStatusChanged(Long vehicleId, String licensePlate, Vehicle.VehicleStatus previousStatus,
+                                   Vehicle.VehicleStatus status) {
+
+    public static final String TYPE = "VEHICLE_STATUS_CHANGED";
+}
@@ -1,16 +1,31 @@
 package org.example.driverandfleetmanagementapp.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.driverandfleetmanagementapp.model.Driver;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 public interface DriverRepository extends JpaRepository<Driver, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
 
     //Solving N+1 problem with @EntityGraph
 
@@ -36,4 +51,30 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
     @Override
     Optional<Driver> findById(@NonNull Long id);
 
+    // keyset pagination on (sort key, id) - no entity graph, a collection fetch cannot be limited in SQL,
+    // vehicles of the window are loaded with findByIdIn
+    Window<Driver> findBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Driver> findByStatus(Driver.DriverStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    // cache warm-up - ids first, the collection fetch of "vehicles" cannot be combined with a limit
+    @Query("SELECT d.id FROM Driver d WHERE d.status IN :statuses AND d.id > :afterId ORDER BY d.id")
+    List<Long> findIdsByStatusInAfter(@Param("statuses") Collection<Driver.DriverStatus> statuses,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"vehicles"})
+    List<Driver> findByIdIn(Collection<Long> ids);
+
+    // bulk import - one query per chunk, native so soft-deleted rows (still holding the unique constraint) count too
+    @Query(value = "SELECT license_number FROM drivers WHERE license_number IN (:licenseNumbers)", nativeQuery = true)
+    Set<String> findExistingLicenseNumbers(@Param("licenseNumbers") Collection<String> licenseNumbers);
+
+    // full export - server-side cursor without the collection fetch, vehicles are initialized per chunk with findByIdIn
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Driver d ORDER BY d.id")
+    Stream<Driver> streamAllOrderById();
+
 }
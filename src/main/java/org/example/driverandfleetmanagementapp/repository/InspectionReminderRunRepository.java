@@ -0,0 +1,13 @@
+package org.example.driverandfleetmanagementapp.repository;
+
+import org.example.driverandfleetmanagementapp.model.InspectionReminderRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+
+public interface InspectionReminderRunRepository extends JpaRepository<InspectionReminderRun, Long> {
+
+    List<InspectionReminderRun> findByStatusOrderByIdAsc(InspectionReminderRun.RunStatus status);
+
+    Optional<InspectionReminderRun> findFirstByOrderByIdDesc();
+}
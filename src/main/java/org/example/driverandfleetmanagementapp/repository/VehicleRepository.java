@@ -1,17 +1,31 @@
 package org.example.driverandfleetmanagementapp.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
     //Solving N+1 problem with @EntityGraph
 
     @EntityGraph(attributePaths = {"driver"})
@@ -44,6 +58,41 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     @EntityGraph(attributePaths = {"driver"})
     Page<Vehicle> findByTechnicalInspectionDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
+    // inspection reminder job - keyset batches on (technical_inspection_date, id), see idx_vehicle_inspection_date_id
+    @EntityGraph(attributePaths = {"driver"})
+    Window<Vehicle> findByTechnicalInspectionDateBetween(LocalDate startDate, LocalDate endDate,
+                                                         ScrollPosition position, Limit limit, Sort sort);
+
+    long countByTechnicalInspectionDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // keyset pagination on (sort key, id) - no count query, stable while rows are inserted
+    @EntityGraph(attributePaths = {"driver"})
+    Window<Vehicle> findBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = {"driver"})
+    Window<Vehicle> findByStatus(Vehicle.VehicleStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    // cache warm-up - keyset batches of ids, no count query and no offset scan
+    @Query("SELECT v.id FROM Vehicle v WHERE v.status IN :statuses AND v.id > :afterId ORDER BY v.id")
+    List<Long> findIdsByStatusInAfter(@Param("statuses") Collection<Vehicle.VehicleStatus> statuses,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"driver"})
+    List<Vehicle> findByIdIn(Collection<Long> ids);
+
+    // bulk import - one query per chunk, native so soft-deleted rows (still holding the unique constraint) count too
+    @Query(value = "SELECT license_plate FROM vehicles WHERE license_plate IN (:plates)", nativeQuery = true)
+    Set<String> findExistingLicensePlates(@Param("plates") Collection<String> plates);
+
+    // full export - server-side cursor, rows are fetched in chunks instead of being materialized as a list
+    @EntityGraph(attributePaths = {"driver"})
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Vehicle v ORDER BY v.id")
+    Stream<Vehicle> streamAllOrderById();
+
 
 }
 
@@ -8,9 +8,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.driverandfleetmanagementapp.security.dto.JwtResponse;
 import org.example.driverandfleetmanagementapp.security.dto.LoginRequest;
+import org.example.driverandfleetmanagementapp.security.dto.RevokeTokenRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,6 +37,26 @@ public class AuthController {
 
     }
 
+    @RateLimiter(name = "api")
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the token of this request, it is rejected from now on")
+    @ApiResponse(responseCode = "204", description = "Token revoked")
+    @ApiResponse(responseCode = "400", description = "Token has no id and cannot be revoked")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(authorization);
+        return ResponseEntity.noContent().build();
+    }
+
+    @RateLimiter(name = "admin-api")
+    @PostMapping("/revoke")
+    @Operation(summary = "Revoke a token", description = "Revoke any valid token before it expires - ADMIN only")
+    @ApiResponse(responseCode = "204", description = "Token revoked")
+    @ApiResponse(responseCode = "400", description = "Token is invalid, expired or has no id")
+    public ResponseEntity<Void> revoke(@Valid @RequestBody RevokeTokenRequest request) {
+        authService.revoke(request.getToken());
+        return ResponseEntity.noContent().build();
+    }
+
     public ResponseEntity<JwtResponse> loginFallback(LoginRequest loginRequest, Exception ex) {
         return ResponseEntity.status(429)
                 .body(new JwtResponse("Rate limit exceeded. Please try again later."));
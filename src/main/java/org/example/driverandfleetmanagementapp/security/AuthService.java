@@ -1,6 +1,8 @@
 package org.example.driverandfleetmanagementapp.security;
 
 import lombok.RequiredArgsConstructor;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.example.driverandfleetmanagementapp.exception.custom.JwtAuthenticationException;
 import org.example.driverandfleetmanagementapp.security.dto.JwtResponse;
 import org.example.driverandfleetmanagementapp.security.dto.LoginRequest;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +17,7 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
 
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
 
@@ -35,4 +38,18 @@ public class AuthService {
 
         return new JwtResponse(jwt);
     }
-}
\ No newline at end of file
+
+    // the token of the request, already verified by JwtRequestFilter
+    public void logout(String authorizationHeader) {
+        tokenRevocationList.revoke(jwtUtil.verify(authorizationHeader.substring("Bearer ".length())));
+    }
+
+    public void revoke(String token) {
+        try {
+            tokenRevocationList.revoke(jwtUtil.verify(token));
+        } catch (JwtAuthenticationException e) {
+            // an expired or forged token has nothing to revoke
+            throw new BusinessLogicException("Token cannot be revoked: " + e.getMessage());
+        }
+    }
+}
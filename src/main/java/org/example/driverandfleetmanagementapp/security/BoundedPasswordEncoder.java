@@ -0,0 +1,122 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.PasswordProperties;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Computes password hashes on a small pool of its own instead of the request threads. A burst of logins then takes at
+ * most executor.threads cores, the rest of the API keeps the others; the hashes waiting for a thread are bounded by
+ * executor.queue-capacity and a login past it fails at once. The calling thread waits for its hash, with virtual
+ * request threads that wait costs nothing. upgradeEncoding is cheap and stays on the caller, and answers false when
+ * rehashing on login is disabled, so no hash is computed for it.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final boolean upgradeOnLogin;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueTime;
+    private final Timer matchTime;
+    private final Timer encodeTime;
+    private final Counter rejected;
+
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, boolean upgradeOnLogin, PasswordProperties.Executor properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.upgradeOnLogin = upgradeOnLogin;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "password-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.queueTime = Timer.builder("fleet.security.password.queue")
+                .description("Time a password hash waited for a thread of the password executor")
+                .register(meterRegistry);
+        this.matchTime = hashTimer(meterRegistry, "matches");
+        this.encodeTime = hashTimer(meterRegistry, "encode");
+        this.rejected = Counter.builder("fleet.security.password.rejections")
+                .description("Password hashes rejected because the queue of the password executor was full")
+                .register(meterRegistry);
+        Gauge.builder("fleet.security.password.queued", executor.getQueue(), BlockingQueue::size)
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+    }
+
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTime, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchTime, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return upgradeOnLogin && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+
+    private <T> T hash(Timer hashTime, Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueTime.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return hashTime.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hash rejected, {} already waiting", executor.getQueue().size());
+            throw new AuthenticationServiceException("Too many logins in progress, try again later", e);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while waiting for the password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("fleet.security.password.hash")
+                .description("Time to compute a password hash - matches (login) or encode (new and rehashed passwords)")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
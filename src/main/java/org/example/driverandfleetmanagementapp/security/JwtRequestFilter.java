@@ -1,29 +1,58 @@
 package org.example.driverandfleetmanagementapp.security;
 
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.cache.CacheTags;
+import org.example.driverandfleetmanagementapp.config.JwtProperties;
 import org.example.driverandfleetmanagementapp.exception.custom.JwtAuthenticationException;
+import org.springframework.cache.Cache;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.Locale;
 
 
 
+/**
+ * Authenticates requests carrying a valid bearer token that was not revoked. The user behind the token comes from the
+ * role claim of the verified token (jwt.authorities=claims) or from the database through the short-lived "users"
+ * cache, evicted when a user or a role changes. Either way the principal carries no password hash.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
     private final UserDetailsService userDetailsService;
+    private final JwtProperties.AuthoritiesSource authoritiesSource;
+    private final Cache userCache;
+    private final DistributionSummary databaseQueries;
+
+
+    public JwtRequestFilter(JwtUtil jwtUtil, TokenRevocationList tokenRevocationList, UserDetailsService userDetailsService,
+                            JwtProperties.AuthoritiesSource authoritiesSource, Cache userCache, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationList = tokenRevocationList;
+        this.userDetailsService = userDetailsService;
+        this.authoritiesSource = authoritiesSource;
+        this.userCache = userCache;
+        this.databaseQueries = DistributionSummary.builder("fleet.security.filter.database.queries")
+                .description("Database queries JwtRequestFilter ran per authenticated request, 0 when the user came from the token or the cache")
+                .tag("authorities", authoritiesSource.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
 
 
     @Override
@@ -34,19 +63,21 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 
         final String authorizationHeader = request.getHeader("Authorization");
-        String username = null;
+        Claims claims = null;
 
         try {
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                 String jwt = authorizationHeader.substring(7);
 
-                if (jwtUtil.validateToken(jwt)) {
-                    username = jwtUtil.extractUsername(jwt);
+                // one verification per request, usually answered from the cache of verified tokens
+                claims = jwtUtil.verify(jwt);
+                if (tokenRevocationList.isRevoked(claims)) {
+                    throw new JwtAuthenticationException("JWT token has been revoked");
                 }
             }
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = loadUser(claims);
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
@@ -62,4 +93,36 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+
+    private UserDetails loadUser(Claims claims) {
+        String username = claims.getSubject();
+        String role = claims.get("role", String.class);
+        if (authoritiesSource == JwtProperties.AuthoritiesSource.CLAIMS && role != null) {
+            databaseQueries.record(0);
+            return User.withUsername(username)
+                    .password("")
+                    .authorities(role)
+                    .build();
+        }
+
+        // the loader runs on this thread only on a miss, requests waiting for the same user did not query
+        boolean[] queried = {false};
+        try {
+            return userCache.get(CacheTags.user(username), () -> {
+                queried[0] = true;
+                return User.withUserDetails(userDetailsService.loadUserByUsername(username))
+                        .password("")
+                        .build();
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            // a user that no longer exists fails the request like before the cache
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            databaseQueries.record(queried[0] ? 1 : 0);
+        }
+    }
+}
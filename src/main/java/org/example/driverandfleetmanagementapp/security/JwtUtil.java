@@ -1,37 +1,78 @@
 package org.example.driverandfleetmanagementapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.driverandfleetmanagementapp.config.JwtProperties;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.SignatureException;
 import org.example.driverandfleetmanagementapp.exception.custom.JwtAuthenticationException;
 
 
 
+/**
+ * Issues and verifies the HS256 tokens of the API. The key and the parser are built once; a token that passed
+ * verification is remembered by its SHA-256 hash together with its claims until it expires, so the requests of a
+ * client carrying the same token skip parsing and the HMAC check. Only verified tokens enter the cache, garbage
+ * cannot fill it. The cached claims are shared between requests and must not be modified.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    private final long expirationMillis;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
 
-    @Value("${jwt.expiration}")
-    private long EXPIRATION_TIME;
 
-
-    private Key getSigningKey() {
-        if (SECRET_KEY.length() < 32) {
+    public JwtUtil(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        String secret = jwtProperties.getSecret();
+        if (secret == null || secret.length() < 32) {
             throw new IllegalArgumentException("JWT key must have minimum 32 characters!");
         }
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        this.expirationMillis = jwtProperties.getExpiration() * 1000;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        long maximumSize = jwtProperties.getCache().getMaximumSize();
+        if (maximumSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfter(Expiry.<String, Claims>creating((hash, claims) ->
+                            Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                    .recordStats()
+                    .build();
+            // own names - the cache.* meters of the cache manager carry tag keys this cache does not have
+            verifications(meterRegistry, "hit", cache -> cache.stats().hitCount());
+            verifications(meterRegistry, "miss", cache -> cache.stats().missCount());
+            Gauge.builder("fleet.security.jwt.cache.size", verifiedTokens, Cache::estimatedSize)
+                    .description("Verified tokens in the cache")
+                    .register(meterRegistry);
+        } else {
+            this.verifiedTokens = null;
+        }
     }
 
     public String generateToken(String username, String role) {
@@ -42,13 +83,14 @@ public class JwtUtil {
 
 
     private String createToken(Map<String, Object> claims, String subject) {
-        long expirationTimeMillis = EXPIRATION_TIME * 1000;
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                // identifies the token for a revocation
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTimeMillis))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -57,17 +99,21 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    // the claims of a valid token, a JwtAuthenticationException for anything else
+    public Claims verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        return verifiedTokens.get(hash(token), hash -> parse(token));
+    }
+
+    Claims parse(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new JwtAuthenticationException("JWT token has expired");
         } catch (MalformedJwtException e) {
@@ -80,9 +126,25 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
-        Claims claims = extractAllClaims(token);
+        Claims claims = verify(token);
         return !claims.getExpiration().before(new Date());
     }
 
 
-}
\ No newline at end of file
+    private void verifications(MeterRegistry meterRegistry, String result, ToDoubleFunction<Cache<String, Claims>> count) {
+        FunctionCounter.builder("fleet.security.jwt.cache.requests", verifiedTokens, count)
+                .description("Token verifications by whether the cache of verified tokens answered them - hit or miss (parsed and verified)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // the cache does not hold bearer tokens themselves
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
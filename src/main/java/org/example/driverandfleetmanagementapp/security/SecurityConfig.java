@@ -1,7 +1,13 @@
 package org.example.driverandfleetmanagementapp.security;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.example.driverandfleetmanagementapp.config.JwtProperties;
+import org.example.driverandfleetmanagementapp.config.PasswordProperties;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,14 +18,19 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import java.util.Locale;
+import java.util.Map;
 
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({JwtProperties.class, PasswordProperties.class})
 public class SecurityConfig {
 
 
@@ -29,14 +40,20 @@ public class SecurityConfig {
 
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil, UserDetailsService userDetailsService) throws Exception {
-        JwtRequestFilter jwtRequestFilter = new JwtRequestFilter(jwtUtil, userDetailsService);
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil, TokenRevocationList tokenRevocationList,
+                                                   UserDetailsService userDetailsService, JwtProperties jwtProperties,
+                                                   CacheManager cacheManager, MeterRegistry meterRegistry) throws Exception {
+        JwtRequestFilter jwtRequestFilter = new JwtRequestFilter(jwtUtil, tokenRevocationList, userDetailsService,
+                jwtProperties.getAuthorities(), cacheManager.getCache("users"), meterRegistry);
 
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Ważne dla JWT!
                 .authorizeHttpRequests(auth -> {
+                    // the async dispatch that writes a Mono's result was authorized as the request that started it
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
+
                     auth.requestMatchers(
                             "/",
                             "/swagger-ui/**",
@@ -56,6 +73,10 @@ public class SecurityConfig {
 
                     auth.requestMatchers("/api/audit/**").hasRole("ADMIN")
                             .requestMatchers(HttpMethod.GET, "/api/**").hasAnyRole("USER", "ADMIN")
+                            // a read despite the POST, the list of cities is the body
+                            .requestMatchers(HttpMethod.POST, "/api/weather/batch").hasAnyRole("USER", "ADMIN")
+                            // everyone may revoke their own token, revoking others' stays with ADMIN
+                            .requestMatchers(HttpMethod.POST, "/api/auth/logout").authenticated()
                             .requestMatchers("/api/**").hasRole("ADMIN")
                             .anyRequest().authenticated();
                 })
@@ -66,9 +87,18 @@ public class SecurityConfig {
 
 
 
+    // hashes carry the {id} of their algorithm, the seed users' BCrypt hashes have none and are rehashed on login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties, MeterRegistry meterRegistry) {
+        PasswordProperties.Argon2 argon2 = passwordProperties.getArgon2();
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(passwordProperties.getBcrypt().getStrength()),
+                "argon2", new Argon2PasswordEncoder(16, 32, argon2.getParallelism(), argon2.getMemoryKib(), argon2.getIterations()));
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(
+                passwordProperties.getAlgorithm().name().toLowerCase(Locale.ROOT), encoders);
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return new BoundedPasswordEncoder(delegatingEncoder, passwordProperties.isUpgradeOnLogin(),
+                passwordProperties.getExecutor(), meterRegistry);
     }
 
 
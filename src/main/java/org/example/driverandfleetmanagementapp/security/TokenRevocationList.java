@@ -0,0 +1,128 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Tokens revoked before their expiry, by their jti claim. The revoked_tokens table is the source of truth shared by
+ * all nodes; each node keeps the unexpired jtis in a hash map and checks every authenticated request against it.
+ * That check is one lookup of a string whose hash is already cached, since the claims come from JwtUtil's cache of
+ * verified tokens. A revocation is stored, applied locally and broadcast over the cache invalidation bus. A node that
+ * may have missed messages reloads the table. Rows and entries are dropped once their tokens would have expired.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // bus messages carry the jti and the expiry, "revokedToken:<jti>:<epoch millis>"
+    static final String TAG_PREFIX = "revokedToken:";
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO revoked_tokens (jti, username, expires_at, revoked_at)
+            SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM revoked_tokens WHERE jti = ?)
+            """;
+    private static final String UNEXPIRED_SQL = "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?";
+    private static final String CLEANUP_SQL = "DELETE FROM revoked_tokens WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public TokenRevocationList(JdbcTemplate jdbcTemplate, CacheInvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidationBus = invalidationBus;
+        this.rejected = Counter.builder("fleet.security.jwt.revoked.rejections")
+                .description("Requests rejected because their token was revoked")
+                .register(meterRegistry);
+        Gauge.builder("fleet.security.jwt.revoked.tokens", revoked, Map::size)
+                .description("Revoked tokens not expired yet, held in memory")
+                .register(meterRegistry);
+
+        invalidationBus.subscribe(new CacheInvalidationBus.Subscriber() {
+            @Override
+            public void onInvalidate(String origin, Collection<String> tags) {
+                if (!nodeId.equals(origin)) {
+                    tags.stream().filter(tag -> tag.startsWith(TAG_PREFIX)).forEach(TokenRevocationList.this::apply);
+                }
+            }
+
+            @Override
+            public void onMessagesMissed() {
+                load();
+            }
+        });
+    }
+
+
+    // before the first request rather than on ApplicationReadyEvent, the web server already accepts requests then
+    @PostConstruct
+    public void load() {
+        List<Map.Entry<String, Instant>> rows = jdbcTemplate.query(UNEXPIRED_SQL,
+                (rs, rowNum) -> Map.entry(rs.getString(1), rs.getTimestamp(2).toInstant()),
+                Timestamp.from(Instant.now()));
+        rows.forEach(row -> revoked.put(row.getKey(), row.getValue()));
+        log.info("Loaded {} revoked token(s)", rows.size());
+    }
+
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            throw new BusinessLogicException("Token has no id and cannot be revoked, it expires at " + claims.getExpiration().toInstant());
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        jdbcTemplate.update(INSERT_IF_ABSENT_SQL, jti, claims.getSubject(), Timestamp.from(expiresAt), Timestamp.from(Instant.now()), jti);
+        revoked.put(jti, expiresAt);
+        invalidationBus.publish(nodeId, List.of(TAG_PREFIX + jti + ":" + expiresAt.toEpochMilli()));
+        log.info("Revoked token {} of user {}", jti, claims.getSubject());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti != null && revoked.containsKey(jti)) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Scheduled(cron = "${jwt.revocation.cleanup-cron:0 */15 * * * *}")
+    public int deleteExpired() {
+        Instant now = Instant.now();
+        // every node prunes its own entries, the rows go with whichever node runs first
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        int deleted = jdbcTemplate.update(CLEANUP_SQL, Timestamp.from(now));
+        if (deleted > 0) {
+            log.info("Deleted {} expired revoked token(s)", deleted);
+        }
+        return deleted;
+    }
+
+
+    private void apply(String tag) {
+        int separator = tag.lastIndexOf(':');
+        try {
+            revoked.put(tag.substring(TAG_PREFIX.length(), separator), Instant.ofEpochMilli(Long.parseLong(tag.substring(separator + 1))));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed token revocation {}", tag, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.driverandfleetmanagementapp.security.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+
+@Data
+@RequiredArgsConstructor
+public class RevokeTokenRequest {
+
+    @NotBlank(message = "Token is required")
+    private final String token;
+}
@@ -3,14 +3,19 @@ package org.example.driverandfleetmanagementapp.security.user;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 
 @Entity
 @Table(name = "app_users")
+@EntityListeners(UserCacheInvalidator.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,11 +31,24 @@ public class AppUser {
     @Size(min = 3, max = 30)
     private String username;
 
+    // {id}-prefixed, e.g. {bcrypt}, or a bare BCrypt hash of the seed data
     @NotBlank
-    @Size(min = 60, max = 60)
+    @Size(min = 60, max = 255)
     private String passwordHash;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
+
+    // the username as read from the database, a rename evicts the cache entry under the old name
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedUsername;
+
+    @PostLoad
+    void rememberLoadedUsername() {
+        this.loadedUsername = username;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,20 @@
 package org.example.driverandfleetmanagementapp.security.user;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class DatabaseUserDetailsService implements UserDetailsService {
+public class DatabaseUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AppUserRepository userRepository;
 
@@ -25,4 +29,17 @@ public class DatabaseUserDetailsService implements UserDetailsService {
                 .roles(user.getRole().getName())
                 .build();
     }
+
+    // called after a successful login whose stored hash is outdated, see fleet.password.upgrade-on-login
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(appUser -> {
+            appUser.setPasswordHash(newPassword);
+            log.info("Rehashed the password of user {}", appUser.getUsername());
+        });
+        return User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
\ No newline at end of file
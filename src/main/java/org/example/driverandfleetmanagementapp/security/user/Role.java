@@ -1,13 +1,18 @@
 package org.example.driverandfleetmanagementapp.security.user;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 
 @Entity
 @Table(name = "roles")
+@EntityListeners(UserCacheInvalidator.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,4 +25,15 @@ public class Role {
     @Column(nullable = false, unique = true)
     private String name;
 
+    // the name as read from the database, a rename evicts the users cached with the old one
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedName;
+
+    @PostLoad
+    void rememberLoadedName() {
+        this.loadedName = name;
+    }
 }
@@ -0,0 +1,46 @@
+package org.example.driverandfleetmanagementapp.security.user;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.CacheTags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Entity listener of AppUser and Role: a changed or deleted user or role evicts the cached users it affects, on this
+ * node right away and on the others after commit. Changes made outside JPA are picked up when the entries expire.
+ */
+@Component
+public class UserCacheInvalidator {
+
+    // absent in slices without the cache, @DataJpaTest
+    private final ObjectProvider<CacheInvalidationService> cacheInvalidationService;
+
+    public UserCacheInvalidator(ObjectProvider<CacheInvalidationService> cacheInvalidationService) {
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+
+
+    @PostUpdate
+    @PostRemove
+    void evict(Object entity) {
+        Set<String> tags = new HashSet<>();
+        if (entity instanceof AppUser user) {
+            // a renamed user is cached under the name it was loaded with
+            tags.add(CacheTags.user(user.getUsername()));
+            if (user.getLoadedUsername() != null) {
+                tags.add(CacheTags.user(user.getLoadedUsername()));
+            }
+        } else if (entity instanceof Role role) {
+            tags.add(CacheTags.role("ROLE_" + role.getName()));
+            if (role.getLoadedName() != null) {
+                tags.add(CacheTags.role("ROLE_" + role.getLoadedName()));
+            }
+        }
+        cacheInvalidationService.ifAvailable(service -> service.invalidate(tags));
+    }
+}
@@ -4,6 +4,8 @@ package org.example.driverandfleetmanagementapp.service.assignment;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.example.driverandfleetmanagementapp.audit.Auditable;
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.CacheTags;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
 import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
@@ -11,11 +13,11 @@ import org.example.driverandfleetmanagementapp.exception.custom.ResourceNotFound
 import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
 import org.example.driverandfleetmanagementapp.model.Driver;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.DriverAssignmentChanged;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
 import org.example.driverandfleetmanagementapp.repository.DriverRepository;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
 import org.example.driverandfleetmanagementapp.utilis.LicenseValidator;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,18 +31,14 @@ public class AssignmentServiceImpl implements AssignmentService {
     private final DriverRepository driverRepository;
     private final VehicleRepository vehicleRepository;
     private final DriverMapper driverMapper;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final OutboxPublisher outboxPublisher;
 
 
 
     @Override
     @Timed("fleet.assignment.create.time")
     @Auditable(entity = "VEHICLE", action = "DRIVER_ASSIGNMENT")
-    @Caching(evict = {
-            @CacheEvict(value = "drivers", key = "'driver:' + #driverId"),
-            @CacheEvict(value = "vehicles", key = "'vehicle:' + #vehicleId"),
-            @CacheEvict(value = "vehicles", key = "'driver:' + #driverId"),
-            @CacheEvict(value = "drivers", key = "'vehicle:' + #vehicleId")
-    })
     public DriverDto assignVehicleToDriver(Long driverId, Long vehicleId) {
         Driver driver = driverRepository.findById(driverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + driverId + " not found"));
@@ -70,6 +68,9 @@ public class AssignmentServiceImpl implements AssignmentService {
         vehicle.setDriver(driver);
         driver.getVehicles().add(vehicle);
         vehicle.setStatus(Vehicle.VehicleStatus.IN_USE);
+        outboxPublisher.publishDomainEvent("VEHICLE", vehicleId, DriverAssignmentChanged.ASSIGNED,
+                new DriverAssignmentChanged(vehicleId, driverId, vehicle.getStatus(), driver.getStatus()));
+        cacheInvalidationService.invalidate(CacheTags.driver(driverId), CacheTags.vehicle(vehicleId));
         return driverMapper.toDto(driver);
     }
 
@@ -79,12 +80,6 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     @Timed("fleet.assignment.remove.time")
     @Auditable(entity = "VEHICLE", action = "DRIVER_UNASSIGNMENT")
-    @Caching(evict = {
-            @CacheEvict(value = "drivers", key = "'driver:' + #driverId"),
-            @CacheEvict(value = "vehicles", key = "'vehicle:' + #vehicleId"),
-            @CacheEvict(value = "vehicles", key = "'driver:' + #driverId"),
-            @CacheEvict(value = "drivers", key = "'vehicle:' + #vehicleId")
-    })
     public DriverDto removeVehicleFromDriver(Long driverId, Long vehicleId) {
         Driver driver = driverRepository.findById(driverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + driverId + " not found"));
@@ -105,6 +100,9 @@ public class AssignmentServiceImpl implements AssignmentService {
         if (driver.getVehicles().isEmpty()) {
             driver.setStatus(Driver.DriverStatus.INACTIVE);
         }
+        outboxPublisher.publishDomainEvent("VEHICLE", vehicleId, DriverAssignmentChanged.UNASSIGNED,
+                new DriverAssignmentChanged(vehicleId, driverId, vehicle.getStatus(), driver.getStatus()));
+        cacheInvalidationService.invalidate(CacheTags.driver(driverId), CacheTags.vehicle(vehicleId));
 
 
         return driverMapper.toDto(driver);
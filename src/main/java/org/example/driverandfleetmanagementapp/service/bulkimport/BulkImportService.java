@@ -0,0 +1,18 @@
+package org.example.driverandfleetmanagementapp.service.bulkimport;
+
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+
+public interface BulkImportService {
+
+    ImportReport importVehicles(List<VehicleDto> vehicles);
+    ImportReport importVehicles(InputStream ndjson) throws IOException;
+
+    ImportReport importDrivers(List<DriverDto> drivers);
+    ImportReport importDrivers(InputStream ndjson) throws IOException;
+}
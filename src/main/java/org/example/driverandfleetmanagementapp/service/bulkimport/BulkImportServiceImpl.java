@@ -0,0 +1,270 @@
+package org.example.driverandfleetmanagementapp.service.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.audit.AuditLog;
+import org.example.driverandfleetmanagementapp.audit.AuditWriter;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowStatus;
+import org.example.driverandfleetmanagementapp.service.driver.DriverService;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+
+/**
+ * Validates submitted rows against the DTO constraints, drops duplicates within the import and hands the rest
+ * to the entity services in chunks - one transaction, one uniqueness query and a few JDBC batches per chunk.
+ * NDJSON bodies are read line by line, only the current chunk and the per-row report are held in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportServiceImpl implements BulkImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final VehicleService vehicleService;
+    private final DriverService driverService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AuditWriter auditWriter;
+    private final MeterRegistry meterRegistry;
+
+
+    @Override
+    public ImportReport importVehicles(List<VehicleDto> vehicles) {
+        return importRows(vehicleImport(), numbered(vehicles));
+    }
+
+    @Override
+    public ImportReport importVehicles(InputStream ndjson) throws IOException {
+        try (BufferedReader reader = reader(ndjson)) {
+            return importRows(vehicleImport(), parsed(reader, VehicleDto.class));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public ImportReport importDrivers(List<DriverDto> drivers) {
+        return importRows(driverImport(), numbered(drivers));
+    }
+
+    @Override
+    public ImportReport importDrivers(InputStream ndjson) throws IOException {
+        try (BufferedReader reader = reader(ndjson)) {
+            return importRows(driverImport(), parsed(reader, DriverDto.class));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+
+    private EntityImport<VehicleDto> vehicleImport() {
+        return new EntityImport<>("VEHICLE", VehicleDto::getLicensePlate, vehicleService::importVehicles);
+    }
+
+    private EntityImport<DriverDto> driverImport() {
+        return new EntityImport<>("DRIVER", DriverDto::getLicenseNumber, driverService::importDrivers);
+    }
+
+    private <D> ImportReport importRows(EntityImport<D> entity, Iterator<ParsedRow<D>> rows) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<ImportRowResult> results = new ArrayList<>();
+        Map<String, Integer> firstRowByKey = new HashMap<>();
+        List<ImportRow<D>> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (rows.hasNext()) {
+            ParsedRow<D> parsed = rows.next();
+            if (parsed.error() != null) {
+                results.add(ImportRowResult.invalid(parsed.row(), null, List.of(parsed.error())));
+                continue;
+            }
+            String key = entity.key().apply(parsed.value());
+            List<String> violations = violations(parsed.value());
+            if (!violations.isEmpty()) {
+                results.add(ImportRowResult.invalid(parsed.row(), key, violations));
+                continue;
+            }
+            Integer firstRow = firstRowByKey.putIfAbsent(key, parsed.row());
+            if (firstRow != null) {
+                results.add(ImportRowResult.duplicate(parsed.row(), key, "Duplicate of row " + firstRow + " in this import"));
+                continue;
+            }
+            chunk.add(new ImportRow<>(parsed.row(), parsed.value()));
+            if (chunk.size() == CHUNK_SIZE) {
+                results.addAll(importChunk(entity, chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(entity, chunk));
+        }
+
+        ImportReport report = ImportReport.of(results);
+        String tag = entity.type().toLowerCase();
+        sample.stop(meterRegistry.timer("fleet.import.duration", "entity", tag));
+        for (ImportRowStatus status : ImportRowStatus.values()) {
+            long count = results.stream().filter(r -> r.status() == status).count();
+            meterRegistry.counter("fleet.import.rows", "entity", tag, "status", status.name().toLowerCase()).increment(count);
+        }
+        log.info("Bulk import of {}s: {} rows, {} created, {} duplicates, {} invalid", tag,
+                report.total(), report.created(), report.duplicates(), report.invalid());
+        return report;
+    }
+
+    private <D> List<ImportRowResult> importChunk(EntityImport<D> entity, List<ImportRow<D>> chunk) {
+        List<ImportRowResult> results;
+        try {
+            results = entity.importer().apply(List.copyOf(chunk));
+        } catch (DataIntegrityViolationException e) {
+            // a row inserted concurrently since the uniqueness check - isolate it by retrying the chunk row by row
+            log.warn("Bulk import chunk of {} {} rows hit a constraint, retrying row by row", chunk.size(), entity.type());
+            results = new ArrayList<>(chunk.size());
+            for (ImportRow<D> row : chunk) {
+                try {
+                    results.addAll(entity.importer().apply(List.of(row)));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    results.add(ImportRowResult.duplicate(row.row(), entity.key().apply(row.value()),
+                            "Rejected by a database constraint: " + rowFailure.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        audit(entity.type(), results);
+        return results;
+    }
+
+    // handed to the background writer in one go instead of the per-call @Auditable record
+    private void audit(String entityType, List<ImportRowResult> results) {
+        try {
+            String userId = currentUser();
+            LocalDateTime now = LocalDateTime.now();
+            List<AuditLog> audits = results.stream()
+                    .filter(result -> result.status() == ImportRowStatus.CREATED)
+                    .map(result -> AuditLog.builder()
+                            .entityType(entityType)
+                            .entityId(result.id())
+                            .action("CREATE")
+                            .userId(userId)
+                            .timestamp(now)
+                            .build())
+                    .toList();
+            if (!audits.isEmpty()) {
+                auditWriter.submitAll(audits);
+            }
+        } catch (Exception e) {
+            log.warn("Audit failed: {}", e.getMessage());
+        }
+    }
+
+    private <D> List<String> violations(D value) {
+        return validator.validate(value).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "system";
+    }
+
+
+    private static <D> Iterator<ParsedRow<D>> numbered(List<D> values) {
+        Iterator<D> iterator = values.iterator();
+        return new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public ParsedRow<D> next() {
+                D value = iterator.next();
+                row++;
+                return value != null ? new ParsedRow<>(row, value, null) : new ParsedRow<>(row, null, "Empty row");
+            }
+        };
+    }
+
+    // one JSON document per non-blank line, a malformed line only invalidates its own row
+    private <D> Iterator<ParsedRow<D>> parsed(BufferedReader reader, Class<D> type) {
+        return new Iterator<>() {
+            private int row;
+            private String line;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (line == null) {
+                        line = reader.readLine();
+                        if (line == null) {
+                            return false;
+                        }
+                        if (line.isBlank()) {
+                            line = null;
+                        }
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public ParsedRow<D> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String current = line;
+                line = null;
+                row++;
+                try {
+                    return new ParsedRow<>(row, objectMapper.readValue(current, type), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow<>(row, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+
+    private record ParsedRow<D>(int row, D value, String error) {
+    }
+
+    private record EntityImport<D>(String type, Function<D, String> key,
+                                   Function<List<ImportRow<D>>, List<ImportRowResult>> importer) {
+    }
+}
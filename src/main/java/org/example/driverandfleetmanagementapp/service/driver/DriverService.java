@@ -1,9 +1,14 @@
 package org.example.driverandfleetmanagementapp.service.driver;
 
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
 import org.example.driverandfleetmanagementapp.model.Driver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.List;
 
 
 public interface DriverService {
@@ -17,10 +22,16 @@ public interface DriverService {
     Page<DriverDto> getDriversByStatus(Driver.DriverStatus status, Pageable pageable);
     Page<DriverDto> getDriversByLicenseType(Driver.LicenseType licenseType, Pageable pageable);
 
+    CursorPage<DriverDto> scrollDrivers(CursorPageRequest request);
+    CursorPage<DriverDto> scrollDriversByStatus(Driver.DriverStatus status, CursorPageRequest request);
+
     DriverDto createDriver(DriverDto driverDTO);
     DriverDto updateDriver(Long id, DriverDto driverDTO);
     DriverDto updateDriverStatus(Long id, Driver.DriverStatus status);
     void deleteDriver(Long id);
 
+    // bulk import - one chunk of already validated rows, inserted in JDBC batches within a single transaction
+    List<ImportRowResult> importDrivers(List<ImportRow<DriverDto>> rows);
+
 
 }
\ No newline at end of file
@@ -5,7 +5,15 @@ package org.example.driverandfleetmanagementapp.service.driver;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.example.driverandfleetmanagementapp.audit.Auditable;
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.CacheTags;
+import org.example.driverandfleetmanagementapp.cache.NegativeLookupCache;
+import org.example.driverandfleetmanagementapp.cache.PageCacheKey;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
 import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceNotFoundException;
@@ -14,13 +22,21 @@ import org.example.driverandfleetmanagementapp.model.Driver;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
 import org.example.driverandfleetmanagementapp.repository.DriverRepository;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.utilis.KeysetCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -32,12 +48,19 @@ public class DriverServiceImpl implements DriverService {
     private final DriverRepository driverRepository;
     private final VehicleRepository vehicleRepository;
     private final DriverMapper driverMapper;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final NegativeLookupCache negativeLookupCache;
+
+    // NOT NULL columns with a (column, id) index only - a null sort key would break the keyset predicate, any other
+    // column is sorted in full for every page; within a status only (status, id) exists
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "lastName", "licenseNumber");
+    private static final Set<String> STATUS_KEYSET_SORT_PROPERTIES = Set.of("id");
 
 
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "drivers", key = "'driver:' + #id")
+    @Cacheable(value = "drivers", key = "'driver:' + #id", sync = true)
     public DriverDto getDriverById(Long id) {
         Driver driver = driverRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + id + " not found"));
@@ -47,9 +70,10 @@ public class DriverServiceImpl implements DriverService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "drivers", key = "'license:' + #licenseNumber")
+    @Cacheable(value = "driversByLicense", key = "'license:' + #licenseNumber", sync = true)
     public DriverDto getDriverByLicenseNumber(String licenseNumber) {
-        Driver driver = driverRepository.findByLicenseNumber(licenseNumber)
+        Driver driver = negativeLookupCache.lookup(NegativeLookupCache.DRIVER_LICENSE_MISSES, CacheTags.license(licenseNumber),
+                        () -> driverRepository.findByLicenseNumber(licenseNumber))
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with license number " + licenseNumber + " not found"));
         return driverMapper.toDto(driver);
     }
@@ -70,7 +94,24 @@ public class DriverServiceImpl implements DriverService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "drivers", key = "'vehicle:' + #vehicleId")
+    public CursorPage<DriverDto> scrollDrivers(CursorPageRequest request) {
+        Window<Driver> window = driverRepository.findBy(KeysetCursor.decode(request, Driver.class),
+                Limit.of(request.limit()), KeysetCursor.sort(request, KEYSET_SORT_PROPERTIES));
+        return KeysetCursor.page(window, toDtosWithVehicles(window.getContent()), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DriverDto> scrollDriversByStatus(Driver.DriverStatus status, CursorPageRequest request) {
+        Window<Driver> window = driverRepository.findByStatus(status, KeysetCursor.decode(request, Driver.class),
+                Limit.of(request.limit()), KeysetCursor.sort(request, STATUS_KEYSET_SORT_PROPERTIES));
+        return KeysetCursor.page(window, toDtosWithVehicles(window.getContent()), request);
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "drivers", key = "'vehicle:' + #vehicleId", sync = true)
     public DriverDto getDriverByVehicleId(Long vehicleId) {
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle with ID " + vehicleId + " not found"));
@@ -84,7 +125,7 @@ public class DriverServiceImpl implements DriverService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "drivers", key = "'name:' + #firstName + ':' + #lastName")
+    @Cacheable(value = "driverPages", keyGenerator = "pageKeyGenerator")
     public Page<DriverDto> getDriversByFirstAndLastName(String firstName, String lastName, Pageable pageable) {
         return driverRepository.findByFirstNameAndLastName(firstName, lastName, pageable)
                 .map(driverMapper::toDto);
@@ -92,7 +133,7 @@ public class DriverServiceImpl implements DriverService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "drivers", key = "'licenseType:' + #licenseType")
+    @Cacheable(value = "driverPages", keyGenerator = "pageKeyGenerator")
     public Page<DriverDto> getDriversByLicenseType(Driver.LicenseType licenseType, Pageable pageable) {
         return driverRepository.findByLicenseType(licenseType, pageable).map(driverMapper::toDto);
     }
@@ -106,23 +147,17 @@ public class DriverServiceImpl implements DriverService {
             throw new ResourceConflictException("Driver with license number " + driverDto.getLicenseNumber() + " already exists");
         }
 
-        if (driverDto.getStatus() != Driver.DriverStatus.ACTIVE){
-            throw new BusinessLogicException("New drivers must be created with ACTIVE status");
-        }
+        validateNewDriver(driverDto);
 
         Driver driver = driverMapper.toEntity(driverDto);
         driver = driverRepository.save(driver);
+        cacheInvalidationService.invalidate(membershipTags(driver));
         return driverMapper.toDto(driver);
     }
 
     @Override
     @Timed("fleet.driver.update.time")
-    @Auditable(entity = "DRIVER", action = "UPDATE")
-    @Caching(evict = {
-            @CacheEvict(value = "drivers", key = "'driver:' + #id"),
-            @CacheEvict(value = "drivers", key = "'licenseType:' + #driverDto.licenseType"),
-            @CacheEvict(value = "vehicles", key = "'driver:' + #id")
-    })
+    @Auditable(entity = "DRIVER", action = "UPDATE", captureChanges = true)
     public DriverDto updateDriver(Long id, DriverDto driverDto) {
         Driver driver = driverRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + id + " not found"));
@@ -133,19 +168,21 @@ public class DriverServiceImpl implements DriverService {
                     throw new ResourceConflictException("License number " + driverDto.getLicenseNumber() + " already in use" +d.getId());
                 });
 
+        Set<String> tags = membershipTags(driver); // pages the driver leaves
         driverMapper.updateDriverFromDto(driverDto, driver);
-
+        tags.addAll(membershipTags(driver)); // pages the driver joins
+        cacheInvalidationService.invalidate(tags);
 
         return driverMapper.toDto(driver);
     }
 
     @Override
-    @Auditable(entity = "DRIVER", action = "STATUS_CHANGE")
-    @CacheEvict(value = "drivers", key = "'driver:' + #id")
+    @Auditable(entity = "DRIVER", action = "STATUS_CHANGE", captureChanges = true)
     public DriverDto updateDriverStatus(Long id, Driver.DriverStatus status) {
         Driver driver = driverRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + id + " not found"));
         driver.setStatus(status);
+        cacheInvalidationService.invalidate(CacheTags.driver(id));
         return driverMapper.toDto(driver);
     }
 
@@ -153,10 +190,6 @@ public class DriverServiceImpl implements DriverService {
     @Override
     @Timed("fleet.driver.delete.time")
     @Auditable(entity = "DRIVER", action = "DELETE")
-    @Caching(evict = {
-            @CacheEvict(value = "drivers", allEntries = true),
-            @CacheEvict(value = "vehicles", allEntries = true)
-    })
     public void deleteDriver(Long id) {
         Driver driver = driverRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + id + " not found"));
@@ -171,7 +204,78 @@ public class DriverServiceImpl implements DriverService {
                     ". Driver must be INACTIVE or SUSPENDED before deletion.");
         }
         driverRepository.delete(driver);
+        cacheInvalidationService.invalidate(membershipTags(driver));
+
+    }
+
+
+    // Loads the vehicles of the whole window in one query instead of one per driver, keeps the window order
+    private List<DriverDto> toDtosWithVehicles(List<Driver> drivers) {
+        if (drivers.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Driver> withVehicles = driverRepository.findByIdIn(drivers.stream().map(Driver::getId).toList()).stream()
+                .collect(Collectors.toMap(Driver::getId, Function.identity()));
+        return drivers.stream()
+                .map(driver -> driverMapper.toDto(withVehicles.getOrDefault(driver.getId(), driver)))
+                .toList();
+    }
+
+    @Override
+    @Timed("fleet.driver.import.time")
+    public List<ImportRowResult> importDrivers(List<ImportRow<DriverDto>> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<String> existingLicenses = driverRepository.findExistingLicenseNumbers(
+                rows.stream().map(row -> row.value().getLicenseNumber()).toList());
+
+        List<ImportRowResult> results = new ArrayList<>(rows.size());
+        List<ImportRow<Driver>> accepted = new ArrayList<>(rows.size());
+        for (ImportRow<DriverDto> row : rows) {
+            String licenseNumber = row.value().getLicenseNumber();
+            if (existingLicenses.contains(licenseNumber)) {
+                results.add(ImportRowResult.duplicate(row.row(), licenseNumber, "Driver with license number " + licenseNumber + " already exists"));
+                continue;
+            }
+            try {
+                validateNewDriver(row.value());
+            } catch (BusinessLogicException e) {
+                results.add(ImportRowResult.invalid(row.row(), licenseNumber, List.of(e.getMessage())));
+                continue;
+            }
+            Driver driver = driverMapper.toEntity(row.value());
+            driver.setId(null); // always a new row, a client supplied id would turn persist into merge
+            accepted.add(new ImportRow<>(row.row(), driver));
+        }
+
+        // ids come from the pooled sequence, the inserts go out in JDBC batches on flush
+        driverRepository.saveAll(accepted.stream().map(ImportRow::value).toList());
+        driverRepository.flush();
+
+        Set<String> tags = new HashSet<>();
+        for (ImportRow<Driver> row : accepted) {
+            results.add(ImportRowResult.created(row.row(), row.value().getLicenseNumber(), row.value().getId()));
+            tags.addAll(membershipTags(row.value()));
+        }
+        cacheInvalidationService.invalidate(tags);
+        return results;
+    }
+
+    private void validateNewDriver(DriverDto driverDto) {
+        if (driverDto.getStatus() != Driver.DriverStatus.ACTIVE){
+            throw new BusinessLogicException("New drivers must be created with ACTIVE status");
+        }
+    }
 
+    // Entries showing the driver, its license lookup and every cached page query it belongs to
+    private Set<String> membershipTags(Driver driver) {
+        Set<String> tags = new HashSet<>();
+        tags.add(CacheTags.driver(driver.getId()));
+        tags.add(CacheTags.license(driver.getLicenseNumber()));
+        tags.add(PageCacheKey.queryTag("getDriversByFirstAndLastName", driver.getFirstName(), driver.getLastName()));
+        tags.add(PageCacheKey.queryTag("getDriversByLicenseType", driver.getLicenseType()));
+        return tags;
     }
 
 }
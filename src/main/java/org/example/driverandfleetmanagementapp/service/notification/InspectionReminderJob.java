@@ -0,0 +1,220 @@
+package org.example.driverandfleetmanagementapp.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderRunDto;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
+import org.example.driverandfleetmanagementapp.exception.custom.ResourceNotFoundException;
+import org.example.driverandfleetmanagementapp.model.InspectionReminderRun;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.repository.InspectionReminderRunRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Inspection reminders for the whole fleet, not just one page. Due vehicles are read in keyset batches on
+ * (technical_inspection_date, id); each batch is written to the outbox in the same transaction that moves the run's
+ * watermark past it, so a run cut short by a restart is resumed on startup from exactly where it stopped - no
+ * vehicle skipped, none queued twice. Reminders already in the InspectionReminderLedger (an earlier run, a manual
+ * request) are left out. Delivery, with its retries and concurrency limits, is up to the OutboxRelay.
+ */
+@Slf4j
+@Service
+public class InspectionReminderJob {
+
+    public static final String SCHEDULER = "scheduler";
+    private static final Sort BATCH_ORDER = Sort.by("technicalInspectionDate", "id");
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final VehicleRepository vehicleRepository;
+    private final InspectionReminderRunRepository runRepository;
+    private final NotificationService notificationService;
+    private final NotificationProperties.InspectionReminder properties;
+    private final TransactionTemplate transactionTemplate;
+    // one run at a time per instance
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    public InspectionReminderJob(VehicleRepository vehicleRepository, InspectionReminderRunRepository runRepository,
+                                 NotificationService notificationService, NotificationProperties notificationProperties,
+                                 PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.runRepository = runRepository;
+        this.notificationService = notificationService;
+        this.properties = notificationProperties.getInspectionReminder();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+
+    public InspectionReminderRunDto start(int days, String triggeredBy) {
+        if (days < 0) {
+            throw new BusinessLogicException("'days' must not be negative");
+        }
+        if (!busy.compareAndSet(false, true)) {
+            throw new ResourceConflictException("An inspection reminder run is already in progress");
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDateTime now = LocalDateTime.now();
+            InspectionReminderRun run = runRepository.save(InspectionReminderRun.builder()
+                    .status(InspectionReminderRun.RunStatus.RUNNING)
+                    .triggeredBy(triggeredBy)
+                    .windowStart(today)
+                    .windowEnd(today.plusDays(days))
+                    .totalVehicles(vehicleRepository.countByTechnicalInspectionDateBetween(today, today.plusDays(days)))
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build());
+            launch(run);
+            return toDto(run);
+        } catch (RuntimeException e) {
+            busy.set(false);
+            throw e;
+        }
+    }
+
+    public InspectionReminderRunDto getRun(Long id) {
+        return runRepository.findById(id)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Inspection reminder run with ID " + id + " not found"));
+    }
+
+    public InspectionReminderRunDto getLatestRun() {
+        return runRepository.findFirstByOrderByIdDesc()
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("No inspection reminder run found"));
+    }
+
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+
+    @Scheduled(cron = "${fleet.notifications.inspection-reminder.cron:0 0 6 * * *}")
+    public void scheduledRun() {
+        try {
+            InspectionReminderRunDto run = start(properties.getDaysAhead(), SCHEDULER);
+            log.info("Started inspection reminder run {} for {} vehicle(s)", run.getId(), run.getTotalVehicles());
+        } catch (ResourceConflictException e) {
+            log.info("Skipping scheduled inspection reminder run: {}", e.getMessage());
+        }
+    }
+
+    // the newest unfinished run continues from its watermark, older ones were already superseded by it
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRun() {
+        List<InspectionReminderRun> unfinished = runRepository.findByStatusOrderByIdAsc(InspectionReminderRun.RunStatus.RUNNING);
+        if (unfinished.isEmpty() || !busy.compareAndSet(false, true)) {
+            return;
+        }
+        InspectionReminderRun latest = unfinished.getLast();
+        for (InspectionReminderRun stale : unfinished.subList(0, unfinished.size() - 1)) {
+            finish(stale, InspectionReminderRun.RunStatus.FAILED, "Superseded by run " + latest.getId());
+        }
+        log.info("Resuming inspection reminder run {} after vehicle {}", latest.getId(), latest.getLastVehicleId());
+        launch(latest);
+    }
+
+
+    private void launch(InspectionReminderRun run) {
+        Thread.ofVirtual().name("inspection-reminder-run-" + run.getId()).start(() -> {
+            try {
+                execute(run);
+            } finally {
+                busy.set(false);
+            }
+        });
+    }
+
+    private void execute(InspectionReminderRun run) {
+        try {
+            Batch batch;
+            do {
+                InspectionReminderRun current = run;
+                batch = transactionTemplate.execute(status -> processBatch(current));
+                run = batch.run();
+            } while (batch.hasNext());
+            finish(run, InspectionReminderRun.RunStatus.COMPLETED, null);
+            log.info("Inspection reminder run {} completed: {} vehicle(s), {} notification(s) queued, {} already sent", run.getId(),
+                    run.getProcessedVehicles(), run.getQueuedNotifications(), run.getSkippedNotifications());
+        } catch (Exception e) {
+            log.error("Inspection reminder run {} failed after vehicle {}: {}", run.getId(), run.getLastVehicleId(), e.getMessage(), e);
+            finish(run, InspectionReminderRun.RunStatus.FAILED, e.getMessage());
+        }
+    }
+
+    // one transaction: the batch after the watermark, its outbox rows and the new watermark
+    private Batch processBatch(InspectionReminderRun run) {
+        ScrollPosition position = run.getLastVehicleId() == null ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("technicalInspectionDate", run.getLastInspectionDate(), "id", run.getLastVehicleId()));
+        // the keyset predicate is an OR, the watermark date also bounds the index range scan
+        LocalDate from = run.getLastInspectionDate() != null && run.getLastInspectionDate().isAfter(run.getWindowStart())
+                ? run.getLastInspectionDate() : run.getWindowStart();
+        Window<Vehicle> window = vehicleRepository.findByTechnicalInspectionDateBetween(
+                from, run.getWindowEnd(), position, Limit.of(properties.getBatchSize()), BATCH_ORDER);
+        if (window.isEmpty()) {
+            return new Batch(run, false);
+        }
+
+        QueuedReminders reminders = notificationService.enqueueInspectionReminders(window.getContent());
+        Vehicle last = window.getContent().getLast();
+        // a copy - on rollback the caller's instance still holds the committed watermark
+        InspectionReminderRun next = runRepository.save(run.toBuilder()
+                .processedVehicles(run.getProcessedVehicles() + window.size())
+                .queuedNotifications(run.getQueuedNotifications() + reminders.queued())
+                .skippedNotifications(run.getSkippedNotifications() + reminders.skipped())
+                .lastInspectionDate(last.getTechnicalInspectionDate())
+                .lastVehicleId(last.getId())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        return new Batch(next, window.hasNext());
+    }
+
+    private void finish(InspectionReminderRun run, InspectionReminderRun.RunStatus status, String error) {
+        run.setStatus(status);
+        run.setError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setUpdatedAt(run.getFinishedAt());
+        runRepository.save(run);
+    }
+
+    private InspectionReminderRunDto toDto(InspectionReminderRun run) {
+        return InspectionReminderRunDto.builder()
+                .id(run.getId())
+                .status(run.getStatus())
+                .triggeredBy(run.getTriggeredBy())
+                .windowStart(run.getWindowStart())
+                .windowEnd(run.getWindowEnd())
+                .totalVehicles(run.getTotalVehicles())
+                .processedVehicles(run.getProcessedVehicles())
+                // vehicles added to the window while running can push it past 100
+                .progressPercent(run.getTotalVehicles() == 0 ? 100.0
+                        : Math.min(100.0, 100.0 * run.getProcessedVehicles() / run.getTotalVehicles()))
+                .queuedNotifications(run.getQueuedNotifications())
+                .skippedNotifications(run.getSkippedNotifications())
+                .startedAt(run.getStartedAt())
+                .updatedAt(run.getUpdatedAt())
+                .finishedAt(run.getFinishedAt())
+                .error(run.getError())
+                .build();
+    }
+
+
+    private record Batch(InspectionReminderRun run, boolean hasNext) {
+    }
+}
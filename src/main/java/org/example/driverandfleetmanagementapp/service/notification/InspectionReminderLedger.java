@@ -0,0 +1,209 @@
+package org.example.driverandfleetmanagementapp.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.example.driverandfleetmanagementapp.utilis.BloomFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+
+/**
+ * Which inspection reminders were already queued, keyed by (vehicle, inspection date, channel). The table's primary
+ * key is the source of truth: new keys are inserted only if absent, in the caller's transaction, so a reminder is
+ * queued once even across concurrent requests and instances. An in-memory Bloom filter of the upcoming keys sits in
+ * front of it - keys it has never seen go straight to the insert, only the ones it might have seen are looked up,
+ * with one query per batch rather than per vehicle. The filter only saves lookups, it is never trusted on its own:
+ * keys of rolled-back transactions or of other instances just cost a lookup or an insert that finds the row.
+ */
+@Slf4j
+@Component
+public class InspectionReminderLedger {
+
+    private static final String RECORDED_SQL = """
+            SELECT vehicle_id, inspection_date, channel FROM inspection_reminder_ledger
+            WHERE vehicle_id IN (:vehicleIds) AND inspection_date >= :from
+            """;
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO inspection_reminder_ledger (vehicle_id, inspection_date, channel, recorded_at)
+            SELECT ?, ?, ?, ? WHERE NOT EXISTS (
+                SELECT 1 FROM inspection_reminder_ledger WHERE vehicle_id = ? AND inspection_date = ? AND channel = ?)
+            """;
+    private static final String COUNT_UPCOMING_SQL = "SELECT COUNT(*) FROM inspection_reminder_ledger WHERE inspection_date >= ?";
+    private static final String UPCOMING_SQL = "SELECT vehicle_id, inspection_date, channel FROM inspection_reminder_ledger WHERE inspection_date >= ?";
+    private static final String CLEANUP_SQL = """
+            DELETE FROM inspection_reminder_ledger WHERE (vehicle_id, inspection_date, channel) IN (
+                SELECT vehicle_id, inspection_date, channel FROM inspection_reminder_ledger WHERE inspection_date < ? LIMIT ?)
+            """;
+    private static final int CLEANUP_CHUNK = 5_000;
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    // streams the warm-up instead of materializing millions of keys
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final NotificationProperties.Ledger properties;
+
+    private final Counter unseen;
+    private final Counter alreadyRecorded;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+
+    public InspectionReminderLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    NotificationProperties notificationProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = notificationProperties.getInspectionReminder().getLedger();
+        this.filter = new BloomFilter(properties.getExpectedEntries(), properties.getFalsePositiveRate());
+
+        this.unseen = lookups(meterRegistry, "unseen");
+        this.alreadyRecorded = lookups(meterRegistry, "recorded");
+        this.falsePositives = lookups(meterRegistry, "false.positive");
+        Gauge.builder("fleet.notifications.ledger.filter.entries", this, ledger -> ledger.filter.approximateElementCount())
+                .description("Keys in the Bloom filter of the inspection reminder ledger")
+                .register(meterRegistry);
+        Gauge.builder("fleet.notifications.ledger.filter.false.positive.rate", this, ledger -> ledger.filter.expectedFalsePositiveRate())
+                .description("Expected false positive rate of the ledger's Bloom filter at its current fill")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * Records the keys not in the ledger yet, in the caller's transaction.
+     * @return the keys recorded now - their reminders are to be queued, all others were queued before
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Key> recordNew(Collection<Key> keys) {
+        BloomFilter current = filter;
+        List<Key> candidates = new ArrayList<>(keys.size());
+        List<Key> maybeRecorded = new ArrayList<>();
+        for (Key key : new LinkedHashSet<>(keys)) {
+            (current.mightContain(key.filterKey()) ? maybeRecorded : candidates).add(key);
+        }
+        unseen.increment(candidates.size());
+
+        if (!maybeRecorded.isEmpty()) {
+            Set<Key> recorded = findRecorded(maybeRecorded);
+            for (Key key : maybeRecorded) {
+                if (!recorded.contains(key)) {
+                    candidates.add(key);
+                }
+            }
+            alreadyRecorded.increment(recorded.size());
+            falsePositives.increment(maybeRecorded.size() - recorded.size());
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        // a row committed meanwhile by someone else makes the insert a no-op; one still uncommitted makes it wait
+        // and then fail on the primary key, rolling this transaction back - either way the reminder is queued once
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, candidates.stream()
+                .map(key -> {
+                    Date date = Date.valueOf(key.inspectionDate());
+                    return new Object[]{key.vehicleId(), date, key.channel(), now, key.vehicleId(), date, key.channel()};
+                })
+                .toList());
+        Set<Key> inserted = new LinkedHashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                inserted.add(candidates.get(i));
+                // before the commit - on a rollback these are false positives, never missed duplicates
+                current.put(candidates.get(i).filterKey());
+            }
+        }
+        return inserted;
+    }
+
+    // fills a new filter with the keys of upcoming inspections, the only ones reminders are still sent for
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        Long upcoming = jdbcTemplate.queryForObject(COUNT_UPCOMING_SQL, Long.class, Date.valueOf(today));
+        long expected = Math.max(properties.getExpectedEntries(), 2 * (upcoming == null ? 0 : upcoming));
+        BloomFilter rebuilt = new BloomFilter(expected, properties.getFalsePositiveRate());
+        readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(UPCOMING_SQL,
+                rs -> {
+                    rebuilt.put(filterKey(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getString(3)));
+                }, Date.valueOf(today)));
+        // keys recorded while loading may be missing from the new filter, they cost an insert that finds the row
+        filter = rebuilt;
+        log.info("Inspection reminder ledger filter loaded with {} key(s), {} bits", rebuilt.approximateElementCount(), rebuilt.bitSize());
+    }
+
+    @Scheduled(cron = "${fleet.notifications.inspection-reminder.ledger.cleanup-cron:0 45 4 * * *}")
+    public long deleteExpired() {
+        Date before = Date.valueOf(LocalDate.now().minusDays(properties.getRetention().toDays()));
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = jdbcTemplate.update(CLEANUP_SQL, before, CLEANUP_CHUNK);
+            deleted += chunk;
+        } while (chunk == CLEANUP_CHUNK);
+        if (deleted > 0) {
+            log.info("Deleted {} expired inspection reminder ledger row(s)", deleted);
+        }
+        rebuild();
+        return deleted;
+    }
+
+
+    private Set<Key> findRecorded(List<Key> keys) {
+        Set<Long> vehicleIds = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        for (Key key : keys) {
+            vehicleIds.add(key.vehicleId());
+            from = key.inspectionDate().isBefore(from) ? key.inspectionDate() : from;
+        }
+        Set<Key> requested = new HashSet<>(keys);
+        Set<Key> recorded = new HashSet<>();
+        namedJdbcTemplate.query(RECORDED_SQL, Map.of("vehicleIds", vehicleIds, "from", Date.valueOf(from)), rs -> {
+            Key key = new Key(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getString(3));
+            if (requested.contains(key)) {
+                recorded.add(key);
+            }
+        });
+        return recorded;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("fleet.notifications.ledger.lookups")
+                .description("Inspection reminder keys checked against the ledger, by how they were resolved")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String filterKey(long vehicleId, LocalDate inspectionDate, String channel) {
+        return vehicleId + ":" + inspectionDate + ":" + channel;
+    }
+
+
+    public record Key(long vehicleId, LocalDate inspectionDate, String channel) {
+
+        String filterKey() {
+            return InspectionReminderLedger.filterKey(vehicleId, inspectionDate, channel);
+        }
+    }
+}
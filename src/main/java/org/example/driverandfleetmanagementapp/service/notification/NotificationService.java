@@ -3,13 +3,13 @@ package org.example.driverandfleetmanagementapp.service.notification;
 import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderResponse;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
 import org.springframework.data.domain.Pageable;
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
 
 
 public interface NotificationService {
 
     /**
-     * Retrieves vehicles with upcoming technical inspections and triggers async notifications
+     * Retrieves vehicles with upcoming technical inspections and queues their notifications in the outbox
      * @param days number of days to look ahead for inspections
      * @param pageable pagination parameters
      * @return response containing vehicles and processing status
@@ -18,10 +18,11 @@ public interface NotificationService {
 
 
     /**
-     * Asynchronously processes inspection reminder notification for a vehicle
-     * @param vehicle vehicle requiring inspection notification
-     * @return CompletableFuture that completes when notification is processed
+     * Adds the inspection reminders of the vehicles to the outbox, one notification per configured channel, except
+     * the ones the reminder ledger already has. Must run inside the caller's transaction, delivery starts once it commits
+     * @param vehicles vehicles requiring inspection notification, with their drivers loaded
+     * @return numbers of notifications queued and skipped
      */
-    CompletableFuture<Void> sendInspectionReminderNotification(Vehicle vehicle);
+    QueuedReminders enqueueInspectionReminders(List<Vehicle> vehicles);
 
 }
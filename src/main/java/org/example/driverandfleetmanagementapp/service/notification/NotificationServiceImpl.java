@@ -2,31 +2,36 @@ package org.example.driverandfleetmanagementapp.service.notification;
 
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
 import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderResponse;
 import org.example.driverandfleetmanagementapp.dto.notification.VehicleInspectionDto;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.notification.Notification;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 
 
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    static final String INSPECTION_REMINDER = "INSPECTION_REMINDER";
 
     private final VehicleRepository vehicleRepository;
+    private final NotificationProperties notificationProperties;
+    private final OutboxPublisher outboxPublisher;
+    private final InspectionReminderLedger inspectionReminderLedger;
 
 
     @Override
     @Timed("fleet.notification.inspection.processing.time")
-    @Transactional(readOnly = true)
+    @Transactional
     public InspectionReminderResponse  processInspectionReminders(int days, Pageable pageable) {
 
         LocalDate today = LocalDate.now();
@@ -51,29 +56,54 @@ public class NotificationServiceImpl implements NotificationService {
                         .build())
                 .toList();
 
-        vehiclesPage.forEach(this::sendInspectionReminderNotification);
+        // written to the outbox with this transaction, the relay delivers them once it commits
+        QueuedReminders reminders = enqueueInspectionReminders(vehiclesPage.getContent());
 
         return InspectionReminderResponse.builder()
                 .message("Processing " + vehiclesPage.getTotalElements() + " inspection reminder notifications")
                 .totalVehicles(vehiclesPage.getTotalElements())
                 .vehicles(vehicleInfos)
+                .queuedNotifications(reminders.queued())
+                .skippedNotifications(reminders.skipped())
                 .build();
     }
 
 
     @Override
-    @Timed("fleet.notification.send.time")
-    @Async("taskExecutor")
-    @Transactional(readOnly = true) // purpose is to show a 2s simulation
-    public CompletableFuture<Void> sendInspectionReminderNotification(Vehicle vehicle) {
-        try {
-            Thread.sleep(2000);
-            return CompletableFuture.completedFuture(null);
-        } catch (InterruptedException e) {
-            return CompletableFuture.failedFuture(e);
+    public QueuedReminders enqueueInspectionReminders(List<Vehicle> vehicles) {
+        List<String> channels = notificationProperties.getInspectionReminder().getChannels();
+        List<InspectionReminderLedger.Key> keys = new ArrayList<>(vehicles.size() * channels.size());
+        for (Vehicle vehicle : vehicles) {
+            for (String channel : channels) {
+                keys.add(new InspectionReminderLedger.Key(vehicle.getId(), vehicle.getTechnicalInspectionDate(), channel));
+            }
         }
-
+        Set<InspectionReminderLedger.Key> unsent = inspectionReminderLedger.recordNew(keys);
+
+        int queued = 0;
+        for (Vehicle vehicle : vehicles) {
+            Notification notification = null;
+            for (String channel : channels) {
+                if (unsent.contains(new InspectionReminderLedger.Key(vehicle.getId(), vehicle.getTechnicalInspectionDate(), channel))) {
+                    notification = notification != null ? notification : inspectionReminder(vehicle);
+                    outboxPublisher.enqueue(channel, notification, "VEHICLE", vehicle.getId(), INSPECTION_REMINDER);
+                    queued++;
+                }
+            }
+        }
+        return new QueuedReminders(queued, keys.size() - queued);
     }
-}
 
 
+    // the driver's lazy association is read here, inside the caller's transaction or already fetched
+    private Notification inspectionReminder(Vehicle vehicle) {
+        String recipient = vehicle.getDriver() != null ? vehicle.getDriver().getEmail()
+                : notificationProperties.getInspectionReminder().getFleetManagerRecipient();
+        return new Notification(
+                "inspection-reminder:" + vehicle.getId() + ":" + vehicle.getTechnicalInspectionDate(),
+                recipient,
+                "Technical inspection due for " + vehicle.getLicensePlate(),
+                "The technical inspection of " + vehicle.getBrand() + " " + vehicle.getModel() + " (" + vehicle.getLicensePlate()
+                        + ") is due on " + vehicle.getTechnicalInspectionDate() + ".");
+    }
+}
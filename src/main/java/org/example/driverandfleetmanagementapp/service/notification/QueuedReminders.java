@@ -0,0 +1,6 @@
+package org.example.driverandfleetmanagementapp.service.notification;
+
+
+// Inspection reminders of a batch of vehicles: queued in the outbox now, or skipped because the ledger already had them
+public record QueuedReminders(int queued, int skipped) {
+}
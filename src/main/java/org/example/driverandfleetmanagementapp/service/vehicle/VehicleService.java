@@ -1,9 +1,14 @@
 package org.example.driverandfleetmanagementapp.service.vehicle;
 
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.List;
 import java.util.Set;
 
 
@@ -19,10 +24,16 @@ public interface VehicleService {
     Page<VehicleDto> getVehiclesByBrandAndModel(String brand, String model, Pageable pageable);
     Page<VehicleDto> getVehiclesByType(Vehicle.VehicleType type, Pageable pageable);
 
+    CursorPage<VehicleDto> scrollVehicles(CursorPageRequest request);
+    CursorPage<VehicleDto> scrollVehiclesByStatus(Vehicle.VehicleStatus status, CursorPageRequest request);
+
     VehicleDto createVehicle(VehicleDto vehicleDTO);
     VehicleDto updateVehicle(Long id, VehicleDto vehicleDTO);
     VehicleDto updateVehicleMileage(Long id, Double mileage);
     VehicleDto updateVehicleStatus(Long id, Vehicle.VehicleStatus status);
     void deleteVehicle(Long id);
 
+    // bulk import - one chunk of already validated rows, inserted in JDBC batches within a single transaction
+    List<ImportRowResult> importVehicles(List<ImportRow<VehicleDto>> rows);
+
 }
\ No newline at end of file
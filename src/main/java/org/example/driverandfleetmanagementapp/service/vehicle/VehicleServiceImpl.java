@@ -4,22 +4,36 @@ package org.example.driverandfleetmanagementapp.service.vehicle;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.example.driverandfleetmanagementapp.audit.Auditable;
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.CacheTags;
+import org.example.driverandfleetmanagementapp.cache.NegativeLookupCache;
+import org.example.driverandfleetmanagementapp.cache.PageCacheKey;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
 import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceNotFoundException;
 import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
+import org.example.driverandfleetmanagementapp.outbox.VehicleStatusChanged;
 import org.example.driverandfleetmanagementapp.repository.DriverRepository;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.utilis.KeysetCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 
 
@@ -33,6 +47,14 @@ public class VehicleServiceImpl implements VehicleService {
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
     private final VehicleMapper vehicleMapper;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final NegativeLookupCache negativeLookupCache;
+    private final OutboxPublisher outboxPublisher;
+
+    // NOT NULL columns with a (column, id) index only - a null sort key would break the keyset predicate, any other
+    // column is sorted in full for every page; within a status only (status, id) exists
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "licensePlate", "brand");
+    private static final Set<String> STATUS_KEYSET_SORT_PROPERTIES = Set.of("id");
 
 
     @Override
@@ -43,7 +65,7 @@ public class VehicleServiceImpl implements VehicleService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "vehicles", key = "'vehicle:' + #id")
+    @Cacheable(value = "vehicles", key = "'vehicle:' + #id", sync = true)
     public VehicleDto getVehicleById(Long id) {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle with ID " + id + " not found"));
@@ -52,9 +74,10 @@ public class VehicleServiceImpl implements VehicleService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "vehicles", key = "'licensePlate:' + #licensePlate")
+    @Cacheable(value = "vehiclesByPlate", key = "'licensePlate:' + #licensePlate", sync = true)
     public VehicleDto getVehicleByLicensePlate(String licensePlate) {
-        Vehicle vehicle = vehicleRepository.findByLicensePlate(licensePlate)
+        Vehicle vehicle = negativeLookupCache.lookup(NegativeLookupCache.VEHICLE_PLATE_MISSES, CacheTags.licensePlate(licensePlate),
+                        () -> vehicleRepository.findByLicensePlate(licensePlate))
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle with license plate " + licensePlate + " not found"));
         return vehicleMapper.toDto(vehicle);
     }
@@ -67,7 +90,23 @@ public class VehicleServiceImpl implements VehicleService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "vehicles", key = "'brandAndModel:' + #brand + ':' + #model")
+    public CursorPage<VehicleDto> scrollVehicles(CursorPageRequest request) {
+        Window<Vehicle> window = vehicleRepository.findBy(KeysetCursor.decode(request, Vehicle.class),
+                Limit.of(request.limit()), KeysetCursor.sort(request, KEYSET_SORT_PROPERTIES));
+        return KeysetCursor.page(window, window.map(vehicleMapper::toDto).getContent(), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<VehicleDto> scrollVehiclesByStatus(Vehicle.VehicleStatus status, CursorPageRequest request) {
+        Window<Vehicle> window = vehicleRepository.findByStatus(status, KeysetCursor.decode(request, Vehicle.class),
+                Limit.of(request.limit()), KeysetCursor.sort(request, STATUS_KEYSET_SORT_PROPERTIES));
+        return KeysetCursor.page(window, window.map(vehicleMapper::toDto).getContent(), request);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "vehiclePages", keyGenerator = "pageKeyGenerator")
     public Page<VehicleDto> getVehiclesByBrandAndModel(String brand, String model, Pageable pageable) {
         return vehicleRepository.findByBrandAndModel(brand, model, pageable).map(vehicleMapper::toDto);
     }
@@ -75,14 +114,14 @@ public class VehicleServiceImpl implements VehicleService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "vehicles", key = "'type:' + #type")
+    @Cacheable(value = "vehiclePages", keyGenerator = "pageKeyGenerator")
     public Page<VehicleDto> getVehiclesByType(Vehicle.VehicleType type, Pageable pageable) {
         return vehicleRepository.findByType(type, pageable).map(vehicleMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "vehicles", key = "'driver:' + #driverId")
+    @Cacheable(value = "vehicles", key = "'driver:' + #driverId", sync = true)
     public Set<VehicleDto> getVehiclesByDriverId(Long driverId) {
         if (!driverRepository.existsById(driverId)) {
             throw new ResourceNotFoundException("Driver with ID " + driverId + " not found");
@@ -101,23 +140,16 @@ public class VehicleServiceImpl implements VehicleService {
             throw new ResourceConflictException("Vehicle with license plate " + vehicleDto.getLicensePlate() + " already exists");
         }
 
-        if (vehicleDto.getStatus() != Vehicle.VehicleStatus.AVAILABLE) {
-            throw new BusinessLogicException("New vehicle must be created with status AVAILABLE. Current status: " + vehicleDto.getStatus());
-        }
-
-        validateTechnicalInspectionDate(vehicleDto);
+        validateNewVehicle(vehicleDto);
         Vehicle vehicle = vehicleMapper.toEntity(vehicleDto);
         vehicle = vehicleRepository.save(vehicle);
+        cacheInvalidationService.invalidate(membershipTags(vehicle));
         return vehicleMapper.toDto(vehicle);
     }
 
     @Override
     @Timed("fleet.vehicle.update.time")
-    @Auditable(entity = "VEHICLE", action = "UPDATE")
-    @Caching(evict = {
-            @CacheEvict(value = "vehicles", key = "'vehicle:' + #id"),
-            @CacheEvict(value = "vehicles", key = "'driver:' + #vehicleDto.driver.id")
-    })
+    @Auditable(entity = "VEHICLE", action = "UPDATE", captureChanges = true)
     public VehicleDto updateVehicle(Long id, VehicleDto vehicleDto) {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle with ID " + id + " not found"));
@@ -129,17 +161,16 @@ public class VehicleServiceImpl implements VehicleService {
                             " already in use by vehicle with ID: " + d.getId());
                 });
         validateTechnicalInspectionDate(vehicleDto);
+        Set<String> tags = membershipTags(vehicle); // pages the vehicle leaves
         vehicleMapper.updateVehicleFromDto(vehicleDto, vehicle);
+        tags.addAll(membershipTags(vehicle)); // pages the vehicle joins
+        cacheInvalidationService.invalidate(tags);
         return vehicleMapper.toDto(vehicle);
     }
 
     @Override
     @Timed("fleet.vehicle.delete.time")
     @Auditable(entity = "VEHICLE", action = "DELETE")
-    @Caching(evict = {
-            @CacheEvict(value = "vehicles", allEntries = true),
-            @CacheEvict(value = "drivers", allEntries = true)
-    })
     public void deleteVehicle(Long id) {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle with ID " + id + " not found"));
@@ -156,12 +187,12 @@ public class VehicleServiceImpl implements VehicleService {
                     " as it is currently " + vehicle.getStatus());
         }
         vehicleRepository.delete(vehicle);
+        cacheInvalidationService.invalidate(membershipTags(vehicle));
     }
 
 
     @Override
-    @Auditable(entity = "VEHICLE", action = "MILEAGE_UPDATE")
-    @CacheEvict(value = "vehicles", key = "'vehicle:' + #id")
+    @Auditable(entity = "VEHICLE", action = "MILEAGE_UPDATE", captureChanges = true)
     public VehicleDto updateVehicleMileage(Long id, Double mileage) {
 
         Vehicle vehicle = vehicleRepository.findById(id)
@@ -177,13 +208,13 @@ public class VehicleServiceImpl implements VehicleService {
         }
 
         vehicle.setMileage(mileage);
+        cacheInvalidationService.invalidate(CacheTags.vehicle(id));
         return vehicleMapper.toDto(vehicle);
     }
 
 
     @Override
-    @Auditable(entity = "VEHICLE", action = "STATUS_CHANGE")
-    @CacheEvict(value = "vehicles", key = "'vehicle:' + #id")
+    @Auditable(entity = "VEHICLE", action = "STATUS_CHANGE", captureChanges = true)
     public VehicleDto updateVehicleStatus(Long id, Vehicle.VehicleStatus status) {
 
         Vehicle vehicle = vehicleRepository.findById(id)
@@ -209,12 +240,77 @@ public class VehicleServiceImpl implements VehicleService {
                     "Vehicle must go through service first.");
         }
 
+        Vehicle.VehicleStatus previousStatus = vehicle.getStatus();
         vehicle.setStatus(status);
+        if (previousStatus != status) {
+            outboxPublisher.publishDomainEvent("VEHICLE", id, VehicleStatusChanged.TYPE,
+                    new VehicleStatusChanged(id, vehicle.getLicensePlate(), previousStatus, status));
+        }
+        cacheInvalidationService.invalidate(CacheTags.vehicle(id));
         return vehicleMapper.toDto(vehicle);
     }
 
 
 
+    @Override
+    @Timed("fleet.vehicle.import.time")
+    public List<ImportRowResult> importVehicles(List<ImportRow<VehicleDto>> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<String> existingPlates = vehicleRepository.findExistingLicensePlates(
+                rows.stream().map(row -> row.value().getLicensePlate()).toList());
+
+        List<ImportRowResult> results = new ArrayList<>(rows.size());
+        List<ImportRow<Vehicle>> accepted = new ArrayList<>(rows.size());
+        for (ImportRow<VehicleDto> row : rows) {
+            String plate = row.value().getLicensePlate();
+            if (existingPlates.contains(plate)) {
+                results.add(ImportRowResult.duplicate(row.row(), plate, "Vehicle with license plate " + plate + " already exists"));
+                continue;
+            }
+            try {
+                validateNewVehicle(row.value());
+            } catch (BusinessLogicException e) {
+                results.add(ImportRowResult.invalid(row.row(), plate, List.of(e.getMessage())));
+                continue;
+            }
+            Vehicle vehicle = vehicleMapper.toEntity(row.value());
+            vehicle.setId(null); // always a new row, a client supplied id would turn persist into merge
+            accepted.add(new ImportRow<>(row.row(), vehicle));
+        }
+
+        // ids come from the pooled sequence, the inserts go out in JDBC batches on flush
+        vehicleRepository.saveAll(accepted.stream().map(ImportRow::value).toList());
+        vehicleRepository.flush();
+
+        Set<String> tags = new HashSet<>();
+        for (ImportRow<Vehicle> row : accepted) {
+            results.add(ImportRowResult.created(row.row(), row.value().getLicensePlate(), row.value().getId()));
+            tags.addAll(membershipTags(row.value()));
+        }
+        cacheInvalidationService.invalidate(tags);
+        return results;
+    }
+
+
+    // Entries showing the vehicle, its plate lookup and every cached page query it belongs to
+    private Set<String> membershipTags(Vehicle vehicle) {
+        Set<String> tags = new HashSet<>();
+        tags.add(CacheTags.vehicle(vehicle.getId()));
+        tags.add(CacheTags.licensePlate(vehicle.getLicensePlate()));
+        tags.add(PageCacheKey.queryTag("getVehiclesByType", vehicle.getType()));
+        tags.add(PageCacheKey.queryTag("getVehiclesByBrandAndModel", vehicle.getBrand(), vehicle.getModel()));
+        return tags;
+    }
+
+    private void validateNewVehicle(VehicleDto vehicleDto) {
+        if (vehicleDto.getStatus() != Vehicle.VehicleStatus.AVAILABLE) {
+            throw new BusinessLogicException("New vehicle must be created with status AVAILABLE. Current status: " + vehicleDto.getStatus());
+        }
+        validateTechnicalInspectionDate(vehicleDto);
+    }
+
     private void validateTechnicalInspectionDate(VehicleDto vehicleDto) {
         LocalDate now = LocalDate.now();
         LocalDate inspectionDate = vehicleDto.getTechnicalInspectionDate();
@@ -0,0 +1,110 @@
+package org.example.driverandfleetmanagementapp.utilis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Opaque cursor for keyset pagination - Base64 of the sort it belongs to and the keys ((sortKey, id) values)
+ * of the last row returned. A cursor only continues the listing with the same sort.
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private KeysetCursor() {
+    }
+
+
+    public static String encode(ScrollPosition position, String sortBy, Sort.Direction direction) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Not a keyset position: " + position);
+        }
+        Map<String, String> keys = new LinkedHashMap<>();
+        keyset.getKeys().forEach((property, value) -> keys.put(property, String.valueOf(value)));
+
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("sort", sortBy);
+        cursor.put("dir", direction.name());
+        cursor.put("keys", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    // Validates limit and sort property, the id is appended to the sort by Spring Data as tie-breaker
+    public static Sort sort(CursorPageRequest request, Set<String> sortableProperties) {
+        if (request.limit() < 1 || request.limit() > CursorPageRequest.MAX_LIMIT) {
+            throw new BusinessLogicException("Limit must be between 1 and " + CursorPageRequest.MAX_LIMIT);
+        }
+        if (!sortableProperties.contains(request.sortBy())) {
+            throw new BusinessLogicException("Cannot sort by " + request.sortBy() + ", allowed: " + sortableProperties);
+        }
+        return Sort.by(request.direction(), request.sortBy());
+    }
+
+    public static <T, D> CursorPage<D> page(Window<T> window, List<D> content, CursorPageRequest request) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode(window.positionAt(window.size() - 1), request.sortBy(), request.direction())
+                : null;
+        return new CursorPage<>(content, nextCursor, nextCursor != null);
+    }
+
+    // Key values are converted back to the property types of the entity, they travel as strings
+    public static KeysetScrollPosition decode(CursorPageRequest request, Class<?> entityType) {
+        return decode(request.after(), request.sortBy(), request.direction(), entityType);
+    }
+
+    public static KeysetScrollPosition decode(String cursor, String sortBy, Sort.Direction direction, Class<?> entityType) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            Map<String, Object> decoded = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<>() {
+            });
+            if (!sortBy.equals(decoded.get("sort")) || !direction.name().equals(decoded.get("dir"))) {
+                throw new BusinessLogicException("Cursor was issued for a different sort order");
+            }
+
+            if (!(decoded.get("keys") instanceof Map<?, ?> rawKeys) || rawKeys.isEmpty()) {
+                throw new BusinessLogicException("Invalid cursor");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            rawKeys.forEach((property, value) -> {
+                Class<?> type = BeanUtils.findPropertyType(String.valueOf(property), entityType);
+                if (type == Object.class || value == null) {
+                    throw new BusinessLogicException("Invalid cursor");
+                }
+                keys.put(String.valueOf(property), type == LocalDate.class ? LocalDate.parse(value.toString())
+                        : type == LocalDateTime.class ? LocalDateTime.parse(value.toString())
+                        : DefaultConversionService.getSharedInstance().convert(value, type));
+            });
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IOException | ConversionException | DateTimeException e) {
+            throw new BusinessLogicException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+
+public record WeatherBatchRequest(
+        @NotEmpty(message = "At least one city is required")
+        @Size(max = WeatherBatchRequest.MAX_CITIES, message = "At most " + WeatherBatchRequest.MAX_CITIES + " cities per request")
+        List<@NotBlank(message = "City must not be blank") String> cities) {
+
+    public static final int MAX_CITIES = 100;
+}
@@ -0,0 +1,12 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import java.util.List;
+
+
+// results in the order of the requested cities, a city that failed is in errors instead of failing the batch
+public record WeatherBatchResponse(List<WeatherDto> results, List<CityError> errors) {
+
+    // status - the HTTP status /api/weather/{city} would have answered with
+    public record CityError(String city, int status, String message) {
+    }
+}
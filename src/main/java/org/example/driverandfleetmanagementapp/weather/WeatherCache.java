@@ -0,0 +1,125 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Current weather per city in front of WeatherService, keyed by the normalized city name. Within the ttl a city is
+ * served from memory; after it the cached weather is still returned while one background call refreshes it, and
+ * only past the stale window a request waits for the API. Concurrent requests for a city that is not cached share
+ * one API call - the first one starts the load, the others wait for its result. Nothing blocks: loads are the
+ * futures of non-blocking API calls.
+ */
+@Component
+public class WeatherCache {
+
+    private final AsyncLoadingCache<String, Fetched> cache;
+    private final Ticker ticker;
+    private final long ttlNanos;
+    private final long maxAgeNanos;
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    @Autowired
+    public WeatherCache(WeatherService weatherService, WeatherProperties weatherProperties, MeterRegistry meterRegistry) {
+        this(weatherService, weatherProperties, meterRegistry, Ticker.systemTicker());
+    }
+
+    WeatherCache(WeatherService weatherService, WeatherProperties weatherProperties, MeterRegistry meterRegistry, Ticker ticker) {
+        WeatherProperties.Cache properties = weatherProperties.getCache();
+        this.ticker = ticker;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxAgeNanos = properties.getTtl().plus(properties.getStaleWhileRevalidate()).toNanos();
+        // expiry counts from when the API answered, not from when the cache got to record the answer;
+        // a failed refresh keeps the stale entry, a failed load is not cached
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(Expiry.<String, Fetched>writing((city, fetched) ->
+                        Duration.ofNanos(Math.max(0, maxAgeNanos - age(fetched)))))
+                .ticker(ticker)
+                .buildAsync((city, executor) -> weatherService.fetchCurrentWeather(city)
+                        .map(data -> new Fetched(data, ticker.read()))
+                        .switchIfEmpty(Mono.fromSupplier(() -> new Fetched(null, ticker.read())))
+                        .toFuture());
+
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        Gauge.builder("fleet.weather.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .description("Cities in the weather cache")
+                .register(meterRegistry);
+    }
+
+
+    // empty when the API had no weather for the city
+    public Mono<WeatherData> get(String city) {
+        return Mono.defer(() -> {
+            String key = normalize(city);
+            CompletableFuture<Fetched> cached = cache.getIfPresent(key);
+            if (cached != null && (cached.isCompletedExceptionally() || cached.isDone() && age(cached.getNow(null)) >= maxAgeNanos)) {
+                // failed or expired, only the cache has not caught up with the completion yet
+                cache.asMap().remove(key, cached);
+                cached = null;
+            }
+
+            CompletableFuture<Fetched> result;
+            if (cached == null) {
+                misses.increment();
+                result = cache.get(key);
+            } else if (!cached.isDone()) {
+                coalesced.increment();
+                result = cached;
+            } else {
+                result = cached;
+                if (age(cached.getNow(null)) > ttlNanos) {
+                    staleHits.increment();
+                    // at most one refresh per city is in flight, later stale reads join it
+                    cache.synchronous().refresh(key);
+                } else {
+                    hits.increment();
+                }
+            }
+            // a client going away must not cancel a load other requests wait for
+            return Mono.fromFuture(result, true).mapNotNull(Fetched::data);
+        });
+    }
+
+    private long age(Fetched fetched) {
+        return ticker.read() - fetched.fetchedAt();
+    }
+
+    // "  New   York" and "new york" are the same city
+    static String normalize(String city) {
+        return city.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("fleet.weather.cache.requests")
+                .description("Weather requests by how the cache answered them - hit, stale (served while refreshed), miss, coalesced (joined a load in flight)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+
+    // data is null when the API answered with an empty body, that is cached like any other answer
+    private record Fetched(WeatherData data, long fetchedAt) {
+    }
+}
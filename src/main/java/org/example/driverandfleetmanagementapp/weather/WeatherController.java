@@ -4,12 +4,16 @@ import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 
 
@@ -32,7 +36,23 @@ public class WeatherController {
     @ApiResponse(responseCode = "200", description = "Weather data retrieved successfully")
     @ApiResponse(responseCode = "400", description = "Invalid city parameter")
     @ApiResponse(responseCode = "503", description = "Weather service unavailable")
-    public ResponseEntity<WeatherDto> getWeatherWithRating(@PathVariable String city) {
-        return ResponseEntity.ok(weatherRecommendationService.getDetailedWeatherWithRating(city));
+    public Mono<ResponseEntity<WeatherDto>> getWeatherWithRating(@PathVariable String city) {
+        // no request thread waits for the API, the response is written when the Mono completes
+        return weatherRecommendationService.getDetailedWeatherWithRating(city).map(ResponseEntity::ok);
     }
-}
\ No newline at end of file
+
+
+    // one rate limiter permit for the whole batch, a city that fails does not fail the others
+    @RateLimiter(name = "api")
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Get weather with driver recommendations for many cities",
+            description = "Returns the weather and driver recommendations for up to " + WeatherBatchRequest.MAX_CITIES
+                    + " cities in one call, with an error entry for every city that could not be looked up"
+    )
+    @ApiResponse(responseCode = "200", description = "Weather of the cities found, errors of the others")
+    @ApiResponse(responseCode = "400", description = "No cities, a blank city or too many cities")
+    public Mono<ResponseEntity<WeatherBatchResponse>> getBatchWeatherWithRating(@Valid @RequestBody WeatherBatchRequest request) {
+        return weatherRecommendationService.getBatchWeatherWithRating(request.cities()).map(ResponseEntity::ok);
+    }
+}
@@ -1,28 +1,80 @@
 package org.example.driverandfleetmanagementapp.weather;
 
-import io.micrometer.core.annotation.Timed;
-import org.springframework.stereotype.Service;
-
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.example.driverandfleetmanagementapp.exception.custom.CityNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WeatherRecommendationService {
 
-    private final WeatherService weatherService;
+    private final WeatherCache weatherCache;
 
+    private final WeatherProperties weatherProperties;
 
-    @Timed("fleet.weather.recommendation.time")
-    public WeatherDto getDetailedWeatherWithRating(String city) {
-        WeatherData data = weatherService.getCurrentWeather(city);
+    private final MeterRegistry meterRegistry;
 
 
-        if (data == null || data.getMain() == null || data.getWeather().isEmpty()) {
-            return new WeatherDto(
-                    city, 0, 0, "Unknown", "Cannot give an advice");
-        }
+    public Mono<WeatherDto> getDetailedWeatherWithRating(String city) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return weatherCache.get(city)
+                    .filter(data -> data.getMain() != null && data.getWeather() != null && !data.getWeather().isEmpty())
+                    .map(this::toWeatherDto)
+                    .defaultIfEmpty(new WeatherDto(city, 0, 0, "Unknown", "Cannot give an advice"))
+                    .doFinally(signal -> sample.stop(meterRegistry.timer("fleet.weather.recommendation.time")));
+        });
+    }
+
+    /**
+     * Weather for many cities in one call - cached cities answer right away, the others are looked up with at most
+     * weather.batch.parallelism calls at once. A city that fails is reported in errors, the others are still returned.
+     * Cities differing only in case or spacing are looked up once.
+     */
+    public Mono<WeatherBatchResponse> getBatchWeatherWithRating(List<String> cities) {
+        Map<String, String> distinctCities = new LinkedHashMap<>();
+        cities.forEach(city -> distinctCities.putIfAbsent(WeatherCache.normalize(city), city.strip()));
+
+        return Flux.fromIterable(distinctCities.values())
+                .flatMapSequential(city -> getDetailedWeatherWithRating(city)
+                                .map(dto -> new CityOutcome(dto, null))
+                                .onErrorResume(ex -> Mono.just(new CityOutcome(null, cityError(city, ex)))),
+                        weatherProperties.getBatch().getParallelism())
+                .collectList()
+                .map(outcomes -> new WeatherBatchResponse(
+                        outcomes.stream().map(CityOutcome::weather).filter(Objects::nonNull).toList(),
+                        outcomes.stream().map(CityOutcome::error).filter(Objects::nonNull).toList()));
+    }
 
+    // the status and message GlobalExceptionHandler answers a single city's failure with
+    private static WeatherBatchResponse.CityError cityError(String city, Throwable ex) {
+        if (ex instanceof CityNotFoundException) {
+            return new WeatherBatchResponse.CityError(city, HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        }
+        if (ex instanceof WebClientException || ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException) {
+            return new WeatherBatchResponse.CityError(city, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Weather service unavailable. Please try again later.");
+        }
+        log.error("Weather lookup of {} failed", city, ex);
+        return new WeatherBatchResponse.CityError(city, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error occurred");
+    }
 
+    private WeatherDto toWeatherDto(WeatherData data) {
         double temp = data.getMain().getTemp();
         int humidity = data.getMain().getHumidity();
         String condition = data.getWeather().getFirst().getMain();
@@ -48,4 +100,8 @@ public class WeatherRecommendationService {
             return "No warnings - good conditions";
         }
     }
+
+
+    private record CityOutcome(WeatherDto weather, WeatherBatchResponse.CityError error) {
+    }
 }
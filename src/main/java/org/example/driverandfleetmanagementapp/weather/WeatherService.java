@@ -1,36 +1,82 @@
 package org.example.driverandfleetmanagementapp.weather;
 
-import io.micrometer.core.annotation.Timed;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
 import org.example.driverandfleetmanagementapp.exception.custom.CityNotFoundException;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+
+/**
+ * Calls the weather API without blocking a thread while the answer is on its way. The bulkhead caps the calls in
+ * flight (resilience4j.bulkhead.instances.weather-api), the circuit breaker stops calling an API that keeps failing
+ * or timing out (resilience4j.circuitbreaker.instances.weather-api) - both reject a call right away instead of letting
+ * it queue up behind a slow upstream.
+ */
 @Service
-@RequiredArgsConstructor
 public class WeatherService {
 
+    public static final String RESILIENCE_INSTANCE = "weather-api";
+
     private final WebClient webClient;
+    private final WeatherProperties weatherProperties;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+
+    public WeatherService(WebClient webClient, WeatherProperties weatherProperties, CircuitBreakerRegistry circuitBreakerRegistry,
+                          BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.weatherProperties = weatherProperties;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.meterRegistry = meterRegistry;
+    }
 
-    @Value("${weather.api.key}")
-    private String apiKey;
 
-    @Value("${weather.api.url}")
-    private String apiUrl;
+    // empty when the API answered without a body
+    public Mono<WeatherData> fetchCurrentWeather(String city) {
+        WeatherProperties.Api api = weatherProperties.getApi();
+        Mono<WeatherData> call = webClient.get()
+                .uri(api.getUrl() + "?q=" + city + "&appid=" + api.getKey() + "&units=metric")
+                .retrieve()
+                .bodyToMono(WeatherData.class)
+                .onErrorMap(WebClientResponseException.NotFound.class, ex -> new CityNotFoundException("City '" + city + "' not found."));
 
+        // the bulkhead outside, a call it turns away never counts against the API's health
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .doOnSuccess(data -> sample.stop(callTimer("success")))
+                    .doOnError(ex -> sample.stop(callTimer(outcome(ex))));
+        });
+    }
+
+
+    private Timer callTimer(String outcome) {
+        return Timer.builder("fleet.weather.api.call.time")
+                .description("Calls to the weather API by outcome, rejected ones never left the application")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
-    @Timed("fleet.weather.api.call.time")
-    public WeatherData getCurrentWeather(String city) {
-        try {
-            return webClient.get()
-                    .uri(apiUrl + "?q=" + city + "&appid=" + apiKey + "&units=metric")
-                    .retrieve()
-                    .bodyToMono(WeatherData.class)
-                    .block();
-        } catch (WebClientResponseException.NotFound ex) {
-            throw new CityNotFoundException("City '" + city + "' not found.");
+    private static String outcome(Throwable ex) {
+        if (ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException) {
+            return "rejected";
         }
+        return ex instanceof CityNotFoundException ? "not.found" : "error";
     }
-}
\ No newline at end of file
+}
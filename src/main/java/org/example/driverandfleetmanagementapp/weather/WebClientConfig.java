@@ -1,14 +1,37 @@
 package org.example.driverandfleetmanagementapp.weather;
 
+import io.netty.channel.ChannelOption;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties(WeatherProperties.class)
 public class WebClientConfig {
 
+    // own connection pool instead of the shared default one (16 connections per host on small machines), with its
+    // metrics under reactor.netty.connection.provider{name=weather-api}
     @Bean
-    public WebClient webClient() {
-        return WebClient.create();
+    public WebClient webClient(WeatherProperties weatherProperties) {
+        WeatherProperties.Client client = weatherProperties.getClient();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("weather-api")
+                .maxConnections(client.getMaxConnections())
+                .pendingAcquireMaxCount(client.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+                .maxIdleTime(client.getMaxIdleTime())
+                .evictInBackground(client.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .responseTimeout(client.getResponseTimeout());
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
-}
\ No newline at end of file
+}
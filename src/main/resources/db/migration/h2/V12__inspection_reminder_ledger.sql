@@ -0,0 +1,16 @@
+-- One row per inspection reminder handed to the outbox. The primary key is what guarantees a reminder is queued once
+-- per (vehicle, inspection date, channel), across requests, runs and instances; InspectionReminderLedger keeps a
+-- Bloom filter of the keys in front of it
+CREATE TABLE inspection_reminder_ledger (
+                                            vehicle_id BIGINT NOT NULL,
+                                            inspection_date DATE NOT NULL,
+                                            channel VARCHAR(50) NOT NULL,
+                                            recorded_at TIMESTAMP NOT NULL,
+                                            CONSTRAINT pk_inspection_reminder_ledger PRIMARY KEY (vehicle_id, inspection_date, channel)
+);
+
+-- warm-up of the filter reads the upcoming dates, the clean-up deletes the past ones
+CREATE INDEX idx_reminder_ledger_inspection_date ON inspection_reminder_ledger(inspection_date);
+
+-- Reminders the run left out because the ledger already had them
+ALTER TABLE inspection_reminder_runs ADD COLUMN skipped_notifications BIGINT DEFAULT 0 NOT NULL;
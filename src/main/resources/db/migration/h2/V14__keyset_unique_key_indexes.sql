@@ -0,0 +1,6 @@
+-- Keyset pagination by license plate / license number seeks on (sort key, id) like the other sort keys; replaces the
+-- single-column indexes, the unique constraints already cover lookups
+DROP INDEX idx_vehicle_license_plate;
+CREATE INDEX idx_vehicle_license_plate_id ON vehicles(license_plate, id);
+DROP INDEX idx_driver_license_number;
+CREATE INDEX idx_driver_license_number_id ON drivers(license_number, id);
@@ -0,0 +1,6 @@
+-- Pooled id allocation: Hibernate reserves 50 ids per nextval (allocationSize = 50 on the entities) and treats the
+-- returned value as the top of its block, so the sequences restart one block above the highest id in use.
+-- Bulk inserts no longer pay one sequence round trip per row, gaps after restarts are expected.
+ALTER SEQUENCE vehicle_sequence RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM vehicles) INCREMENT BY 50;
+ALTER SEQUENCE driver_sequence RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM drivers) INCREMENT BY 50;
+ALTER SEQUENCE audit_logs_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM audit_logs) INCREMENT BY 50;
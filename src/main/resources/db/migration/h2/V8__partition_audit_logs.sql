@@ -0,0 +1,8 @@
+-- H2 has no table partitioning, audit_logs stays one table. The indexes match the PostgreSQL partitions:
+-- lookups by entity / user are served in timestamp order, the standalone timestamp index is dropped.
+DROP INDEX idx_audit_entity;
+DROP INDEX idx_audit_user;
+DROP INDEX idx_audit_timestamp;
+
+CREATE INDEX idx_audit_entity ON audit_logs(entity_type, entity_id, timestamp DESC);
+CREATE INDEX idx_audit_user ON audit_logs(user_id, timestamp DESC);
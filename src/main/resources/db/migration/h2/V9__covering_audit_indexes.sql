@@ -0,0 +1,7 @@
+-- Audit trails are keyset-paginated on (timestamp, id) newest first. H2 has no INCLUDE columns,
+-- the PostgreSQL indexes additionally cover the remaining mapped columns.
+DROP INDEX idx_audit_entity;
+DROP INDEX idx_audit_user;
+
+CREATE INDEX idx_audit_entity ON audit_logs(entity_type, entity_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_user ON audit_logs(user_id, timestamp DESC, id DESC);
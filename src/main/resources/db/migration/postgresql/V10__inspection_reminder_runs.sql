@@ -0,0 +1,27 @@
+-- Inspection reminder job: one row per run, the (last_inspection_date, last_vehicle_id) watermark marks the last vehicle
+-- whose reminders are done, so a restarted application resumes an unfinished run right after it
+CREATE SEQUENCE inspection_reminder_runs_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE inspection_reminder_runs (
+                                          id BIGINT DEFAULT NEXTVAL('inspection_reminder_runs_seq') PRIMARY KEY,
+                                          status VARCHAR(20) NOT NULL,
+                                          triggered_by VARCHAR(100) NOT NULL,
+                                          window_start DATE NOT NULL,
+                                          window_end DATE NOT NULL,
+                                          total_vehicles BIGINT NOT NULL,
+                                          processed_vehicles BIGINT NOT NULL,
+                                          sent_notifications BIGINT NOT NULL,
+                                          failed_notifications BIGINT NOT NULL,
+                                          rejected_notifications BIGINT NOT NULL,
+                                          last_inspection_date DATE,
+                                          last_vehicle_id BIGINT,
+                                          started_at TIMESTAMP NOT NULL,
+                                          updated_at TIMESTAMP NOT NULL,
+                                          finished_at TIMESTAMP,
+                                          error VARCHAR(500)
+);
+
+CREATE INDEX idx_inspection_run_status ON inspection_reminder_runs(status, id);
+
+-- Keyset batches of the job over (technical_inspection_date, id)
+CREATE INDEX idx_vehicle_inspection_date_id ON vehicles(technical_inspection_date, id);
@@ -0,0 +1,31 @@
+-- Transactional outbox: notifications and domain events are inserted in the transaction of the change that caused
+-- them and delivered afterwards by OutboxRelay, which claims PENDING rows with FOR UPDATE SKIP LOCKED
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+                               id BIGINT PRIMARY KEY,
+                               aggregate_type VARCHAR(50) NOT NULL,
+                               aggregate_id BIGINT,
+                               event_type VARCHAR(100) NOT NULL,
+                               channel VARCHAR(50) NOT NULL,
+                               event_key VARCHAR(200),
+                               recipient VARCHAR(200),
+                               subject VARCHAR(500),
+                               payload TEXT NOT NULL,
+                               status VARCHAR(20) NOT NULL,
+                               attempts INT NOT NULL,
+                               created_at TIMESTAMP NOT NULL,
+                               available_at TIMESTAMP NOT NULL,
+                               delivered_at TIMESTAMP,
+                               last_error VARCHAR(500)
+);
+
+-- partial indexes: claim order over the rows still waiting, clean-up over the delivered ones
+CREATE INDEX idx_outbox_pending ON outbox_events(available_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_delivered ON outbox_events(delivered_at) WHERE status = 'DELIVERED';
+
+-- The reminder job now hands its notifications to the outbox, delivery outcomes are tracked per outbox row
+ALTER TABLE inspection_reminder_runs ADD COLUMN queued_notifications BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE inspection_reminder_runs DROP COLUMN sent_notifications;
+ALTER TABLE inspection_reminder_runs DROP COLUMN failed_notifications;
+ALTER TABLE inspection_reminder_runs DROP COLUMN rejected_notifications;
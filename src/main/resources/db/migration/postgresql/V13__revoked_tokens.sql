@@ -0,0 +1,12 @@
+-- Tokens revoked before their expiry (logout, POST /api/auth/revoke) by their jti claim. TokenRevocationList keeps the
+-- unexpired ones in memory on every node and deletes the rows once the tokens would have expired anyway
+CREATE TABLE revoked_tokens (
+                                jti VARCHAR(36) NOT NULL,
+                                username VARCHAR(30) NOT NULL,
+                                expires_at TIMESTAMP NOT NULL,
+                                revoked_at TIMESTAMP NOT NULL,
+                                CONSTRAINT pk_revoked_tokens PRIMARY KEY (jti)
+);
+
+-- loading reads the unexpired rows, the clean-up deletes the expired ones
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
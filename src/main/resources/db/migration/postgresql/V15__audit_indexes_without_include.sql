@@ -0,0 +1,8 @@
+-- V9 INCLUDEd the other audit_logs columns so a trail window could be an index-only scan, assuming changes was not
+-- mapped. AuditLog maps changes (the field diff, unbounded TEXT that cannot be part of a btree index), so every
+-- window reads the heap anyway and the included columns only made the indexes bigger. The keyset order is kept.
+DROP INDEX idx_audit_entity;
+DROP INDEX idx_audit_user;
+
+CREATE INDEX idx_audit_entity ON audit_logs(entity_type, entity_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_user ON audit_logs(user_id, timestamp DESC, id DESC);
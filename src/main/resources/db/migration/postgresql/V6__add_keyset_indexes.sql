@@ -0,0 +1,5 @@
+-- Keyset pagination: (sort key, id) indexes for the status listings and the default id order per status
+CREATE INDEX idx_vehicle_status_id ON vehicles(status, id);
+CREATE INDEX idx_driver_status_id ON drivers(status, id);
+CREATE INDEX idx_driver_last_name_id ON drivers(last_name, id);
+CREATE INDEX idx_vehicle_brand_id ON vehicles(brand, id);
@@ -0,0 +1,11 @@
+-- Pooled id allocation: Hibernate reserves 50 ids per nextval (allocationSize = 50 on the entities) and treats the
+-- returned value as the top of its block, so the sequences continue one block above the highest id handed out.
+-- Bulk inserts no longer pay one sequence round trip per row, gaps after restarts are expected.
+ALTER SEQUENCE vehicle_sequence INCREMENT BY 50;
+SELECT setval('vehicle_sequence', GREATEST((SELECT last_value FROM vehicle_sequence), (SELECT COALESCE(MAX(id), 0) FROM vehicles)) + 50, false);
+
+ALTER SEQUENCE driver_sequence INCREMENT BY 50;
+SELECT setval('driver_sequence', GREATEST((SELECT last_value FROM driver_sequence), (SELECT COALESCE(MAX(id), 0) FROM drivers)) + 50, false);
+
+ALTER SEQUENCE audit_logs_seq INCREMENT BY 50;
+SELECT setval('audit_logs_seq', GREATEST((SELECT last_value FROM audit_logs_seq), (SELECT COALESCE(MAX(id), 0) FROM audit_logs)) + 50, false);
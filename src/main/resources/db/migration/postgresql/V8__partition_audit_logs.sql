@@ -0,0 +1,64 @@
+-- audit_logs becomes range-partitioned by month on timestamp. Partitions are named audit_logs_pYYYYMM,
+-- create_audit_log_partitions() adds the missing ones up to some months ahead and is called again by
+-- AuditPartitionMaintenance on startup and daily. Old partitions are detached, archived and dropped by the same job.
+-- Rows outside every partition land in audit_logs_default and are moved out when their month is created.
+
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER TABLE audit_logs_unpartitioned RENAME CONSTRAINT audit_logs_pkey TO audit_logs_unpartitioned_pkey;
+DROP INDEX idx_audit_entity;
+DROP INDEX idx_audit_user;
+DROP INDEX idx_audit_timestamp;
+
+-- the partition key has to be part of the primary key, ids still come from audit_logs_seq
+CREATE TABLE audit_logs (
+                            id BIGINT DEFAULT NEXTVAL('audit_logs_seq') NOT NULL,
+                            entity_type VARCHAR(50) NOT NULL,
+                            entity_id BIGINT,
+                            action VARCHAR(50) NOT NULL,
+                            user_id VARCHAR(100) NOT NULL,
+                            timestamp TIMESTAMP NOT NULL,
+                            changes TEXT,
+                            PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- per partition indexes, the standalone timestamp index is replaced by partition pruning
+CREATE INDEX idx_audit_entity ON audit_logs(entity_type, entity_id, timestamp DESC);
+CREATE INDEX idx_audit_user ON audit_logs(user_id, timestamp DESC);
+
+
+CREATE OR REPLACE FUNCTION create_audit_log_partitions(from_month DATE, months_ahead INT) RETURNS INT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    last_month DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    month_end DATE;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    -- several instances run the maintenance job
+    PERFORM pg_advisory_xact_lock(hashtext('audit_logs_partitions'));
+    WHILE month_start <= last_month LOOP
+        month_end := (month_start + INTERVAL '1 month')::date;
+        partition_name := 'audit_logs_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE audit_logs INCLUDING DEFAULTS)', partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM audit_logs_default WHERE timestamp >= %L AND timestamp < %L RETURNING *) '
+                               || 'INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition_name);
+            EXECUTE format('ALTER TABLE audit_logs ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, month_end);
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+
+SELECT create_audit_log_partitions(COALESCE((SELECT MIN(timestamp) FROM audit_logs_unpartitioned), now())::date, 3);
+
+INSERT INTO audit_logs (id, entity_type, entity_id, action, user_id, timestamp, changes)
+SELECT id, entity_type, entity_id, action, user_id, timestamp, changes FROM audit_logs_unpartitioned;
+
+DROP TABLE audit_logs_unpartitioned;
@@ -0,0 +1,7 @@
+-- Audit trails are keyset-paginated on (timestamp, id) newest first. The indexes follow that order and INCLUDE the
+-- remaining mapped columns, so a window is an index-only scan of the partitions in range (changes is not mapped).
+DROP INDEX idx_audit_entity;
+DROP INDEX idx_audit_user;
+
+CREATE INDEX idx_audit_entity ON audit_logs(entity_type, entity_id, timestamp DESC, id DESC) INCLUDE (action, user_id);
+CREATE INDEX idx_audit_user ON audit_logs(user_id, timestamp DESC, id DESC) INCLUDE (entity_type, entity_id, action);
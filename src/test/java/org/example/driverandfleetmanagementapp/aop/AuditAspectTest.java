@@ -0,0 +1,249 @@
+package org.example.driverandfleetmanagementapp.aop;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.example.driverandfleetmanagementapp.audit.AuditLog;
+import org.example.driverandfleetmanagementapp.audit.AuditWriter;
+import org.example.driverandfleetmanagementapp.audit.Auditable;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class AuditAspectTest {
+
+    @Mock
+    private AuditWriter auditWriter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityGraph<Vehicle> vehicleGraph;
+
+    @Mock
+    private VehicleMapper vehicleMapper;
+
+    @Mock
+    private DriverMapper driverMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private AuditAspect auditAspect;
+
+    @BeforeEach
+    void setUp() {
+        auditAspect = new AuditAspect(auditWriter, entityManager, vehicleMapper, driverMapper,
+                transactionManager);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Auditable auditable(String action, boolean captureChanges) {
+        return new Auditable() {
+            public String entity() { return "VEHICLE"; }
+            public String action() { return action; }
+            public boolean captureChanges() { return captureChanges; }
+            public Class<? extends Annotation> annotationType() { return Auditable.class; }
+        };
+    }
+
+    private VehicleDto vehicleDto(double mileage) {
+        return VehicleDto.builder()
+                .id(1L)
+                .licensePlate("WA12345")
+                .mileage(mileage)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+    }
+
+    private void vehicleFound(Vehicle vehicle) {
+        when(entityManager.createEntityGraph(Vehicle.class)).thenReturn(vehicleGraph);
+        when(entityManager.find(eq(Vehicle.class), eq(1L), anyMap())).thenReturn(vehicle);
+    }
+
+    private AuditLog submittedAudit() {
+        ArgumentCaptor<AuditLog> audit = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditWriter).submit(audit.capture());
+        return audit.getValue();
+    }
+
+
+    @Test
+    void audit_WithCaptureChanges_ShouldRecordDiffAgainstStateBeforeTheCall() throws Throwable {
+        Vehicle vehicle = new Vehicle();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        vehicleFound(vehicle);
+        when(vehicleMapper.toDto(vehicle)).thenReturn(vehicleDto(15000.0));
+        when(joinPoint.getArgs()).thenReturn(new Object[]{1L, vehicleDto(15300.0)});
+        when(joinPoint.proceed()).thenReturn(vehicleDto(15300.0));
+
+        auditAspect.audit(joinPoint, auditable("UPDATE", true));
+
+        AuditLog audit = submittedAudit();
+        assertThat(audit.getEntityId()).isEqualTo(1L);
+        assertThat(audit.getUserId()).isEqualTo("admin");
+        assertThat(audit.getChanges()).isEqualTo("{\"mileage\":[15000.0,15300.0]}");
+    }
+
+    @Test
+    void audit_WithoutCaptureChanges_ShouldNotReadSnapshot() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(vehicleDto(15000.0));
+
+        auditAspect.audit(joinPoint, auditable("CREATE", false));
+
+        assertThat(submittedAudit().getChanges()).isNull();
+        verifyNoInteractions(entityManager, transactionManager);
+    }
+
+    @Test
+    void audit_WhenSnapshotFails_ShouldStillAuditTheCall() throws Throwable {
+        when(transactionManager.getTransaction(any())).thenThrow(new IllegalStateException("no connection"));
+        when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+        when(joinPoint.proceed()).thenReturn(vehicleDto(15000.0));
+
+        Object result = auditAspect.audit(joinPoint, auditable("UPDATE", true));
+
+        assertThat(result).isEqualTo(vehicleDto(15000.0));
+        assertThat(submittedAudit().getChanges()).isNull();
+    }
+
+    @Test
+    void audit_WhenSnapshotFailsInsideTheAuditedTransaction_ShouldNotRollItBack() {
+        InMemoryTransactionManager businessTransactions = new InMemoryTransactionManager();
+        AuditAspect aspect = new AuditAspect(auditWriter, entityManager, vehicleMapper, driverMapper,
+                businessTransactions);
+        Vehicle vehicle = new Vehicle();
+        vehicleFound(vehicle);
+        when(vehicleMapper.toDto(vehicle)).thenThrow(new IllegalStateException("lazy association"));
+
+        Object result = new TransactionTemplate(businessTransactions).execute(status -> {
+            try {
+                when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+                when(joinPoint.proceed()).thenReturn(vehicleDto(15000.0));
+                return aspect.audit(joinPoint, auditable("UPDATE", true));
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(result).isEqualTo(vehicleDto(15000.0));
+        assertThat(businessTransactions.rolledBack).isFalse();
+        assertThat(submittedAudit().getChanges()).isNull();
+    }
+
+
+    @Test
+    void audit_WhenSnapshotReadFailsInsideTheAuditedTransaction_ShouldNotRollItBack() {
+        InMemoryTransactionManager businessTransactions = new InMemoryTransactionManager();
+        AuditAspect aspect = new AuditAspect(auditWriter, entityManager, vehicleMapper, driverMapper, businessTransactions);
+        when(entityManager.createEntityGraph(Vehicle.class)).thenReturn(vehicleGraph);
+        when(entityManager.find(eq(Vehicle.class), eq(1L), anyMap())).thenThrow(new IllegalArgumentException("unknown entity"));
+
+        Object result = new TransactionTemplate(businessTransactions).execute(status -> {
+            try {
+                when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+                when(joinPoint.proceed()).thenReturn(vehicleDto(15000.0));
+                return aspect.audit(joinPoint, auditable("UPDATE", true));
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(result).isEqualTo(vehicleDto(15000.0));
+        assertThat(businessTransactions.rolledBack).isFalse();
+        verify(vehicleGraph).addAttributeNodes("driver");
+        assertThat(submittedAudit().getChanges()).isNull();
+    }
+
+
+    // no resource behind it, enough for joining a transaction and marking it rollback-only
+    private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final Transaction transaction = new Transaction();
+        private boolean rolledBack;
+
+        @Override
+        protected Object doGetTransaction() {
+            return transaction;
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Transaction) transaction).active;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            ((Transaction) transaction).active = true;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            transaction.active = false;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            transaction.active = false;
+            rolledBack = true;
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            transaction.rollbackOnly = true;
+        }
+
+        private static class Transaction implements SmartTransactionObject {
+
+            private boolean active;
+            private boolean rollbackOnly;
+
+            @Override
+            public boolean isRollbackOnly() {
+                return rollbackOnly;
+            }
+
+            @Override
+            public void flush() {
+            }
+        }
+    }
+}
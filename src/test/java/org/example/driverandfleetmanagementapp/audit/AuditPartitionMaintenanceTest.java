@@ -0,0 +1,39 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ActiveProfiles("test")
+class AuditPartitionMaintenanceTest {
+
+    @Test
+    void partitionMonth_ShouldParseMonthlyPartitionNamesOnly() {
+        assertThat(AuditPartitionMaintenance.partitionMonth("audit_logs_p202403")).contains(YearMonth.of(2024, 3));
+        assertThat(AuditPartitionMaintenance.partitionMonth("audit_logs_default")).isEmpty();
+        assertThat(AuditPartitionMaintenance.partitionMonth("audit_logs_p2024")).isEmpty();
+    }
+
+    @Test
+    void expiredPartitions_ShouldKeepRetentionMonthsBeforeTheCurrentOne() {
+        List<String> partitions = List.of("audit_logs_p202406", "audit_logs_p202405", "audit_logs_p202404",
+                "audit_logs_p202312", "audit_logs_default", "audit_logs_p202407");
+
+        List<String> expired = AuditPartitionMaintenance.expiredPartitions(partitions, YearMonth.of(2025, 5), 12);
+
+        // 12 months back from 2025-05 is 2024-05, the first month still kept
+        assertThat(expired).containsExactly("audit_logs_p202312", "audit_logs_p202404");
+    }
+
+    @Test
+    void expiredPartitions_WhenNothingIsOldEnough_ShouldBeEmpty() {
+        List<String> expired = AuditPartitionMaintenance.expiredPartitions(
+                List.of("audit_logs_p202505", "audit_logs_p202506"), YearMonth.of(2025, 5), 1);
+
+        assertThat(expired).isEmpty();
+    }
+}
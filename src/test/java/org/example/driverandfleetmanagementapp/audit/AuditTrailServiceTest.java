@@ -0,0 +1,127 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(AuditTrailService.class)
+class AuditTrailServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Autowired
+    private AuditTrailService auditTrailService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // 130 records of vehicle 7, two per minute so every timestamp has a tie broken by the id
+        List<AuditLog> audits = new ArrayList<>();
+        IntStream.range(0, 130).forEach(i -> audits.add(audit("VEHICLE", 7L, i % 2 == 0 ? "admin" : "service", START.plusMinutes(i / 2))));
+        audits.add(audit("VEHICLE", 8L, "admin", START));
+        audits.add(audit("DRIVER", 7L, "admin", START));
+        auditLogRepository.saveAllAndFlush(audits);
+    }
+
+    private AuditLog audit(String entityType, Long entityId, String userId, LocalDateTime timestamp) {
+        return AuditLog.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .action("UPDATE")
+                .userId(userId)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private List<AuditLog> scrollAll(LocalDateTime from, LocalDateTime to, int limit) {
+        List<AuditLog> all = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPage<AuditLog> page = auditTrailService.scrollEntityTrail("VEHICLE", 7L, from, to, after, limit);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(limit);
+            all.addAll(page.content());
+            after = page.nextCursor();
+        } while (after != null);
+        return all;
+    }
+
+
+    @Test
+    void scrollEntityTrail_ShouldWalkTheWholeTrailNewestFirstWithoutGapsOrRepeats() {
+        List<AuditLog> trail = scrollAll(null, null, 50);
+
+        assertThat(trail).hasSize(130)
+                .extracting(AuditLog::getId).doesNotHaveDuplicates();
+        assertThat(trail).isSortedAccordingTo(Comparator.comparing(AuditLog::getTimestamp)
+                .thenComparing(AuditLog::getId).reversed());
+        assertThat(trail).allMatch(audit -> "VEHICLE".equals(audit.getEntityType()) && audit.getEntityId() == 7L);
+    }
+
+    @Test
+    void scrollEntityTrail_WithTimeRange_ShouldOnlyReturnRecordsInRange() {
+        List<AuditLog> trail = scrollAll(START.plusMinutes(10), START.plusMinutes(19), 7);
+
+        assertThat(trail).hasSize(20)
+                .allMatch(audit -> !audit.getTimestamp().isBefore(START.plusMinutes(10))
+                        && !audit.getTimestamp().isAfter(START.plusMinutes(19)));
+    }
+
+    @Test
+    void scrollUserOperations_ShouldOnlyReturnTheUsersRecords() {
+        CursorPage<AuditLog> page = auditTrailService.scrollUserOperations("service", null, null, null, 100);
+
+        assertThat(page.content()).hasSize(65).allMatch(audit -> "service".equals(audit.getUserId()));
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void scrollEntityTrail_WithInvalidArguments_ShouldThrow() {
+        assertThatThrownBy(() -> auditTrailService.scrollEntityTrail("VEHICLE", 7L, START.plusDays(1), START, null, 20))
+                .isInstanceOf(BusinessLogicException.class);
+        assertThatThrownBy(() -> auditTrailService.scrollEntityTrail("VEHICLE", 7L, null, null, null, 0))
+                .isInstanceOf(BusinessLogicException.class);
+        assertThatThrownBy(() -> auditTrailService.scrollEntityTrail("VEHICLE", 7L, null, null, "not-a-cursor", 20))
+                .isInstanceOf(BusinessLogicException.class);
+    }
+
+    @Test
+    void exportEntityTrail_ShouldStreamEveryRecordAsNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = auditTrailService.exportEntityTrail("VEHICLE", 7L, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(130);
+        assertThat(lines).hasSize(130);
+        AuditLog first = objectMapper.readValue(lines[0], AuditLog.class);
+        assertThat(first.getTimestamp()).isEqualTo(START.plusMinutes(64));
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.AuditProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class AuditWriterTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @TempDir
+    private Path spillDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AuditProperties properties = new AuditProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // sizes of the batches handed to saveAll, the writer reuses its batch list
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final List<Long> writtenIds = new CopyOnWriteArrayList<>();
+    private AuditWriter auditWriter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSpillDirectory(spillDirectory);
+        properties.setFlushInterval(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (auditWriter != null) {
+            auditWriter.stop();
+        }
+    }
+
+    private AuditWriter writer() {
+        auditWriter = new AuditWriter(auditLogRepository, properties, objectMapper, meterRegistry);
+        return auditWriter;
+    }
+
+    private void repositoryRecordsBatches() {
+        doAnswer(invocation -> {
+            List<AuditLog> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            batch.forEach(audit -> writtenIds.add(audit.getEntityId()));
+            return batch;
+        }).when(auditLogRepository).saveAll(anyList());
+    }
+
+    private AuditLog audit(long entityId) {
+        return AuditLog.builder()
+                .entityType("VEHICLE")
+                .entityId(entityId)
+                .action("UPDATE")
+                .userId("admin")
+                .timestamp(LocalDateTime.of(2024, 5, 1, 12, 0))
+                .build();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("fleet.audit.events.dropped").tag("reason", reason).counter().count();
+    }
+
+
+    @Test
+    void submit_ShouldWriteFullBatchesWithoutWaitingForTheFlushInterval() {
+        repositoryRecordsBatches();
+        properties.setBatchSize(100);
+        AuditWriter writer = writer();
+        writer.start();
+
+        IntStream.range(0, 250).forEach(i -> writer.submit(audit(i)));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> batchSizes.size() == 2);
+        assertThat(batchSizes).containsExactly(100, 100);
+
+        writer.stop();
+
+        assertThat(batchSizes).containsExactly(100, 100, 50);
+        assertThat(writtenIds).hasSize(250).doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("fleet.audit.batch.size").summary().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("fleet.audit.events.written").counter().count()).isEqualTo(250);
+        assertThat(meterRegistry.get("fleet.audit.write.latency").tag("outcome", "success").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void submit_ShouldWritePartialBatchOnceTheFlushIntervalElapsed() {
+        repositoryRecordsBatches();
+        properties.setFlushInterval(Duration.ofMillis(50));
+        AuditWriter writer = writer();
+        writer.start();
+
+        IntStream.range(0, 3).forEach(i -> writer.submit(audit(i)));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> writtenIds.size() == 3);
+        assertThat(writer.queueDepth()).isZero();
+    }
+
+    @Test
+    void submit_WhenQueueFullAndPolicyDrop_ShouldDropAndCount() {
+        properties.setQueueCapacity(2);
+        properties.setOverflowPolicy(AuditProperties.OverflowPolicy.DROP);
+        AuditWriter writer = writer();
+
+        IntStream.range(0, 5).forEach(i -> writer.submit(audit(i)));
+
+        assertThat(writer.queueDepth()).isEqualTo(2);
+        assertThat(meterRegistry.get("fleet.audit.queue.depth").gauge().value()).isEqualTo(2);
+        assertThat(dropped("queue_full")).isEqualTo(3);
+    }
+
+    @Test
+    void submit_WhenQueueStaysFullAndPolicyBlock_ShouldDropAfterBlockTimeout() {
+        properties.setQueueCapacity(1);
+        properties.setBlockTimeout(Duration.ofMillis(50));
+        AuditWriter writer = writer();
+
+        writer.submit(audit(1));
+        long start = System.nanoTime();
+        writer.submit(audit(2));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(dropped("block_timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void submit_WhenQueueFullAndPolicyBlock_ShouldWaitForTheWriter() {
+        repositoryRecordsBatches();
+        properties.setQueueCapacity(5);
+        properties.setBatchSize(5);
+        AuditWriter writer = writer();
+        writer.start();
+
+        IntStream.range(0, 100).forEach(i -> writer.submit(audit(i)));
+        writer.stop();
+
+        assertThat(writtenIds).hasSize(100).doesNotHaveDuplicates();
+        assertThat(meterRegistry.find("fleet.audit.events.dropped").counter()).isNull();
+    }
+
+    @Test
+    void submit_WhenQueueFullAndPolicySpill_ShouldSpillToDiskAndReplayOnceDrained() throws IOException {
+        repositoryRecordsBatches();
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(AuditProperties.OverflowPolicy.SPILL);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        AuditWriter writer = writer();
+
+        IntStream.range(0, 3).forEach(i -> writer.submit(audit(i)));
+
+        Path spillFile = spillDirectory.resolve(AuditWriter.SPILL_FILE);
+        assertThat(Files.readAllLines(spillFile)).hasSize(2);
+        assertThat(meterRegistry.get("fleet.audit.events.spilled").counter().count()).isEqualTo(2);
+        verifyNoInteractions(auditLogRepository);
+
+        writer.start();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> writtenIds.size() == 3);
+        assertThat(writtenIds).containsExactlyInAnyOrder(0L, 1L, 2L);
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void start_WhenTheSpillEndsInAHalfWrittenLine_ShouldReplayTheRestExactlyOnce() throws IOException {
+        repositoryRecordsBatches();
+        properties.setBatchSize(2);
+        properties.setOverflowPolicy(AuditProperties.OverflowPolicy.SPILL);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        List<String> lines = new ArrayList<>();
+        for (long i = 0; i < 3; i++) {
+            lines.add(objectMapper.writeValueAsString(audit(i)));
+        }
+        // a crash in the middle of a spill
+        lines.add(lines.get(0).substring(0, 20));
+        Files.write(spillDirectory.resolve(AuditWriter.SPILL_FILE), lines);
+        AuditWriter writer = writer();
+
+        writer.start();
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            try (var files = Files.list(spillDirectory)) {
+                assertThat(files).isEmpty();
+            }
+        });
+        writer.stop();
+        assertThat(dropped("corrupt_spill")).isEqualTo(1);
+        assertThat(writtenIds).containsExactly(0L, 1L, 2L);
+        assertThat(batchSizes).containsExactly(2, 1);
+    }
+
+    @Test
+    void start_WhenTheSpillCannotBeRead_ShouldSetItAsideWithoutInserting() throws IOException {
+        properties.setOverflowPolicy(AuditProperties.OverflowPolicy.SPILL);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        byte[] record = (objectMapper.writeValueAsString(audit(1)) + "\n").getBytes(StandardCharsets.UTF_8);
+        // not UTF-8
+        byte[] garbage = {(byte) 0xC3, (byte) 0x28, '\n'};
+        Path spillFile = spillDirectory.resolve(AuditWriter.SPILL_FILE);
+        Files.write(spillFile, record);
+        Files.write(spillFile, garbage, StandardOpenOption.APPEND);
+        AuditWriter writer = writer();
+
+        writer.start();
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            try (var files = Files.list(spillDirectory)) {
+                assertThat(files).singleElement().satisfies(file ->
+                        assertThat(file.getFileName().toString()).endsWith(AuditWriter.REPLAY_SUFFIX + AuditWriter.CORRUPT_SUFFIX));
+            }
+        });
+        writer.stop();
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void write_WhenDatabaseFailsAndPolicySpill_ShouldSpillTheBatch() throws IOException {
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        }).when(auditLogRepository).saveAll(anyList());
+        properties.setOverflowPolicy(AuditProperties.OverflowPolicy.SPILL);
+        AuditWriter writer = writer();
+        writer.start();
+
+        IntStream.range(0, 4).forEach(i -> writer.submit(audit(i)));
+        writer.stop();
+
+        assertThat(Files.readAllLines(spillDirectory.resolve(AuditWriter.SPILL_FILE))).hasSize(4);
+        assertThat(meterRegistry.get("fleet.audit.write.latency").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void write_WhenDatabaseFailsAndPolicyDrop_ShouldCountDroppedRecords() {
+        doAnswer(invocation -> {
+            throw new DataAccessResourceFailureException("connection refused");
+        }).when(auditLogRepository).saveAll(anyList());
+        properties.setOverflowPolicy(AuditProperties.OverflowPolicy.DROP);
+        AuditWriter writer = writer();
+        writer.start();
+
+        IntStream.range(0, 4).forEach(i -> writer.submit(audit(i)));
+        writer.stop();
+
+        assertThat(dropped("write_error")).isEqualTo(4);
+    }
+
+    @Test
+    void submit_AfterStop_ShouldWriteSynchronously() {
+        repositoryRecordsBatches();
+        AuditWriter writer = writer();
+        writer.start();
+        writer.stop();
+
+        writer.submit(audit(7));
+
+        assertThat(writtenIds).containsExactly(7L);
+    }
+}
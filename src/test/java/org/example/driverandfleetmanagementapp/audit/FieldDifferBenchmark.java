@@ -0,0 +1,103 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import org.example.driverandfleetmanagementapp.dto.DriverBasicDto;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleBasicDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cost of the field-level diff added to every captureChanges audit, per call. Results: docs/audit-diff-benchmark.md.
+ * Run with (JMH forks, so it needs a plain classpath rather than mvn exec:java):
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main FieldDifferBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldDifferBenchmark {
+
+    private VehicleDto vehicle;
+    private VehicleDto vehicleUpdated;
+    private DriverDto driver;
+    private DriverDto driverUpdated;
+
+    @Setup
+    public void setUp() {
+        vehicle = VehicleDto.builder()
+                .id(1L)
+                .licensePlate("WA12345")
+                .brand("Toyota")
+                .model("Corolla")
+                .productionYear(2020)
+                .type(Vehicle.VehicleType.CAR)
+                .registrationDate(LocalDate.of(2020, 1, 15))
+                .technicalInspectionDate(LocalDate.of(2026, 1, 15))
+                .mileage(15000.0)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+        vehicleUpdated = vehicle.toBuilder()
+                .mileage(15250.5)
+                .status(Vehicle.VehicleStatus.IN_USE)
+                .driver(DriverBasicDto.builder().id(3L).build())
+                .build();
+
+        driver = DriverDto.builder()
+                .id(3L)
+                .firstName("Jan")
+                .lastName("Kowalski")
+                .licenseNumber("123456789")
+                .licenseType(Driver.LicenseType.B)
+                .dateOfBirth(LocalDate.of(1985, 6, 1))
+                .phoneNumber("500600700")
+                .email("jan.kowalski@example.com")
+                .status(Driver.DriverStatus.ACTIVE)
+                .vehicles(Set.of(VehicleBasicDto.builder().id(1L).build(), VehicleBasicDto.builder().id(2L).build()))
+                .build();
+        driverUpdated = driver.toBuilder()
+                .email("j.kowalski@example.com")
+                .build();
+    }
+
+
+    @Benchmark
+    public String vehicleUpdate() {
+        return AuditFields.VEHICLE.diff(vehicle, vehicleUpdated);
+    }
+
+    @Benchmark
+    public String driverUpdate() {
+        return AuditFields.DRIVER.diff(driver, driverUpdated);
+    }
+
+    @Benchmark
+    public String vehicleUnchanged() {
+        return AuditFields.VEHICLE.diff(vehicle, vehicle);
+    }
+
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FieldDifferBenchmark.class.getSimpleName()).build()).run();
+    }
+}
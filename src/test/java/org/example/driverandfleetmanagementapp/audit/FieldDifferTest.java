@@ -0,0 +1,99 @@
+package org.example.driverandfleetmanagementapp.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.driverandfleetmanagementapp.dto.DriverBasicDto;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleBasicDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ActiveProfiles("test")
+class FieldDifferTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private VehicleDto vehicle() {
+        return VehicleDto.builder()
+                .id(1L)
+                .licensePlate("WA12345")
+                .brand("Toyota")
+                .model("Corolla")
+                .productionYear(2020)
+                .type(Vehicle.VehicleType.CAR)
+                .registrationDate(LocalDate.of(2020, 1, 15))
+                .technicalInspectionDate(LocalDate.of(2026, 1, 15))
+                .mileage(15000.0)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+    }
+
+
+    @Test
+    void diff_ShouldContainOnlyChangedFieldsAsBeforeAfterPairs() {
+        VehicleDto before = vehicle();
+        VehicleDto after = before.toBuilder()
+                .mileage(15250.5)
+                .status(Vehicle.VehicleStatus.IN_USE)
+                .technicalInspectionDate(LocalDate.of(2027, 1, 15))
+                .driver(DriverBasicDto.builder().id(3L).build())
+                .build();
+
+        String diff = AuditFields.VEHICLE.diff(before, after);
+
+        assertThat(diff).isEqualTo("{\"technicalInspectionDate\":[\"2026-01-15\",\"2027-01-15\"],"
+                + "\"mileage\":[15000.0,15250.5],\"status\":[\"AVAILABLE\",\"IN_USE\"],\"driverId\":[null,3]}");
+    }
+
+    @Test
+    void diff_WhenNothingChanged_ShouldBeNull() {
+        assertThat(AuditFields.VEHICLE.diff(vehicle(), vehicle())).isNull();
+        assertThat(AuditFields.VEHICLE.diff(null, vehicle())).isNull();
+    }
+
+    @Test
+    void diff_ShouldCompareDriverVehiclesByIdRegardlessOfOrder() throws Exception {
+        DriverDto before = DriverDto.builder()
+                .id(3L)
+                .email("jan@example.com")
+                .status(Driver.DriverStatus.ACTIVE)
+                .vehicles(Set.of(VehicleBasicDto.builder().id(2L).build(), VehicleBasicDto.builder().id(1L).build()))
+                .build();
+        DriverDto sameVehicles = before.toBuilder()
+                .vehicles(Set.of(VehicleBasicDto.builder().id(1L).licensePlate("WA12345").build(),
+                        VehicleBasicDto.builder().id(2L).build()))
+                .build();
+        DriverDto after = before.toBuilder()
+                .status(Driver.DriverStatus.INACTIVE)
+                .vehicles(Set.of(VehicleBasicDto.builder().id(2L).build()))
+                .build();
+
+        assertThat(AuditFields.DRIVER.diff(before, sameVehicles)).isNull();
+        JsonNode diff = objectMapper.readTree(AuditFields.DRIVER.diff(before, after));
+        assertThat(diff.fieldNames()).toIterable().containsExactly("status", "vehicleIds");
+        assertThat(diff.get("vehicleIds").toString()).isEqualTo("[[1,2],[2]]");
+    }
+
+    @Test
+    void diff_ShouldEscapeStringsIntoValidJson() throws Exception {
+        SequencedMap<String, Function<String, ?>> fields = new LinkedHashMap<>();
+        fields.put("va\"lue", Function.identity());
+        FieldDiffer<String> differ = new FieldDiffer<>(fields);
+
+        String diff = differ.diff("plain", "quote \" backslash \\ newline \n tab \t bell \u0007");
+
+        JsonNode json = objectMapper.readTree(diff);
+        assertThat(json.get("va\"lue").get(1).asText()).isEqualTo("quote \" backslash \\ newline \n tab \t bell \u0007");
+    }
+}
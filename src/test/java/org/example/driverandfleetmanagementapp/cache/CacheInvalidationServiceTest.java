@@ -0,0 +1,125 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.config.CacheProperties;
+import org.example.driverandfleetmanagementapp.dto.DriverBasicDto;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleBasicDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ActiveProfiles("test")
+class CacheInvalidationServiceTest {
+
+    private CacheManager cacheManager;
+    private CacheDependencyIndex dependencyIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationService invalidationService;
+
+    private final PageCacheKey carsPage = new PageCacheKey("getVehiclesByType", List.of(Vehicle.VehicleType.CAR), 0, 10, "UNSORTED");
+    private final PageCacheKey vansPage = new PageCacheKey("getVehiclesByType", List.of(Vehicle.VehicleType.VAN), 0, 10, "UNSORTED");
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        dependencyIndex = cacheConfig.cacheDependencyIndex();
+        cacheManager = cacheConfig.caffeineCacheManager(new CacheProperties(), dependencyIndex, (name, key) -> null);
+        meterRegistry = new SimpleMeterRegistry();
+        invalidationService = new CacheInvalidationService(cacheManager, dependencyIndex, meterRegistry, new InMemoryCacheInvalidationBus());
+
+        VehicleDto vehicle12 = VehicleDto.builder().id(12L).licensePlate("ABC12345")
+                .driver(DriverBasicDto.builder().id(7L).build()).build();
+        VehicleDto vehicle13 = VehicleDto.builder().id(13L).licensePlate("DEF23456").build();
+
+        cacheManager.getCache("vehicles").put("vehicle:12", vehicle12);
+        cacheManager.getCache("vehicles").put("vehicle:13", vehicle13);
+        cacheManager.getCache("vehicles").put("driver:7", Set.of(vehicle12));
+        cacheManager.getCache("vehicles").put("driver:8", Set.of());
+        cacheManager.getCache("vehiclesByPlate").put("licensePlate:ABC12345", vehicle12);
+        cacheManager.getCache("drivers").put("driver:7", DriverDto.builder().id(7L)
+                .vehicles(Set.of(VehicleBasicDto.builder().id(12L).build())).build());
+        cacheManager.getCache("vehiclePages").put(carsPage, new PageImpl<>(List.of(vehicle12, vehicle13), PageRequest.of(0, 10), 2));
+        cacheManager.getCache("vehiclePages").put(vansPage, new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+    }
+
+    @Test
+    void invalidatingVehicleShouldEvictOnlyEntriesReferencingIt() {
+        invalidationService.invalidate(CacheTags.vehicle(12L));
+
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:12")).isNull();
+        assertThat(cacheManager.getCache("vehicles").get("driver:7")).isNull();
+        assertThat(cacheManager.getCache("vehiclesByPlate").get("licensePlate:ABC12345")).isNull();
+        assertThat(cacheManager.getCache("drivers").get("driver:7")).isNull();
+        assertThat(cacheManager.getCache("vehiclePages").get(carsPage)).isNull();
+
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:13")).isNotNull();
+        assertThat(cacheManager.getCache("vehicles").get("driver:8")).isNotNull();
+        assertThat(cacheManager.getCache("vehiclePages").get(vansPage)).isNotNull();
+    }
+
+    @Test
+    void keyTagShouldCoverEmptyCollections() {
+        invalidationService.invalidate(CacheTags.driver(8L));
+
+        assertThat(cacheManager.getCache("vehicles").get("driver:8")).isNull();
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:12")).isNotNull();
+    }
+
+    @Test
+    void queryTagShouldEvictEveryPageOfThatQuery() {
+        invalidationService.invalidate(PageCacheKey.queryTag("getVehiclesByType", Vehicle.VehicleType.VAN));
+
+        assertThat(cacheManager.getCache("vehiclePages").get(vansPage)).isNull();
+        assertThat(cacheManager.getCache("vehiclePages").get(carsPage)).isNotNull();
+    }
+
+    @Test
+    void evictionsShouldBeCountedPerCache() {
+        invalidationService.invalidate(CacheTags.vehicle(12L));
+
+        assertThat(meterRegistry.get("fleet.cache.targeted.evictions").tag("cache", "vehicles").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("fleet.cache.targeted.evictions").tag("cache", "vehiclePages").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void evictedEntriesShouldLeaveTheIndex() {
+        int before = dependencyIndex.size();
+
+        invalidationService.invalidate(CacheTags.vehicle(12L));
+
+        assertThat(dependencyIndex.size()).isEqualTo(before - 5);
+        assertThat(dependencyIndex.entriesFor(CacheTags.vehicle(12L))).isEmpty();
+    }
+
+    @Test
+    void putOverAnExpiredEntryShouldKeepTheNewEntryInvalidatable() throws InterruptedException {
+        CacheProperties properties = new CacheProperties();
+        properties.getSpecs().get("vehicles").setExpireAfterWrite(Duration.ofMillis(50));
+        CacheDependencyIndex index = new CacheConfig().cacheDependencyIndex();
+        CacheManager expiringCacheManager = new CacheConfig().caffeineCacheManager(properties, index, (name, key) -> null);
+        CacheInvalidationService service = new CacheInvalidationService(expiringCacheManager, index, new SimpleMeterRegistry(),
+                new InMemoryCacheInvalidationBus());
+
+        expiringCacheManager.getCache("vehicles").put("vehicle:12", VehicleDto.builder().id(12L).mileage(1000.0).build());
+        Thread.sleep(100);
+        expiringCacheManager.getCache("vehicles").put("vehicle:12", VehicleDto.builder().id(12L).mileage(2000.0).build());
+
+        assertThat(index.entriesFor(CacheTags.vehicle(12L)))
+                .containsExactly(new CacheDependencyIndex.EntryRef("vehicles", "vehicle:12"));
+        service.invalidate(CacheTags.vehicle(12L));
+        assertThat(expiringCacheManager.getCache("vehicles").get("vehicle:12")).isNull();
+    }
+}
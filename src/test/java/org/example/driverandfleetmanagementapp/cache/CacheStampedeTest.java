@@ -0,0 +1,147 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.service.driver.DriverService;
+import org.example.driverandfleetmanagementapp.service.driver.DriverServiceImpl;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+@SpringJUnitConfig({CacheConfig.class, PageCacheKeyGenerator.class, CacheInvalidationService.class,
+        SimpleMeterRegistry.class, NegativeLookupCache.class, VehicleServiceImpl.class, DriverServiceImpl.class})
+@ActiveProfiles("test")
+class CacheStampedeTest {
+
+    private static final int CALLERS = 32;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private VehicleRepository vehicleRepository;
+
+    @MockitoBean
+    private DriverRepository driverRepository;
+
+    @MockitoBean
+    private VehicleMapper vehicleMapper;
+
+    @MockitoBean
+    private DriverMapper driverMapper;
+
+    @MockitoBean
+    private CacheReloader cacheReloader;
+
+    @MockitoBean
+    private OutboxPublisher outboxPublisher;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void concurrentMissesOnVehicleShouldShareOneRepositoryCall() throws Exception {
+        Vehicle vehicle = Vehicle.builder().id(12L).build();
+        when(vehicleRepository.findById(12L)).thenAnswer(invocation -> {
+            Thread.sleep(200); // slow query keeps the key in flight while the other callers arrive
+            return Optional.of(vehicle);
+        });
+        when(vehicleMapper.toDto(any(Vehicle.class))).thenReturn(VehicleDto.builder().id(12L).build());
+
+        List<VehicleDto> results = runConcurrently(() -> vehicleService.getVehicleById(12L));
+
+        assertThat(results).hasSize(CALLERS).allMatch(dto -> dto.getId().equals(12L));
+        verify(vehicleRepository, times(1)).findById(12L);
+    }
+
+    @Test
+    void concurrentMissesOnLicenseNumberShouldShareOneRepositoryCall() throws Exception {
+        Driver driver = Driver.builder().id(7L).licenseNumber("123456789").build();
+        when(driverRepository.findByLicenseNumber("123456789")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(driver);
+        });
+        when(driverMapper.toDto(any(Driver.class))).thenReturn(DriverDto.builder().id(7L).licenseNumber("123456789").build());
+
+        List<DriverDto> results = runConcurrently(() -> driverService.getDriverByLicenseNumber("123456789"));
+
+        assertThat(results).hasSize(CALLERS).allMatch(dto -> dto.getId().equals(7L));
+        verify(driverRepository, times(1)).findByLicenseNumber("123456789");
+    }
+
+    @Test
+    void missesOnDifferentKeysShouldNotBlockEachOther() throws Exception {
+        when(vehicleRepository.findById(any())).thenAnswer(invocation ->
+                Optional.of(Vehicle.builder().id(invocation.getArgument(0)).build()));
+        when(vehicleMapper.toDto(any(Vehicle.class))).thenAnswer(invocation ->
+                VehicleDto.builder().id(((Vehicle) invocation.getArgument(0)).getId()).build());
+
+        vehicleService.getVehicleById(1L);
+        vehicleService.getVehicleById(2L);
+        vehicleService.getVehicleById(1L);
+
+        verify(vehicleRepository, times(1)).findById(1L);
+        verify(vehicleRepository, times(1)).findById(2L);
+    }
+
+
+    private <T> List<T> runConcurrently(Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.config.CacheProperties;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class CacheWarmupTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Mock
+    private VehicleMapper vehicleMapper;
+
+    @Mock
+    private DriverMapper driverMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CacheProperties cacheProperties;
+    private CacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheWarmup cacheWarmup;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getWarmup().setBatchSize(2);
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheManager = cacheConfig.caffeineCacheManager(cacheProperties, cacheConfig.cacheDependencyIndex(), (name, key) -> null);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheWarmup = new CacheWarmup(cacheProperties, cacheManager, vehicleRepository, driverRepository,
+                vehicleMapper, driverMapper, transactionManager, meterRegistry);
+    }
+
+    private void givenVehicles(long... ids) {
+        when(vehicleRepository.findIdsByStatusInAfter(anyCollection(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            int limit = ((Pageable) invocation.getArgument(2)).getPageSize();
+            return Arrays.stream(ids).filter(id -> id > afterId).limit(limit).boxed().toList();
+        });
+        when(vehicleRepository.findByIdIn(anyCollection())).thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                .map(id -> Vehicle.builder().id(id).licensePlate("PL" + id).build())
+                .toList());
+        when(vehicleMapper.toDto(any(Vehicle.class))).thenAnswer(invocation -> {
+            Vehicle vehicle = invocation.getArgument(0);
+            return VehicleDto.builder().id(vehicle.getId()).licensePlate(vehicle.getLicensePlate()).build();
+        });
+    }
+
+    private void givenDrivers(long... ids) {
+        when(driverRepository.findIdsByStatusInAfter(anyCollection(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            int limit = ((Pageable) invocation.getArgument(2)).getPageSize();
+            return Arrays.stream(ids).filter(id -> id > afterId).limit(limit).boxed().toList();
+        });
+        lenient().when(driverRepository.findByIdIn(anyCollection())).thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                .map(id -> Driver.builder().id(id).licenseNumber("LIC" + id).build())
+                .toList());
+        lenient().when(driverMapper.toDto(any(Driver.class))).thenAnswer(invocation -> {
+            Driver driver = invocation.getArgument(0);
+            return DriverDto.builder().id(driver.getId()).licenseNumber(driver.getLicenseNumber()).build();
+        });
+    }
+
+    @Test
+    void warmUpShouldFillIdAndNaturalKeyEntriesInBatches() {
+        givenVehicles(3, 5, 8);
+        givenDrivers(1, 2);
+
+        cacheWarmup.warmUp();
+
+        assertThat(cacheWarmup.getState()).isEqualTo(CacheWarmup.State.COMPLETED);
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:8")).isNotNull();
+        assertThat(cacheManager.getCache("vehiclesByPlate").get("licensePlate:PL3")).isNotNull();
+        assertThat(cacheManager.getCache("drivers").get("driver:2")).isNotNull();
+        assertThat(cacheManager.getCache("driversByLicense").get("license:LIC1")).isNotNull();
+
+        verify(vehicleRepository).findIdsByStatusInAfter(anyCollection(), eq(0L), any(Pageable.class));
+        verify(vehicleRepository).findIdsByStatusInAfter(anyCollection(), eq(5L), any(Pageable.class));
+        verify(vehicleRepository).findIdsByStatusInAfter(anyCollection(), eq(8L), any(Pageable.class));
+        verify(vehicleRepository, times(2)).findByIdIn(anyCollection());
+
+        assertThat(meterRegistry.get("fleet.cache.warmup.entities").tag("entity", "vehicle").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("fleet.cache.warmup.entities").tag("entity", "driver").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("fleet.cache.warmup.duration").tag("outcome", "completed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void warmUpShouldNotOverwriteEntriesCachedMeanwhile() {
+        VehicleDto fresh = VehicleDto.builder().id(3L).licensePlate("PL3").mileage(99.0).build();
+        cacheManager.getCache("vehicles").put("vehicle:3", fresh);
+        givenVehicles(3);
+        givenDrivers();
+
+        cacheWarmup.warmUp();
+
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:3").get()).isSameAs(fresh);
+    }
+
+    @Test
+    void warmUpShouldStopAtCacheCapacity() {
+        cacheProperties.getSpecs().get("vehicles").setMaximumWeight(3);
+        givenVehicles(1, 2, 3, 4, 5, 6);
+        givenDrivers();
+
+        cacheWarmup.warmUp();
+
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:3")).isNotNull();
+        assertThat(cacheManager.getCache("vehicles").get("vehicle:4")).isNull();
+        assertThat(meterRegistry.get("fleet.cache.warmup.entities").tag("entity", "vehicle").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void healthShouldBeOutOfServiceUntilWarmUpHasFinished() {
+        assertThat(cacheWarmup.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        givenVehicles(1);
+        givenDrivers(1);
+        cacheWarmup.warmUp();
+
+        assertThat(cacheWarmup.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(cacheWarmup.health().getDetails())
+                .containsEntry("vehicles", 1L)
+                .containsEntry("drivers", 1L)
+                .containsKey("durationMs");
+    }
+
+    @Test
+    void failedWarmUpShouldStillReportReady() {
+        when(vehicleRepository.findIdsByStatusInAfter(anyCollection(), any(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        cacheWarmup.warmUp();
+
+        assertThat(cacheWarmup.getState()).isEqualTo(CacheWarmup.State.FAILED);
+        assertThat(cacheWarmup.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void disabledWarmUpShouldNotTouchDatabase() {
+        cacheProperties.getWarmup().setEnabled(false);
+
+        cacheWarmup.warmUp();
+
+        assertThat(cacheWarmup.getState()).isEqualTo(CacheWarmup.State.DISABLED);
+        assertThat(cacheWarmup.health().getStatus()).isEqualTo(Status.UP);
+        verifyNoInteractions(vehicleRepository, driverRepository);
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.config.CacheProperties;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ActiveProfiles("test")
+class CrossNodeInvalidationTest {
+
+    private final InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+    private final ConcurrentMapCacheManager sharedTier = new ConcurrentMapCacheManager();
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @Test
+    void statusChangeOnOneNodeShouldEvictStaleCopyOnOtherNode() {
+        VehicleDto available = VehicleDto.builder().id(12L).status(Vehicle.VehicleStatus.AVAILABLE).build();
+        nodeA.vehicles().put("vehicle:12", available);
+        assertThat(nodeB.vehicles().get("vehicle:12").get()).isEqualTo(available); // promoted from L2
+
+        nodeA.invalidationService.invalidate(CacheTags.vehicle(12L));
+
+        assertThat(nodeA.vehicles().get("vehicle:12")).isNull();
+        assertThat(nodeB.vehicles().get("vehicle:12")).isNull();
+        assertThat(nodeB.meterRegistry.get("fleet.cache.remote.invalidations").counter().count()).isEqualTo(1.0);
+        assertThat(nodeA.meterRegistry.get("fleet.cache.remote.invalidations").counter().count()).isZero();
+    }
+
+    @Test
+    void invalidationInsideTransactionShouldReachOtherNodeOnlyOnCommit() {
+        VehicleDto vehicle = VehicleDto.builder().id(12L).build();
+        nodeB.localCacheManager.getCache("vehicles").put("vehicle:12", vehicle);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            nodeA.invalidationService.invalidate(CacheTags.vehicle(12L));
+            assertThat(nodeB.localCacheManager.getCache("vehicles").get("vehicle:12")).isNotNull();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(nodeB.localCacheManager.getCache("vehicles").get("vehicle:12")).isNull();
+    }
+
+    @Test
+    void rolledBackInvalidationShouldNotReachOtherNode() {
+        nodeB.localCacheManager.getCache("vehicles").put("vehicle:12", VehicleDto.builder().id(12L).build());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            nodeA.invalidationService.invalidate(CacheTags.vehicle(12L));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(nodeB.localCacheManager.getCache("vehicles").get("vehicle:12")).isNotNull();
+    }
+
+    @Test
+    void entriesDerivedFromInvalidatedEntityShouldBeEvictedOnOtherNode() {
+        VehicleDto vehicle = VehicleDto.builder().id(12L).licensePlate("ABC12345").build();
+        nodeB.localCacheManager.getCache("vehiclesByPlate").put("licensePlate:ABC12345", vehicle);
+
+        nodeA.invalidationService.invalidate(CacheTags.vehicle(12L));
+
+        assertThat(nodeB.localCacheManager.getCache("vehiclesByPlate").get("licensePlate:ABC12345")).isNull();
+    }
+
+    @Test
+    void loaderShouldRunOnceAcrossNodesThanksToSharedTier() {
+        AtomicInteger loads = new AtomicInteger();
+
+        VehicleDto fromA = nodeA.vehicles().get("vehicle:12", () -> {
+            loads.incrementAndGet();
+            return VehicleDto.builder().id(12L).build();
+        });
+        VehicleDto fromB = nodeB.vehicles().get("vehicle:12", () -> {
+            loads.incrementAndGet();
+            return VehicleDto.builder().id(12L).build();
+        });
+
+        assertThat(fromA).isEqualTo(fromB);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void entryLoadedOnlyByTheReceivingNodeShouldLeaveTheSharedTierToo() {
+        String page = "page:vehicles:status=AVAILABLE:0:20";
+        VehicleDto stale = VehicleDto.builder().id(12L).status(Vehicle.VehicleStatus.AVAILABLE).build();
+        nodeB.cacheManager.getCache("vehiclePages").get(page, () -> List.of(stale));
+
+        // node A never held the page, it only knows the tag
+        nodeA.invalidationService.invalidate(CacheTags.vehicle(12L));
+
+        assertThat(sharedTier.getCache("vehiclePages").get(page)).isNull();
+        AtomicInteger loads = new AtomicInteger();
+        nodeB.cacheManager.getCache("vehiclePages").get(page, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void missedMessagesShouldClearLocalLevelOnly() {
+        nodeB.vehicles().put("vehicle:12", VehicleDto.builder().id(12L).build());
+
+        nodeB.subscriber.onMessagesMissed();
+
+        assertThat(nodeB.localCacheManager.getCache("vehicles").get("vehicle:12")).isNull();
+        assertThat(sharedTier.getCache("vehicles").get("vehicle:12")).isNotNull();
+    }
+
+
+    private class Node {
+
+        private final CacheManager localCacheManager;
+        private final CacheManager cacheManager;
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final CacheInvalidationService invalidationService;
+        private CacheInvalidationBus.Subscriber subscriber;
+
+        Node() {
+            CacheConfig cacheConfig = new CacheConfig();
+            CacheDependencyIndex dependencyIndex = cacheConfig.cacheDependencyIndex();
+            localCacheManager = cacheConfig.caffeineCacheManager(new CacheProperties(), dependencyIndex, (name, key) -> null);
+            cacheManager = new TwoTierCacheManager(localCacheManager, sharedTier::getCache);
+
+            CacheInvalidationBus nodeBus = new CacheInvalidationBus() {
+                @Override
+                public void publish(String origin, Collection<String> tags) {
+                    bus.publish(origin, tags);
+                }
+
+                @Override
+                public void subscribe(Subscriber subscriber) {
+                    Node.this.subscriber = subscriber;
+                    bus.subscribe(subscriber);
+                }
+            };
+            invalidationService = new CacheInvalidationService(cacheManager, dependencyIndex, meterRegistry, nodeBus);
+        }
+
+        Cache vehicles() {
+            return cacheManager.getCache("vehicles");
+        }
+    }
+}
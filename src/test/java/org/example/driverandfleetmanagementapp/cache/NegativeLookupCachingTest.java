@@ -0,0 +1,223 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.exception.custom.ResourceNotFoundException;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.service.driver.DriverService;
+import org.example.driverandfleetmanagementapp.service.driver.DriverServiceImpl;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+@SpringJUnitConfig({CacheConfig.class, PageCacheKeyGenerator.class, CacheInvalidationService.class,
+        SimpleMeterRegistry.class, NegativeLookupCache.class, VehicleServiceImpl.class, DriverServiceImpl.class})
+@ActiveProfiles("test")
+class NegativeLookupCachingTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private VehicleRepository vehicleRepository;
+
+    @MockitoBean
+    private DriverRepository driverRepository;
+
+    @MockitoBean
+    private VehicleMapper vehicleMapper;
+
+    @MockitoBean
+    private DriverMapper driverMapper;
+
+    @MockitoBean
+    private CacheReloader cacheReloader;
+
+    @MockitoBean
+    private OutboxPublisher outboxPublisher;
+
+    private Vehicle vehicle;
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        vehicle = Vehicle.builder()
+                .id(1L)
+                .licensePlate("WX12345")
+                .brand("Toyota")
+                .model("Corolla")
+                .type(Vehicle.VehicleType.CAR)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+        driver = Driver.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .licenseNumber("123456789")
+                .licenseType(Driver.LicenseType.B)
+                .status(Driver.DriverStatus.ACTIVE)
+                .build();
+
+        when(vehicleMapper.toDto(any(Vehicle.class))).thenAnswer(invocation -> VehicleDto.builder()
+                .id(((Vehicle) invocation.getArgument(0)).getId())
+                .licensePlate(((Vehicle) invocation.getArgument(0)).getLicensePlate())
+                .build());
+        when(driverMapper.toDto(any(Driver.class))).thenAnswer(invocation -> DriverDto.builder()
+                .id(((Driver) invocation.getArgument(0)).getId())
+                .licenseNumber(((Driver) invocation.getArgument(0)).getLicenseNumber())
+                .build());
+    }
+
+    @Test
+    void unknownPlateShouldBeLookedUpOnlyOnceWithinTtl() {
+        when(vehicleRepository.findByLicensePlate("NOPE123")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> vehicleService.getVehicleByLicensePlate("NOPE123"))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("NOPE123");
+        }
+
+        verify(vehicleRepository, times(1)).findByLicensePlate("NOPE123");
+    }
+
+    @Test
+    void unknownLicenseShouldBeLookedUpOnlyOnceWithinTtl() {
+        when(driverRepository.findByLicenseNumber("000000000")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> driverService.getDriverByLicenseNumber("000000000"))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        verify(driverRepository, times(1)).findByLicenseNumber("000000000");
+    }
+
+    @Test
+    void createVehicleShouldEvictNegativeEntryForItsPlate() {
+        when(vehicleRepository.findByLicensePlate("WX12345")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> vehicleService.getVehicleByLicensePlate("WX12345"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        VehicleDto newVehicle = VehicleDto.builder()
+                .licensePlate("WX12345")
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .technicalInspectionDate(LocalDate.now().plusYears(1))
+                .build();
+        when(vehicleMapper.toEntity(newVehicle)).thenReturn(vehicle);
+        when(vehicleRepository.save(vehicle)).thenReturn(vehicle);
+        vehicleService.createVehicle(newVehicle);
+
+        when(vehicleRepository.findByLicensePlate("WX12345")).thenReturn(Optional.of(vehicle));
+        assertThat(vehicleService.getVehicleByLicensePlate("WX12345").getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void missReadWhileTheVehicleWasCreatedShouldNotBeRemembered() {
+        VehicleDto newVehicle = VehicleDto.builder()
+                .licensePlate("WX12345")
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .technicalInspectionDate(LocalDate.now().plusYears(1))
+                .build();
+        when(vehicleMapper.toEntity(newVehicle)).thenReturn(vehicle);
+        when(vehicleRepository.save(vehicle)).thenReturn(vehicle);
+        // The lookup finds nothing, then the create commits and evicts before the miss is stored
+        when(vehicleRepository.findByLicensePlate("WX12345")).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> vehicleService.createVehicle(newVehicle)).join();
+            return Optional.empty();
+        }).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> vehicleService.getVehicleByLicensePlate("WX12345"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        doReturn(Optional.of(vehicle)).when(vehicleRepository).findByLicensePlate("WX12345");
+        assertThat(vehicleService.getVehicleByLicensePlate("WX12345").getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateVehicleShouldEvictNegativeEntryForNewPlate() {
+        when(vehicleRepository.findByLicensePlate("NEW1234")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> vehicleService.getVehicleByLicensePlate("NEW1234"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        VehicleDto changes = VehicleDto.builder()
+                .licensePlate("NEW1234")
+                .technicalInspectionDate(LocalDate.now().plusYears(1))
+                .build();
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        doAnswer(invocation -> {
+            vehicle.setLicensePlate("NEW1234");
+            return null;
+        }).when(vehicleMapper).updateVehicleFromDto(changes, vehicle);
+        vehicleService.updateVehicle(1L, changes);
+
+        when(vehicleRepository.findByLicensePlate("NEW1234")).thenReturn(Optional.of(vehicle));
+        assertThat(vehicleService.getVehicleByLicensePlate("NEW1234").getLicensePlate()).isEqualTo("NEW1234");
+    }
+
+    @Test
+    void createDriverShouldEvictNegativeEntryForItsLicense() {
+        when(driverRepository.findByLicenseNumber("123456789")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> driverService.getDriverByLicenseNumber("123456789"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        DriverDto newDriver = DriverDto.builder()
+                .licenseNumber("123456789")
+                .status(Driver.DriverStatus.ACTIVE)
+                .build();
+        when(driverMapper.toEntity(newDriver)).thenReturn(driver);
+        when(driverRepository.save(driver)).thenReturn(driver);
+        driverService.createDriver(newDriver);
+
+        when(driverRepository.findByLicenseNumber("123456789")).thenReturn(Optional.of(driver));
+        assertThat(driverService.getDriverByLicenseNumber("123456789").getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateDriverShouldEvictNegativeEntryForNewLicense() {
+        when(driverRepository.findByLicenseNumber("987654321")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> driverService.getDriverByLicenseNumber("987654321"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        DriverDto changes = DriverDto.builder().licenseNumber("987654321").build();
+        when(driverRepository.findById(1L)).thenReturn(Optional.of(driver));
+        doAnswer(invocation -> {
+            driver.setLicenseNumber("987654321");
+            return null;
+        }).when(driverMapper).updateDriverFromDto(changes, driver);
+        driverService.updateDriver(1L, changes);
+
+        when(driverRepository.findByLicenseNumber("987654321")).thenReturn(Optional.of(driver));
+        assertThat(driverService.getDriverByLicenseNumber("987654321").getLicenseNumber()).isEqualTo("987654321");
+    }
+}
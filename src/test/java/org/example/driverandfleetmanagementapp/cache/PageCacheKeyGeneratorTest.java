@@ -0,0 +1,83 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ActiveProfiles("test")
+class PageCacheKeyGeneratorTest {
+
+    private PageCacheKeyGenerator keyGenerator;
+    private Method byType;
+    private Method byBrandAndModel;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        keyGenerator = new PageCacheKeyGenerator();
+        byType = VehicleServiceImpl.class.getMethod("getVehiclesByType", Vehicle.VehicleType.class, Pageable.class);
+        byBrandAndModel = VehicleServiceImpl.class.getMethod("getVehiclesByBrandAndModel", String.class, String.class, Pageable.class);
+    }
+
+    @Test
+    void samePageShouldProduceEqualKeys() {
+        Object first = key(byType, Vehicle.VehicleType.CAR, PageRequest.of(1, 10, Sort.by("id")));
+        Object second = key(byType, Vehicle.VehicleType.CAR, PageRequest.of(1, 10, Sort.by("id")));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    }
+
+    @Test
+    void differentPageNumbersShouldNotCollide() {
+        assertThat(key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10)))
+                .isNotEqualTo(key(byType, Vehicle.VehicleType.CAR, PageRequest.of(1, 10)));
+    }
+
+    @Test
+    void differentPageSizesShouldNotCollide() {
+        assertThat(key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10)))
+                .isNotEqualTo(key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void differentSortsShouldNotCollide() {
+        Object byIdAsc = key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+        Object byIdDesc = key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+        Object byMileage = key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "mileage")));
+
+        assertThat(byIdAsc).isNotEqualTo(byIdDesc).isNotEqualTo(byMileage);
+        assertThat(byIdDesc).isNotEqualTo(byMileage);
+    }
+
+    @Test
+    void differentCriteriaShouldNotCollide() {
+        assertThat(key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10)))
+                .isNotEqualTo(key(byType, Vehicle.VehicleType.VAN, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void criteriaContainingSeparatorShouldNotCollide() {
+        assertThat(key(byBrandAndModel, "Mercedes:Benz", "Sprinter", PageRequest.of(0, 10)))
+                .isNotEqualTo(key(byBrandAndModel, "Mercedes", "Benz:Sprinter", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void unpagedRequestShouldNotCollideWithFirstPage() {
+        assertThat(key(byType, Vehicle.VehicleType.CAR, Pageable.unpaged()))
+                .isNotEqualTo(key(byType, Vehicle.VehicleType.CAR, PageRequest.of(0, 10)));
+    }
+
+
+    private Object key(Method method, Object... params) {
+        return keyGenerator.generate(new Object(), method, params);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+
+@SpringJUnitConfig({CacheConfig.class, PageCacheKeyGenerator.class, CacheInvalidationService.class,
+        SimpleMeterRegistry.class, NegativeLookupCache.class, VehicleServiceImpl.class})
+@ActiveProfiles("test")
+class PagedCachingTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private VehicleRepository vehicleRepository;
+
+    @MockitoBean
+    private DriverRepository driverRepository;
+
+    @MockitoBean
+    private VehicleMapper vehicleMapper;
+
+    @MockitoBean
+    private CacheReloader cacheReloader;
+
+    @MockitoBean
+    private OutboxPublisher outboxPublisher;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        when(vehicleRepository.findByType(eq(Vehicle.VehicleType.CAR), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(1);
+                    long id = pageable.getOffset() + 1;
+                    return new PageImpl<>(List.of(Vehicle.builder().id(id).build()), pageable, 100);
+                });
+        when(vehicleMapper.toDto(any(Vehicle.class)))
+                .thenAnswer(invocation -> VehicleDto.builder().id(((Vehicle) invocation.getArgument(0)).getId()).build());
+    }
+
+    @Test
+    void differentPagesShouldBeCachedSeparately() {
+        Page<VehicleDto> firstPage = vehicleService.getVehiclesByType(Vehicle.VehicleType.CAR, PageRequest.of(0, 10));
+        Page<VehicleDto> secondPage = vehicleService.getVehiclesByType(Vehicle.VehicleType.CAR, PageRequest.of(1, 10));
+
+        assertThat(firstPage.getContent().getFirst().getId()).isEqualTo(1L);
+        assertThat(secondPage.getContent().getFirst().getId()).isEqualTo(11L);
+        verify(vehicleRepository, times(2)).findByType(eq(Vehicle.VehicleType.CAR), any(Pageable.class));
+    }
+
+    @Test
+    void samePageShouldBeServedFromCache() {
+        vehicleService.getVehiclesByType(Vehicle.VehicleType.CAR, PageRequest.of(2, 10));
+        Page<VehicleDto> cached = vehicleService.getVehiclesByType(Vehicle.VehicleType.CAR, PageRequest.of(2, 10));
+
+        assertThat(cached.getContent().getFirst().getId()).isEqualTo(21L);
+        verify(vehicleRepository, times(1)).findByType(eq(Vehicle.VehicleType.CAR), any(Pageable.class));
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.test.context.ActiveProfiles;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+@ActiveProfiles("test")
+class PostgresCacheInvalidationBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PostgresCacheInvalidationBus bus(String channel) {
+        return new PostgresCacheInvalidationBus(channel, new DataSourceProperties(), null);
+    }
+
+    @Test
+    void smallInvalidationShouldFitInOnePayload() throws Exception {
+        List<String> payloads = bus("fleet_cache_invalidation").payloads("node-1", List.of("vehicle:12", "licensePlate:ABC12345"));
+
+        assertThat(payloads).hasSize(1);
+        PostgresCacheInvalidationBus.Message message = objectMapper.readValue(payloads.get(0), PostgresCacheInvalidationBus.Message.class);
+        assertThat(message.origin()).isEqualTo("node-1");
+        assertThat(message.tags()).containsExactly("vehicle:12", "licensePlate:ABC12345");
+    }
+
+    @Test
+    void largeInvalidationShouldBeSplitBelowNotifyLimit() throws Exception {
+        List<String> tags = IntStream.range(0, 2_000).mapToObj(i -> "vehicle:" + i).toList();
+
+        List<String> payloads = bus("fleet_cache_invalidation").payloads("node-1", tags);
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        List<String> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThan(PostgresCacheInvalidationBus.MAX_PAYLOAD_BYTES);
+            decoded.addAll(objectMapper.readValue(payload, PostgresCacheInvalidationBus.Message.class).tags());
+        }
+        assertThat(decoded).containsExactlyElementsOf(tags);
+    }
+
+    @Test
+    void channelNameShouldBeValidated() {
+        assertThatThrownBy(() -> bus("cache; DROP TABLE vehicles"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
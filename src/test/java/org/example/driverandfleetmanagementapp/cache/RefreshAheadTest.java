@@ -0,0 +1,94 @@
+package org.example.driverandfleetmanagementapp.cache;
+
+import org.example.driverandfleetmanagementapp.config.CacheConfig;
+import org.example.driverandfleetmanagementapp.config.CacheProperties;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+
+@ActiveProfiles("test")
+class RefreshAheadTest {
+
+    private final AtomicInteger reloads = new AtomicInteger();
+    private final CountDownLatch releaseReload = new CountDownLatch(1);
+    private CacheDependencyIndex dependencyIndex;
+    private Cache vehicles;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties properties = new CacheProperties();
+        properties.getSpecs().get("vehicles").setRefreshAfterWrite(Duration.ofMillis(50));
+
+        CacheConfig cacheConfig = new CacheConfig();
+        dependencyIndex = cacheConfig.cacheDependencyIndex();
+        CacheReloader reloader = (name, key) -> {
+            reloads.incrementAndGet();
+            try {
+                releaseReload.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return VehicleDto.builder().id(12L).mileage(2000.0).build();
+        };
+        vehicles = cacheConfig.caffeineCacheManager(properties, dependencyIndex, reloader).getCache("vehicles");
+    }
+
+    @Test
+    void staleEntryShouldBeServedWhileOneBackgroundReloadRuns() throws Exception {
+        vehicles.put("vehicle:12", VehicleDto.builder().id(12L).mileage(1000.0).build());
+        Thread.sleep(100);
+
+        List<Thread> readers = new ArrayList<>();
+        List<Double> seen = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Thread reader = new Thread(() -> seen.add(((VehicleDto) vehicles.get("vehicle:12").get()).getMileage()));
+            readers.add(reader);
+            reader.start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertThat(seen).hasSize(16).containsOnly(1000.0);
+        await().atMost(Duration.ofSeconds(2)).until(() -> reloads.get() > 0);
+        assertThat(reloads.get()).isEqualTo(1);
+
+        releaseReload.countDown();
+        await().atMost(Duration.ofSeconds(2))
+                .until(() -> ((VehicleDto) vehicles.get("vehicle:12").get()).getMileage() == 2000.0);
+    }
+
+    @Test
+    void missShouldNotBeLoadedByRefreshLoader() {
+        releaseReload.countDown();
+
+        assertThat(vehicles.get("vehicle:99")).isNull();
+        assertThat(reloads.get()).isZero();
+    }
+
+    @Test
+    void reloadedEntryShouldStayInDependencyIndex() {
+        releaseReload.countDown();
+        vehicles.put("vehicle:12", VehicleDto.builder().id(12L).mileage(1000.0).build());
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> {
+            vehicles.get("vehicle:12");
+            return reloads.get() > 0;
+        });
+
+        assertThat(dependencyIndex.entriesFor(CacheTags.vehicle(12L)))
+                .containsExactly(new CacheDependencyIndex.EntryRef("vehicles", "vehicle:12"));
+    }
+}
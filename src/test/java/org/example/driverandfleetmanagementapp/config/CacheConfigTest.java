@@ -1,10 +1,16 @@
 package org.example.driverandfleetmanagementapp.config;
 
 
+import com.github.benmanes.caffeine.cache.Policy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.test.context.ActiveProfiles;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,7 +23,7 @@ public class CacheConfigTest {
     @BeforeEach
     void setUp() {
         CacheConfig cacheConfig = new CacheConfig();
-        cacheManager = cacheConfig.cacheManager();
+        cacheManager = cacheConfig.caffeineCacheManager(new CacheProperties(), cacheConfig.cacheDependencyIndex(), (name, key) -> null);
     }
 
     @Test
@@ -29,7 +35,42 @@ public class CacheConfigTest {
     void cacheManagerShouldContainThisCaches() {
         assertThat(cacheManager.getCacheNames())
                 .contains("vehicles")
-                .contains("drivers");
+                .contains("drivers")
+                .contains("vehiclesByPlate")
+                .contains("driversByLicense")
+                .contains("vehiclePlateMisses")
+                .contains("driverLicenseMisses")
+                .contains("vehiclePages")
+                .contains("driverPages");
+    }
+
+    @Test
+    void unknownCacheShouldNotBeCreatedOnDemand() {
+        assertThat(cacheManager.getCache("vehicle")).isNull();
+    }
+
+    @Test
+    void eachCacheShouldUseItsOwnSpec() {
+        Policy.FixedExpiration<Object, Object> entityExpiry = nativeCache("vehicles").policy().expireAfterWrite().orElseThrow();
+        Policy.FixedExpiration<Object, Object> pageExpiry = nativeCache("vehiclePages").policy().expireAfterWrite().orElseThrow();
+
+        assertThat(entityExpiry.getExpiresAfter()).isEqualTo(Duration.ofMinutes(15));
+        assertThat(pageExpiry.getExpiresAfter()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(nativeCache("vehiclePages").policy().eviction().orElseThrow().getMaximum()).isEqualTo(10_000);
     }
-}
 
+    @Test
+    void elementsWeigherShouldWeighPagesAndCollectionsBySize() {
+        var weigher = CacheConfig.weigher(CacheProperties.WeigherType.ELEMENTS);
+
+        assertThat(weigher.weigh("key", new PageImpl<>(List.of(1, 2, 3)))).isEqualTo(3);
+        assertThat(weigher.weigh("key", Set.of(1, 2))).isEqualTo(2);
+        assertThat(weigher.weigh("key", new PageImpl<>(List.of()))).isEqualTo(1);
+        assertThat(CacheConfig.weigher(CacheProperties.WeigherType.ENTRY).weigh("key", List.of(1, 2))).isEqualTo(1);
+    }
+
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
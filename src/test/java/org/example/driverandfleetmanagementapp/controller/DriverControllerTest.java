@@ -1,8 +1,15 @@
 package org.example.driverandfleetmanagementapp.controller;
 
 
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
+import org.example.driverandfleetmanagementapp.export.ExportFormat;
+import org.example.driverandfleetmanagementapp.export.FleetExportService;
 import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.service.bulkimport.BulkImportService;
 import org.example.driverandfleetmanagementapp.service.driver.DriverService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +21,9 @@ import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,6 +40,12 @@ class DriverControllerTest {
     private DriverService driverService;
 
 
+    @Mock
+    private FleetExportService fleetExportService;
+
+    @Mock
+    private BulkImportService bulkImportService;
+
     @InjectMocks
     private DriverController driverController;
 
@@ -177,4 +193,40 @@ class DriverControllerTest {
     }
 
 
-}
\ No newline at end of file
+
+    @Test
+    void scrollDriversByStatus_ShouldPassCursorRequestToService() {
+        CursorPage<DriverDto> cursorPage = new CursorPage<>(List.of(driverDto), "next", true);
+        CursorPageRequest request = new CursorPageRequest("abc", 20, "id", Sort.Direction.ASC);
+        when(driverService.scrollDriversByStatus(Driver.DriverStatus.ACTIVE, request)).thenReturn(cursorPage);
+
+        ResponseEntity<CursorPage<DriverDto>> response = driverController.scrollDriversByStatus(Driver.DriverStatus.ACTIVE, "abc", 20, "id", Sort.Direction.ASC);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(cursorPage);
+    }
+
+    @Test
+    void exportDrivers_ShouldStreamWithFormatContentTypeAndAttachmentName() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = driverController.exportDrivers(ExportFormat.CSV);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ExportFormat.CSV.getMediaType());
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("drivers.csv");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(fleetExportService).exportDrivers(ExportFormat.CSV, out);
+    }
+
+    @Test
+    void importDrivers_ShouldReturnReportFromBulkImportService() throws Exception {
+        ImportReport report = ImportReport.of(List.of(ImportRowResult.created(1, "123456789", 1L)));
+        when(bulkImportService.importDrivers(List.of(driverDto))).thenReturn(report);
+        ByteArrayInputStream ndjson = new ByteArrayInputStream(new byte[0]);
+        when(bulkImportService.importDrivers(ndjson)).thenReturn(report);
+
+        assertThat(driverController.importDrivers(List.of(driverDto)).getBody()).isEqualTo(report);
+        assertThat(driverController.importDriversNdjson(ndjson).getBody()).isEqualTo(report);
+    }
+}
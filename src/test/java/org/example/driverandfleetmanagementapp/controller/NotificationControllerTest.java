@@ -2,6 +2,9 @@ package org.example.driverandfleetmanagementapp.controller;
 
 
 import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderResponse;
+import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderRunDto;
+import org.example.driverandfleetmanagementapp.model.InspectionReminderRun;
+import org.example.driverandfleetmanagementapp.service.notification.InspectionReminderJob;
 import org.example.driverandfleetmanagementapp.dto.notification.VehicleInspectionDto;
 import org.example.driverandfleetmanagementapp.service.notification.NotificationService;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.context.ActiveProfiles;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +32,9 @@ class NotificationControllerTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private InspectionReminderJob inspectionReminderJob;
+
     @InjectMocks
     private NotificationController notificationController;
 
@@ -88,4 +95,40 @@ class NotificationControllerTest {
     }
 
 
-}
\ No newline at end of file
+    @Test
+    void startInspectionReminderRun_ShouldReturnAcceptedRunTriggeredByTheCaller() {
+        InspectionReminderRunDto run = InspectionReminderRunDto.builder()
+                .id(7L)
+                .status(InspectionReminderRun.RunStatus.RUNNING)
+                .triggeredBy("admin")
+                .totalVehicles(1200)
+                .build();
+        when(inspectionReminderJob.start(30, "admin")).thenReturn(run);
+
+        ResponseEntity<InspectionReminderRunDto> response = notificationController.startInspectionReminderRun(
+                30, new UsernamePasswordAuthenticationToken("admin", null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isSameAs(run);
+    }
+
+
+    @Test
+    void getInspectionReminderRun_ShouldReturnProgress() {
+        InspectionReminderRunDto run = InspectionReminderRunDto.builder()
+                .id(7L)
+                .status(InspectionReminderRun.RunStatus.RUNNING)
+                .totalVehicles(1200)
+                .processedVehicles(600)
+                .progressPercent(50.0)
+                .build();
+        when(inspectionReminderJob.getRun(7L)).thenReturn(run);
+
+        ResponseEntity<InspectionReminderRunDto> response = notificationController.getInspectionReminderRun(7L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getProgressPercent()).isEqualTo(50.0);
+    }
+
+
+}
@@ -2,8 +2,15 @@ package org.example.driverandfleetmanagementapp.controller;
 
 
 import org.example.driverandfleetmanagementapp.dto.DriverBasicDto;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
+import org.example.driverandfleetmanagementapp.export.ExportFormat;
+import org.example.driverandfleetmanagementapp.export.FleetExportService;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.service.bulkimport.BulkImportService;
 import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +22,9 @@ import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
@@ -31,6 +41,12 @@ class VehicleControllerTest {
     @Mock
     private VehicleService vehicleService;
 
+    @Mock
+    private FleetExportService fleetExportService;
+
+    @Mock
+    private BulkImportService bulkImportService;
+
     @InjectMocks
     private VehicleController vehicleController;
 
@@ -208,4 +224,40 @@ class VehicleControllerTest {
         verify(vehicleService).updateVehicleStatus(1L, Vehicle.VehicleStatus.IN_SERVICE);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void scrollVehiclesByStatus_ShouldPassCursorRequestToService() {
+        CursorPage<VehicleDto> cursorPage = new CursorPage<>(List.of(vehicleDto), "next", true);
+        CursorPageRequest request = new CursorPageRequest("abc", 20, "id", Sort.Direction.ASC);
+        when(vehicleService.scrollVehiclesByStatus(Vehicle.VehicleStatus.AVAILABLE, request)).thenReturn(cursorPage);
+
+        ResponseEntity<CursorPage<VehicleDto>> response = vehicleController.scrollVehiclesByStatus(Vehicle.VehicleStatus.AVAILABLE, "abc", 20, "id", Sort.Direction.ASC);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(cursorPage);
+    }
+
+    @Test
+    void exportVehicles_ShouldStreamWithFormatContentTypeAndAttachmentName() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = vehicleController.exportVehicles(ExportFormat.CSV);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ExportFormat.CSV.getMediaType());
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("vehicles.csv");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(fleetExportService).exportVehicles(ExportFormat.CSV, out);
+    }
+
+    @Test
+    void importVehicles_ShouldReturnReportFromBulkImportService() throws Exception {
+        ImportReport report = ImportReport.of(List.of(ImportRowResult.created(1, "ABC12345", 1L)));
+        when(bulkImportService.importVehicles(List.of(vehicleDto))).thenReturn(report);
+        ByteArrayInputStream ndjson = new ByteArrayInputStream(new byte[0]);
+        when(bulkImportService.importVehicles(ndjson)).thenReturn(report);
+
+        assertThat(vehicleController.importVehicles(List.of(vehicleDto)).getBody()).isEqualTo(report);
+        assertThat(vehicleController.importVehiclesNdjson(ndjson).getBody()).isEqualTo(report);
+    }
+}
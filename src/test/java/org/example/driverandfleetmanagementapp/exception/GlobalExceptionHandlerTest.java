@@ -15,9 +15,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.context.request.WebRequest;
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -85,6 +90,42 @@ class GlobalExceptionHandlerTest {
         verifyErrorResponse(response, HttpStatus.UNAUTHORIZED, "Invalid username or password", true);
     }
 
+    @Test
+    void handleConnectionPoolExhausted_WhenThePoolTimedOut_ShouldReturnServiceUnavailableWithRetryAfter() {
+        CannotCreateTransactionException exception = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 2000ms."));
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleConnectionPoolExhausted(exception, webRequest);
+
+        verifyErrorResponse(response, HttpStatus.SERVICE_UNAVAILABLE, "The service is overloaded", true);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideDatabaseOutages")
+    void handleConnectionPoolExhausted_WhenTheDatabaseIsUnavailable_ShouldReturnInternalServerError(Exception exception) {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleConnectionPoolExhausted(exception, webRequest);
+
+        verifyErrorResponse(response, HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error occurred", true);
+        assertThat(response.getHeaders().containsKey("Retry-After")).isFalse();
+    }
+
+    private static Stream<Arguments> provideDatabaseOutages() {
+        return Stream.of(
+                Arguments.of(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                        new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 2000ms.",
+                                new SQLException("Connection refused", "08001", new ConnectException("Connection refused"))))),
+                Arguments.of(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new SQLException("password authentication failed for user \"fleet\"", "28P01")))
+        );
+    }
+
+    @Test
+    void handleWeatherServiceUnavailable_ShouldReturnServiceUnavailableStatus() {
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleWeatherServiceUnavailable(webRequest);
+        verifyErrorResponse(response, HttpStatus.SERVICE_UNAVAILABLE, "Weather service unavailable", true);
+    }
+
     @ParameterizedTest
     @MethodSource("provideExceptionsForGlobalHandler")
     void handleGlobalExceptions_ShouldReturnInternalServerErrorStatus(Exception exception, boolean includePath) {
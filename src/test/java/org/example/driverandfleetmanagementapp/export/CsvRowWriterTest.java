@@ -0,0 +1,41 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@ActiveProfiles("test")
+class CsvRowWriterTest {
+
+    @Test
+    void escape_ShouldQuoteOnlyFieldsWithSeparatorsQuotesOrLineBreaks() {
+        assertThat(CsvRowWriter.escape("plain")).isEqualTo("plain");
+        assertThat(CsvRowWriter.escape("a,b")).isEqualTo("\"a,b\"");
+        assertThat(CsvRowWriter.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(CsvRowWriter.escape("two\nlines")).isEqualTo("\"two\nlines\"");
+    }
+
+    @Test
+    void write_ShouldWriteHeaderThenRowsWithEmptyNullsAndJoinedCollections() throws IOException {
+        SequencedMap<String, Function<List<Object>, ?>> columns = new LinkedHashMap<>();
+        columns.put("first", row -> row.get(0));
+        columns.put("second", row -> row.get(1));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CsvRowWriter<List<Object>> writer = new CsvRowWriter<>(columns, out);
+        writer.write(java.util.Arrays.asList(1, null));
+        writer.write(List.of("x", List.of("A", "B")));
+        writer.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("first,second\r\n1,\r\nx,A;B\r\n");
+    }
+}
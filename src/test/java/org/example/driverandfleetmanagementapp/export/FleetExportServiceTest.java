@@ -0,0 +1,192 @@
+package org.example.driverandfleetmanagementapp.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.driverandfleetmanagementapp.mapper.CommonMapperImpl;
+import org.example.driverandfleetmanagementapp.mapper.DriverMapperImpl;
+import org.example.driverandfleetmanagementapp.mapper.VehicleMapperImpl;
+import org.example.driverandfleetmanagementapp.model.Driver;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.repository.DriverRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({FleetExportService.class, VehicleMapperImpl.class, DriverMapperImpl.class, CommonMapperImpl.class,
+        FleetExportServiceTest.Metrics.class})
+class FleetExportServiceTest {
+
+    @Autowired
+    private FleetExportService fleetExportService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+
+    private Vehicle vehicle(int i) {
+        return Vehicle.builder()
+                .licensePlate("EXP" + String.format("%05d", i))
+                .brand("Toyota")
+                .model("Corolla")
+                .productionYear(2020)
+                .type(Vehicle.VehicleType.CAR)
+                .registrationDate(LocalDate.of(2020, 1, 15))
+                .technicalInspectionDate(LocalDate.now().plusYears(1))
+                .mileage(15000.0)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+    }
+
+    private Driver driver(int i) {
+        return Driver.builder()
+                .firstName("Jan")
+                .lastName("Kowalski, Jr.")
+                .licenseNumber(String.format("%09d", i))
+                .licenseType(Driver.LicenseType.B)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .phoneNumber("123456789")
+                .email("jan" + i + "@example.com")
+                .status(Driver.DriverStatus.ACTIVE)
+                .build();
+    }
+
+    // rows are written and detached chunk by chunk, the test data has to be in the database already
+    private void persistAndClear(List<Vehicle> vehicles, List<Driver> drivers) {
+        driverRepository.saveAllAndFlush(drivers);
+        vehicleRepository.saveAllAndFlush(vehicles);
+        entityManager.clear();
+    }
+
+
+    @Test
+    void exportVehicles_AsNdjson_ShouldStreamEveryVehicleOrderedById() throws IOException {
+        long seeded = vehicleRepository.count();
+        int count = FleetExportService.CHUNK_SIZE * 2 + 7;
+        persistAndClear(IntStream.range(0, count).mapToObj(this::vehicle).toList(), List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = fleetExportService.exportVehicles(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(seeded + count);
+        assertThat(lines).hasSize((int) (seeded + count));
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode json = objectMapper.readTree(line);
+            ids.add(json.get("id").asLong());
+            // dates as ISO strings, like the REST API
+            assertThat(json.get("registrationDate").asText()).matches("\\d{4}-\\d{2}-\\d{2}");
+        }
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("fleet.export.rows").tag("entity", "vehicle").counter().count()).isEqualTo(seeded + count);
+        assertThat(meterRegistry.get("fleet.export.throughput").tag("format", "ndjson").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void exportVehicles_ShouldFlushAndClearPersistenceContextAfterEveryChunk() throws IOException {
+        persistAndClear(IntStream.range(0, FleetExportService.CHUNK_SIZE + 1).mapToObj(this::vehicle).toList(), List.of());
+        List<Integer> managedAtFlush = new ArrayList<>();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() {
+                managedAtFlush.add(entityManager.unwrap(org.hibernate.Session.class)
+                        .getStatistics().getEntityCount());
+            }
+        };
+
+        fleetExportService.exportVehicles(ExportFormat.CSV, out);
+
+        // the context holds at most one chunk of vehicles and their drivers while it is being written
+        long drivers = driverRepository.count();
+        assertThat(managedAtFlush).isNotEmpty().allMatch(count -> count <= FleetExportService.CHUNK_SIZE + drivers);
+        assertThat(entityManager.unwrap(org.hibernate.Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void exportDrivers_AsCsv_ShouldIncludeHeaderPlatesAndQuoteSeparators() throws IOException {
+        Driver withVehicles = driver(1);
+        Driver withoutVehicles = driver(2);
+        Vehicle first = vehicle(1);
+        Vehicle second = vehicle(2);
+        first.setDriver(withVehicles);
+        second.setDriver(withVehicles);
+        persistAndClear(List.of(first, second), List.of(withVehicles, withoutVehicles));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = fleetExportService.exportDrivers(ExportFormat.CSV, out);
+
+        List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\r\n"));
+        assertThat(rows).isEqualTo(driverRepository.count());
+        assertThat(lines).hasSize((int) rows + 1);
+        assertThat(lines.getFirst()).isEqualTo("id,firstName,lastName,licenseNumber,licenseType,dateOfBirth,phoneNumber,email,status,vehiclePlates");
+        assertThat(lines).endsWith(
+                withVehicles.getId() + ",Jan,\"Kowalski, Jr.\",000000001,B,1990-01-01,123456789,jan1@example.com,ACTIVE,EXP00001;EXP00002",
+                withoutVehicles.getId() + ",Jan,\"Kowalski, Jr.\",000000002,B,1990-01-01,123456789,jan2@example.com,ACTIVE,");
+    }
+
+    @Test
+    void exportVehicles_ShouldSkipSoftDeletedVehicles() throws IOException {
+        long seeded = vehicleRepository.count();
+        Vehicle kept = vehicle(1);
+        Vehicle deleted = vehicle(2);
+        persistAndClear(List.of(kept, deleted), List.of());
+        vehicleRepository.deleteById(deleted.getId());
+        vehicleRepository.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = fleetExportService.exportVehicles(ExportFormat.NDJSON, out);
+
+        assertThat(rows).isEqualTo(seeded + 1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("EXP00001").doesNotContain("EXP00002");
+    }
+}
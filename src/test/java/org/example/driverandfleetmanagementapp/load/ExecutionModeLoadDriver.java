@@ -0,0 +1,181 @@
+package org.example.driverandfleetmanagementapp.load;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Closed-loop load against a running instance: a fixed number of clients, each sending its next GET as soon as the
+ * previous one answered, for a fixed time after a warm-up. Prints throughput, latency percentiles and status codes.
+ * With --upstream-latency it also serves a stand-in for the weather API on --upstream-port that answers after that
+ * delay, so /api/weather/{city} blocks like it does against the real API. Results: docs/load-test-virtual-threads.md.
+ * Run against an instance started with the dev profile:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       org.example.driverandfleetmanagementapp.load.ExecutionModeLoadDriver --path /api/weather/Warsaw --concurrency 400
+ */
+public class ExecutionModeLoadDriver {
+
+    private static final String WEATHER_JSON = """
+            {"name":"Warsaw","main":{"temp":12.5,"humidity":70},"weather":[{"main":"Clouds","description":"overcast clouds"}]}
+            """;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        URI target = URI.create(options.getOrDefault("base-url", "http://localhost:8080") + options.getOrDefault("path", "/api/vehicles/1"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        Duration duration = duration(options.getOrDefault("duration", "30s"));
+        Duration upstreamLatency = duration(options.getOrDefault("upstream-latency", "0ms"));
+        // jwt.secret of the dev profile, the token is minted like JwtUtil does it
+        String token = token(options.getOrDefault("secret", "DevSecretKey123456789012345678901234567890"),
+                options.getOrDefault("user", "user"));
+
+        HttpServer upstream = upstreamLatency.isZero() ? null
+                : upstream(Integer.parseInt(options.getOrDefault("upstream-port", "9099")), upstreamLatency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            HttpRequest request = HttpRequest.newBuilder(target)
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            Recorder recorder = new Recorder();
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        String status;
+                        try {
+                            status = String.valueOf(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (IOException e) {
+                            status = e.getClass().getSimpleName() + ": " + e.getMessage();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        if (now >= measureFrom) {
+                            recorder.record(status, System.nanoTime() - now);
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.plus(warmup).toSeconds() + 120, TimeUnit.SECONDS);
+            recorder.print(target, concurrency, duration, upstreamLatency);
+        } finally {
+            if (upstream != null) {
+                upstream.stop(0);
+            }
+        }
+    }
+
+
+    private static HttpServer upstream(int port, Duration latency) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        byte[] body = WEATHER_JSON.getBytes(StandardCharsets.UTF_8);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    private static String token(String secret, String user) {
+        return Jwts.builder()
+                .setClaims(Map.of("role", "USER"))
+                .setSubject(user)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // "500ms" or "30s"
+    private static Duration duration(String value) {
+        return value.endsWith("ms") ? Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)))
+                : Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+
+    private static final class Recorder {
+
+        private final ConcurrentHashMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final AtomicLong count = new AtomicLong();
+        // latencies of successful requests in microseconds, the first 4M are kept
+        private final long[] latencies = new long[1 << 22];
+
+        void record(String status, long nanos) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if ("200".equals(status)) {
+                long index = count.getAndIncrement();
+                if (index < latencies.length) {
+                    latencies[(int) index] = nanos / 1_000;
+                }
+            }
+        }
+
+        void print(URI target, int concurrency, Duration duration, Duration upstreamLatency) {
+            int recorded = (int) Math.min(count.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, recorded);
+            Arrays.sort(sorted);
+            long total = statuses.values().stream().mapToLong(LongAdder::sum).sum();
+            System.out.printf("%s concurrency=%d duration=%ds upstream-latency=%dms%n",
+                    target.getPath(), concurrency, duration.toSeconds(), upstreamLatency.toMillis());
+            System.out.printf("  requests=%d throughput=%.1f req/s ok=%d%n", total, (double) total / duration.toSeconds(), count.get());
+            if (recorded > 0) {
+                System.out.printf("  latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), sorted[recorded - 1] / 1000.0);
+            }
+            System.out.println("  statuses: " + new TreeMap<>(statuses));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)] / 1000.0;
+        }
+    }
+}
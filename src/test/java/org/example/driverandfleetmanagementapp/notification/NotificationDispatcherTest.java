@@ -0,0 +1,183 @@
+package org.example.driverandfleetmanagementapp.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationProperties properties = new NotificationProperties();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    private NotificationDispatcher start(NotificationChannel... channels) {
+        dispatcher = new NotificationDispatcher(List.of(channels), properties, meterRegistry);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private static Notification notification(int i) {
+        return new Notification("test:" + i, "driver" + i + "@example.com", "subject", "body");
+    }
+
+    private static List<DeliveryOutcome> join(List<CompletableFuture<DeliveryOutcome>> futures) {
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private double delivered(String channel, String outcome) {
+        return meterRegistry.get("fleet.notifications.delivered").tags("channel", channel, "outcome", outcome).counter().count();
+    }
+
+
+    @Test
+    void dispatch_ShouldDeliverEveryNotification() {
+        InMemoryNotificationChannel email = new InMemoryNotificationChannel("email");
+        start(email);
+
+        List<CompletableFuture<DeliveryOutcome>> futures = new ArrayList<>();
+        IntStream.range(0, 10_000).forEach(i -> futures.add(dispatcher.dispatch("email", notification(i))));
+
+        assertThat(join(futures)).containsOnly(DeliveryOutcome.SENT);
+        assertThat(email.getSent()).hasSize(10_000);
+        assertThat(dispatcher.pending()).isZero();
+        assertThat(delivered("email", "sent")).isEqualTo(10_000);
+    }
+
+    @Test
+    void dispatch_ShouldNotExceedTheChannelConcurrency() {
+        NotificationProperties.Channel config = new NotificationProperties.Channel();
+        config.setMaxConcurrency(3);
+        properties.getChannels().put("sms", config);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        NotificationChannel sms = new TestChannel("sms", notification -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+        });
+        start(sms);
+
+        List<CompletableFuture<DeliveryOutcome>> futures = new ArrayList<>();
+        IntStream.range(0, 60).forEach(i -> futures.add(dispatcher.dispatch("sms", notification(i))));
+
+        assertThat(join(futures)).containsOnly(DeliveryOutcome.SENT);
+        assertThat(maxInFlight.get()).isEqualTo(3);
+    }
+
+    @Test
+    void dispatch_WhenSendFails_ShouldRetryWithBackoffThenGiveUp() {
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        AtomicInteger attempts = new AtomicInteger();
+        start(new TestChannel("webhook", notification -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("gateway down");
+        }), new TestChannel("flaky", notification -> {
+            if (attempts.incrementAndGet() % 2 == 1) {
+                throw new IllegalStateException("timeout");
+            }
+        }));
+
+        assertThat(dispatcher.dispatch("webhook", notification(1)).join()).isEqualTo(DeliveryOutcome.FAILED);
+        assertThat(attempts.get()).isEqualTo(3);
+        attempts.set(0);
+        assertThat(dispatcher.dispatch("flaky", notification(2)).join()).isEqualTo(DeliveryOutcome.SENT);
+
+        assertThat(meterRegistry.get("fleet.notifications.retries").tag("channel", "webhook").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("fleet.notifications.retries").tag("channel", "flaky").counter().count()).isEqualTo(1);
+        assertThat(delivered("webhook", "failed")).isEqualTo(1);
+    }
+
+    @Test
+    void backoff_ShouldGrowExponentiallyUpToTheMaximum() {
+        NotificationProperties.Retry retry = properties.getRetry();
+        retry.setInitialBackoff(Duration.ofMillis(100));
+        retry.setMaxBackoff(Duration.ofMillis(1000));
+
+        assertThat(NotificationDispatcher.backoff(1, retry)).isBetween(50L, 100L);
+        assertThat(NotificationDispatcher.backoff(3, retry)).isBetween(200L, 400L);
+        assertThat(NotificationDispatcher.backoff(10, retry)).isBetween(500L, 1000L);
+    }
+
+    @Test
+    void dispatch_WhenFullWithDropPolicy_ShouldRejectWithoutThrowing() throws Exception {
+        properties.setMaxPending(2);
+        properties.setRejectionPolicy(NotificationProperties.RejectionPolicy.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        start(new TestChannel("email", notification -> release.await()));
+
+        CompletableFuture<DeliveryOutcome> first = dispatcher.dispatch("email", notification(1));
+        CompletableFuture<DeliveryOutcome> second = dispatcher.dispatch("email", notification(2));
+        CompletableFuture<DeliveryOutcome> third = dispatcher.dispatch("email", notification(3));
+
+        assertThat(third).isCompletedWithValue(DeliveryOutcome.REJECTED);
+        assertThat(delivered("email", "rejected")).isEqualTo(1);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(DeliveryOutcome.SENT);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(DeliveryOutcome.SENT);
+    }
+
+    @Test
+    void dispatch_WhenFullWithBlockPolicy_ShouldWaitForRoom() throws Exception {
+        properties.setMaxPending(1);
+        properties.setBlockTimeout(Duration.ofSeconds(5));
+        start(new TestChannel("email", notification -> Thread.sleep(20)));
+
+        CompletableFuture<DeliveryOutcome> first = dispatcher.dispatch("email", notification(1));
+        CompletableFuture<DeliveryOutcome> second = dispatcher.dispatch("email", notification(2));
+
+        // the second caller only got in once the first notification was done
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(DeliveryOutcome.SENT);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(DeliveryOutcome.SENT);
+    }
+
+    @Test
+    void dispatch_AfterStop_ShouldReject() {
+        start(new InMemoryNotificationChannel("email"));
+        dispatcher.stop();
+
+        assertThat(dispatcher.dispatch("email", notification(1))).isCompletedWithValue(DeliveryOutcome.REJECTED);
+    }
+
+    @Test
+    void dispatch_ToUnknownChannel_ShouldThrow() {
+        start(new InMemoryNotificationChannel("email"));
+
+        assertThatThrownBy(() -> dispatcher.dispatch("pigeon", notification(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(Notification notification) throws Exception;
+    }
+
+    private record TestChannel(String name, Sender sender) implements NotificationChannel {
+
+        @Override
+        public void send(Notification notification) throws Exception {
+            sender.send(notification);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.driverandfleetmanagementapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.example.driverandfleetmanagementapp.config.OutboxProperties;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.notification.InMemoryNotificationChannel;
+import org.example.driverandfleetmanagementapp.notification.Notification;
+import org.example.driverandfleetmanagementapp.notification.NotificationChannel;
+import org.example.driverandfleetmanagementapp.notification.NotificationDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+// the relay claims and updates in its own transactions, test data has to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final InMemoryNotificationChannel email = new InMemoryNotificationChannel("email");
+    private final InMemoryNotificationChannel events = new InMemoryNotificationChannel("events");
+    private final CountDownLatch slowReleased = new CountDownLatch(1);
+    private NotificationDispatcher dispatcher;
+    private OutboxPublisher publisher;
+    private OutboxRelay relay;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties notificationProperties = new NotificationProperties();
+        // retries are the outbox's job here, the dispatcher reports the first failure
+        notificationProperties.getRetry().setMaxAttempts(1);
+        NotificationChannel broken = new TestChannel("broken", () -> {
+            throw new IllegalStateException("gateway down");
+        });
+        NotificationChannel slow = new TestChannel("slow", slowReleased::await);
+        dispatcher = new NotificationDispatcher(List.of(email, events, broken, slow), notificationProperties, meterRegistry);
+        dispatcher.start();
+
+        properties.setRetryDelay(Duration.ZERO);
+        publisher = new OutboxPublisher(outboxEventRepository, new ObjectMapper(), "events");
+        relay = new OutboxRelay(jdbcTemplate, transactionManager, dispatcher, properties, meterRegistry);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowReleased.countDown();
+        dispatcher.stop();
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    private void enqueue(String channel, int count) {
+        transactionTemplate.executeWithoutResult(status -> IntStream.range(0, count).forEach(i -> publisher.enqueue(channel,
+                new Notification("test:" + channel + ":" + i, "driver" + i + "@example.com", "subject", "body " + i),
+                "VEHICLE", (long) i, "TEST")));
+    }
+
+    // one relay turn plus the outcomes of everything it dispatched
+    private void relayOnce() {
+        relay.poll();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> meterRegistry.get("fleet.outbox.in.flight").gauge().value() == 0);
+        relay.applyCompletions();
+    }
+
+    private double events(String outcome) {
+        return meterRegistry.find("fleet.outbox.events").tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+
+    @Test
+    void poll_ShouldDeliverPendingEventsOnce() {
+        enqueue("email", 20);
+        transactionTemplate.executeWithoutResult(status -> publisher.publishDomainEvent("VEHICLE", 7L, VehicleStatusChanged.TYPE,
+                new VehicleStatusChanged(7L, "ABC123", Vehicle.VehicleStatus.AVAILABLE, Vehicle.VehicleStatus.IN_SERVICE)));
+
+        relayOnce();
+        relayOnce();
+
+        assertThat(email.getSent()).hasSize(20).extracting(Notification::key).doesNotHaveDuplicates();
+        assertThat(events.getSent()).singleElement().satisfies(event -> {
+            assertThat(event.recipient()).isEqualTo("VEHICLE:7");
+            assertThat(event.subject()).isEqualTo(VehicleStatusChanged.TYPE);
+            assertThat(event.body()).contains("\"status\":\"IN_SERVICE\"");
+        });
+        assertThat(outboxEventRepository.countByStatus(OutboxEvent.Status.DELIVERED)).isEqualTo(21);
+        assertThat(outboxEventRepository.findByStatus(OutboxEvent.Status.DELIVERED))
+                .allSatisfy(event -> assertThat(event.getDeliveredAt()).isNotNull());
+        assertThat(events("delivered")).isEqualTo(21);
+        assertThat(meterRegistry.get("fleet.outbox.delivery.latency").timer().count()).isEqualTo(21);
+    }
+
+    @Test
+    void poll_ShouldNotClaimLeasedEventsAgain() {
+        enqueue("slow", 3);
+
+        assertThat(relay.poll()).isEqualTo(3);
+        assertThat(relay.poll()).isZero();
+
+        slowReleased.countDown();
+        relayOnce();
+        assertThat(outboxEventRepository.countByStatus(OutboxEvent.Status.DELIVERED)).isEqualTo(3);
+    }
+
+    @Test
+    void poll_WhenDeliveryFails_ShouldRetryUntilMaxAttempts() {
+        properties.setMaxAttempts(2);
+        enqueue("broken", 1);
+
+        relayOnce();
+        OutboxEvent retried = outboxEventRepository.findAll().getFirst();
+        assertThat(retried.getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isEqualTo("delivery failed");
+
+        relayOnce();
+        OutboxEvent failed = outboxEventRepository.findAll().getFirst();
+        assertThat(failed.getStatus()).isEqualTo(OutboxEvent.Status.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+        assertThat(events("retried")).isEqualTo(1);
+        assertThat(events("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void poll_WhenChannelIsUnknown_ShouldFailWithoutRetrying() {
+        enqueue("pigeon", 1);
+
+        relayOnce();
+
+        OutboxEvent failed = outboxEventRepository.findAll().getFirst();
+        assertThat(failed.getStatus()).isEqualTo(OutboxEvent.Status.FAILED);
+        assertThat(failed.getLastError()).contains("pigeon");
+    }
+
+    @Test
+    void deleteDelivered_ShouldOnlyDeleteEventsPastTheRetention() {
+        enqueue("email", 3);
+        relayOnce();
+        jdbcTemplate.update("UPDATE outbox_events SET delivered_at = ? WHERE id = (SELECT MIN(id) FROM outbox_events)",
+                LocalDateTime.now().minus(properties.getRetention()).minusHours(1));
+        enqueue("broken", 1);
+
+        assertThat(relay.deleteDelivered()).isEqualTo(1);
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+    }
+
+
+    private record TestChannel(String name, Send send) implements NotificationChannel {
+
+        @Override
+        public void send(Notification notification) throws Exception {
+            send.run();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Send {
+        void run() throws Exception;
+    }
+}
@@ -6,12 +6,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -109,4 +116,41 @@ public class DriverRepositoryTest {
     }
 
 
+
+    @Test
+    void findIdsByStatusInAfter_ShouldReturnOrderedIdsAfterGivenId() {
+        List<Long> ids = driverRepository.findIdsByStatusInAfter(
+                List.of(Driver.DriverStatus.ACTIVE), 0L, PageRequest.of(0, 100));
+
+        assertThat(ids).isSorted().contains(testDriver.getId());
+        assertThat(driverRepository.findIdsByStatusInAfter(List.of(Driver.DriverStatus.ACTIVE), testDriver.getId(), PageRequest.of(0, 100)))
+                .doesNotContain(testDriver.getId());
+        assertThat(driverRepository.findByIdIn(ids))
+                .hasSize(ids.size())
+                .allMatch(driver -> driver.getStatus() == Driver.DriverStatus.ACTIVE);
+    }
+
+    @Test
+    void findByStatus_ShouldScrollDriversInKeysetWindows() {
+        List<Long> scrolled = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Driver> window;
+        do {
+            window = driverRepository.findByStatus(Driver.DriverStatus.ACTIVE, position, Limit.of(2), Sort.by("lastName"));
+            window.forEach(driver -> scrolled.add(driver.getId()));
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        assertThat(scrolled).doesNotHaveDuplicates().contains(testDriver.getId());
+        assertThat(scrolled).hasSize((int) driverRepository.findByStatus(Driver.DriverStatus.ACTIVE, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void findExistingLicenseNumbers_ShouldReturnOnlyKnownLicenseNumbers() {
+        Set<String> existing = driverRepository.findExistingLicenseNumbers(List.of(testDriver.getLicenseNumber(), "000000000"));
+
+        assertThat(existing).containsExactly(testDriver.getLicenseNumber());
+    }
 }
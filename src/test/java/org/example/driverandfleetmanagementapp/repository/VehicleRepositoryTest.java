@@ -5,11 +5,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -125,6 +131,53 @@ public class VehicleRepositoryTest {
     }
 
 
+    @Test
+    void findIdsByStatusInAfter_ShouldReturnOrderedIdsAfterGivenId() {
+        List<Long> firstBatch = vehicleRepository.findIdsByStatusInAfter(
+                List.of(Vehicle.VehicleStatus.AVAILABLE), 0L, PageRequest.of(0, 2));
+        List<Long> nextBatch = vehicleRepository.findIdsByStatusInAfter(
+                List.of(Vehicle.VehicleStatus.AVAILABLE), firstBatch.getLast(), PageRequest.of(0, 100));
+
+        assertThat(firstBatch).hasSize(2).isSorted();
+        assertThat(nextBatch).isSorted().allMatch(id -> id > firstBatch.getLast()).contains(testVehicle.getId());
+        assertThat(vehicleRepository.findByIdIn(nextBatch))
+                .allMatch(vehicle -> vehicle.getStatus() == Vehicle.VehicleStatus.AVAILABLE);
+    }
+
+
+    @Test
+    void findBy_ShouldScrollAllVehiclesInKeysetOrderWithoutDuplicates() {
+        List<Vehicle> scrolled = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Vehicle> window;
+        do {
+            window = vehicleRepository.findBy(position, Limit.of(3), Sort.by("brand"));
+            scrolled.addAll(window.getContent());
+            if (scrolled.size() == 3) {
+                // sorts before the current position, must not show up or shift later windows
+                vehicleRepository.save(defaultVehicleBuilder.licensePlate("AAA11111").brand("Aaa").build());
+            }
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        assertThat(scrolled).extracting(Vehicle::getId).doesNotHaveDuplicates();
+        assertThat(scrolled).extracting(Vehicle::getBrand).isSorted();
+        assertThat(scrolled).extracting(Vehicle::getBrand).doesNotContain("Aaa");
+        assertThat(scrolled).hasSize((int) vehicleRepository.count() - 1);
+    }
+
+    @Test
+    void findByStatus_ShouldReturnKeysetWindowOfStatus() {
+        Window<Vehicle> window = vehicleRepository.findByStatus(Vehicle.VehicleStatus.AVAILABLE,
+                ScrollPosition.keyset(), Limit.of(2), Sort.by("id"));
+
+        assertThat(window.getContent()).hasSizeLessThanOrEqualTo(2)
+                .allMatch(vehicle -> vehicle.getStatus() == Vehicle.VehicleStatus.AVAILABLE);
+    }
+
+
     @Test
     void getAllVehicles_ShouldReturnPaginatedResults() {
         Pageable pageable = PageRequest.of(0, 30);
@@ -138,5 +191,16 @@ public class VehicleRepositoryTest {
     }
 
 
-}
 
+    @Test
+    void findExistingLicensePlates_ShouldReturnOnlyKnownPlatesIncludingSoftDeleted() {
+        Vehicle deleted = vehicleRepository.save(defaultVehicleBuilder.licensePlate("DEL12345").build());
+        vehicleRepository.flush();
+        vehicleRepository.delete(deleted);
+        vehicleRepository.flush();
+
+        Set<String> existing = vehicleRepository.findExistingLicensePlates(List.of("ABC52345", "DEL12345", "NEW12345"));
+
+        assertThat(existing).containsExactlyInAnyOrder("ABC52345", "DEL12345");
+    }
+}
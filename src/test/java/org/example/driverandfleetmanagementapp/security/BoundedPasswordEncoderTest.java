@@ -0,0 +1,105 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.PasswordProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordProperties.Executor executor = new PasswordProperties.Executor();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    private double meter(String name) {
+        return meterRegistry.get(name).meter().measure().iterator().next().getValue();
+    }
+
+
+    @Test
+    void matches_ShouldHashOnThePasswordExecutorAndRecordTheTimes() {
+        encoder = new BoundedPasswordEncoder(new StubEncoder(null), true, executor, meterRegistry);
+
+        assertThat(encoder.matches("secret", "hash:secret")).isTrue();
+        assertThat(encoder.matches("wrong", "hash:secret")).isFalse();
+        assertThat(encoder.encode("secret")).startsWith("hash:secret@password-");
+
+        assertThat(meterRegistry.get("fleet.security.password.queue").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("fleet.security.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("fleet.security.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void matches_WhenTheQueueIsFull_ShouldRejectTheLoginAtOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.setThreads(1);
+        executor.setQueueCapacity(1);
+        encoder = new BoundedPasswordEncoder(new StubEncoder(release), true, executor, meterRegistry);
+        // one hashing, one waiting for the thread
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash:a"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> meter("fleet.security.password.queue") == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash:b"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> meter("fleet.security.password.queued") == 1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "hash:c"))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessage("Too many logins in progress, try again later");
+        assertThat(meter("fleet.security.password.rejections")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_WhenUpgradeOnLoginIsDisabled_ShouldNeverRehash() {
+        encoder = new BoundedPasswordEncoder(new StubEncoder(null), false, executor, meterRegistry);
+
+        assertThat(encoder.upgradeEncoding("outdated")).isFalse();
+        assertThat(new BoundedPasswordEncoder(new StubEncoder(null), true, executor, new SimpleMeterRegistry())
+                .upgradeEncoding("outdated")).isTrue();
+    }
+
+
+    // "hash:<password>", encode also names the thread it ran on; waits for the latch when there is one
+    private record StubEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword + "@" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.driverandfleetmanagementapp.cache.InMemoryCacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.config.JwtProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cost of authenticating one request in JwtRequestFilter, per request carrying a token seen before:
+ * - perCall - how the filter worked before: validateToken and extractUsername each built the key and a parser and
+ *   verified the token again
+ * - verified - the key and the parser built once, every request verified (jwt.cache.maximum-size=0)
+ * - cached - the claims of the token come from the cache of verified tokens
+ * The user lookup is a constant stub, only the token handling differs. Results: docs/jwt-verification-benchmark.md.
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main JwtRequestFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKey123456789012345678901234";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    @Param({"perCall", "verified", "cached"})
+    private String mode;
+
+    private JwtRequestFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        if (!mode.equals("cached")) {
+            properties.getCache().setMaximumSize(0);
+        }
+        JwtUtil jwtUtil = mode.equals("perCall")
+                ? new PerCallJwtUtil(properties)
+                : new JwtUtil(properties, new SimpleMeterRegistry());
+        UserDetails user = User.withUsername("admin").password("unused").roles("ADMIN").build();
+        // the user is looked up from the stub on every request, see JwtRequestFilter for the users cache
+        // nothing revoked, the revocation check of every request is part of what is measured
+        TokenRevocationList revocationList = new TokenRevocationList(null, new InMemoryCacheInvalidationBus(), new SimpleMeterRegistry());
+        filter = new JwtRequestFilter(jwtUtil, revocationList, username -> user, JwtProperties.AuthoritiesSource.DATABASE,
+                new NoOpCache("users"), new SimpleMeterRegistry());
+        authorizationHeader = "Bearer " + jwtUtil.generateToken("admin", "ROLE_ADMIN");
+    }
+
+
+    @Benchmark
+    public Object authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/drivers");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+
+    // the token handling of the filter before the key, the parser and the verified claims were kept
+    static class PerCallJwtUtil extends JwtUtil {
+
+        private final String secret;
+
+        PerCallJwtUtil(JwtProperties properties) {
+            super(properties, new SimpleMeterRegistry());
+            this.secret = properties.getSecret();
+        }
+
+        @Override
+        public Claims verify(String token) {
+            // validateToken(jwt), then extractUsername(jwt)
+            parseWithNewParser(token);
+            return parseWithNewParser(token);
+        }
+
+        private Claims parseWithNewParser(String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.JwtProperties;
+import org.example.driverandfleetmanagementapp.exception.custom.JwtAuthenticationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCache userCache = new ConcurrentMapCache("users");
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("TestSecretKey123456789012345678901234567890");
+        jwtUtil = new JwtUtil(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtRequestFilter filter(JwtProperties.AuthoritiesSource authoritiesSource) {
+        return new JwtRequestFilter(jwtUtil, tokenRevocationList, userDetailsService, authoritiesSource, userCache, meterRegistry);
+    }
+
+    private Authentication authenticate(JwtRequestFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/drivers");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private DistributionSummary databaseQueries(String authorities) {
+        return meterRegistry.get("fleet.security.filter.database.queries").tag("authorities", authorities).summary();
+    }
+
+
+    @Test
+    void doFilter_WithAuthoritiesFromTheDatabase_ShouldLookTheUserUpOnceAndServeItFromTheCache() throws Exception {
+        when(userDetailsService.loadUserByUsername("admin"))
+                .thenReturn(User.withUsername("admin").password("$2a$10$hash").roles("ADMIN").build());
+        JwtRequestFilter filter = filter(JwtProperties.AuthoritiesSource.DATABASE);
+        String token = jwtUtil.generateToken("admin", "ROLE_ADMIN");
+
+        Authentication first = authenticate(filter, token);
+        Authentication second = authenticate(filter, token);
+
+        assertThat(first.getName()).isEqualTo("admin");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        assertThat(((UserDetails) second.getPrincipal()).getPassword()).isEmpty();
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+        assertThat(databaseQueries("database").count()).isEqualTo(2);
+        assertThat(databaseQueries("database").totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_WithAuthoritiesFromTheClaims_ShouldNotTouchTheDatabase() throws Exception {
+        JwtRequestFilter filter = filter(JwtProperties.AuthoritiesSource.CLAIMS);
+
+        Authentication authentication = authenticate(filter, jwtUtil.generateToken("user", "ROLE_USER"));
+
+        assertThat(authentication.getName()).isEqualTo("user");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        verifyNoInteractions(userDetailsService);
+        assertThat(databaseQueries("claims").count()).isEqualTo(1);
+        assertThat(databaseQueries("claims").totalAmount()).isZero();
+    }
+
+    @Test
+    void doFilter_WhenTheUserOfTheTokenNoLongerExists_ShouldFailAndNotCacheIt() {
+        when(userDetailsService.loadUserByUsername("gone")).thenThrow(new UsernameNotFoundException("User not found: gone"));
+        JwtRequestFilter filter = filter(JwtProperties.AuthoritiesSource.DATABASE);
+        String token = jwtUtil.generateToken("gone", "ROLE_USER");
+
+        assertThatThrownBy(() -> authenticate(filter, token)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> authenticate(filter, token)).isInstanceOf(UsernameNotFoundException.class);
+        verify(userDetailsService, times(2)).loadUserByUsername("gone");
+    }
+
+    @Test
+    void doFilter_WhenTheTokenWasRevoked_ShouldRejectIt() {
+        String token = jwtUtil.generateToken("user", "ROLE_USER");
+        when(tokenRevocationList.isRevoked(jwtUtil.verify(token))).thenReturn(true);
+
+        assertThatThrownBy(() -> authenticate(filter(JwtProperties.AuthoritiesSource.CLAIMS), token))
+                .isInstanceOf(JwtAuthenticationException.class)
+                .hasMessage("JWT token has been revoked");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WithoutAToken_ShouldLeaveTheRequestAnonymous() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/drivers");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter(JwtProperties.AuthoritiesSource.DATABASE).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isSameAs(request);
+        verifyNoInteractions(userDetailsService);
+    }
+}
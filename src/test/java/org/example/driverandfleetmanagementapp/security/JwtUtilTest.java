@@ -0,0 +1,116 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.JwtProperties;
+import org.example.driverandfleetmanagementapp.exception.custom.JwtAuthenticationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+
+class JwtUtilTest {
+
+    private static final String SECRET = "TestSecretKey123456789012345678901234567890";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtProperties properties = new JwtProperties();
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSecret(SECRET);
+        jwtUtil = new JwtUtil(properties, meterRegistry);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("fleet.security.jwt.cache.requests").tag("result", result).functionCounter().count();
+    }
+
+
+    @Test
+    void verify_ShouldReturnTheClaimsOfAGeneratedToken() {
+        String token = jwtUtil.generateToken("admin", "ROLE_ADMIN");
+
+        Claims claims = jwtUtil.verify(token);
+
+        assertThat(claims.getSubject()).isEqualTo("admin");
+        assertThat(claims.get("role", String.class)).isEqualTo("ROLE_ADMIN");
+        // the id a revocation refers to, one per token
+        assertThat(claims.getId()).isNotBlank().isNotEqualTo(jwtUtil.verify(jwtUtil.generateToken("admin", "ROLE_ADMIN")).getId());
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("admin");
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void verify_WhenTheSameTokenComesAgain_ShouldAnswerFromTheCache() {
+        String token = jwtUtil.generateToken("user", "ROLE_USER");
+
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WhenThePayloadWasTamperedWith_ShouldRejectItAndNotCacheIt() {
+        String token = jwtUtil.generateToken("user", "ROLE_USER");
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1])).replace("ROLE_USER", "ROLE_ADMIN");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes()) + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtUtil.verify(forged))
+                .isInstanceOf(JwtAuthenticationException.class)
+                .hasMessage("JWT token has invalid signature");
+        assertThatThrownBy(() -> jwtUtil.verify(forged)).isInstanceOf(JwtAuthenticationException.class);
+        assertThat(cacheGets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void verify_WhenTheTokenWasSignedWithAnotherKey_ShouldRejectIt() {
+        JwtProperties otherProperties = new JwtProperties();
+        otherProperties.setSecret("AnotherSecretKey12345678901234567890123456");
+        String token = new JwtUtil(otherProperties, new SimpleMeterRegistry()).generateToken("admin", "ROLE_ADMIN");
+
+        assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(JwtAuthenticationException.class)
+                .hasMessage("JWT token has invalid signature");
+    }
+
+    @Test
+    void verify_AfterTheTokenExpired_ShouldRejectItEvenWhenItWasCached() {
+        properties.setExpiration(1);
+        jwtUtil = new JwtUtil(properties, new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken("user", "ROLE_USER");
+        jwtUtil.verify(token);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(JwtAuthenticationException.class)
+                .hasMessage("JWT token has expired"));
+    }
+
+    @Test
+    void verify_WithTheCacheDisabled_ShouldVerifyEveryTime() {
+        properties.getCache().setMaximumSize(0);
+        jwtUtil = new JwtUtil(properties, new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken("user", "ROLE_USER");
+
+        assertThat(jwtUtil.verify(token)).isNotSameAs(jwtUtil.verify(token));
+    }
+
+    @Test
+    void constructor_WhenTheSecretIsTooShort_ShouldFail() {
+        properties.setSecret("short");
+
+        assertThatThrownBy(() -> new JwtUtil(properties, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("JWT key must have minimum 32 characters!");
+    }
+}
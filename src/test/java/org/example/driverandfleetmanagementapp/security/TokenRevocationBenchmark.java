@@ -0,0 +1,75 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.cache.InMemoryCacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.utilis.BloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cost of the revocation check JwtRequestFilter runs for every authenticated request, for a token that was not revoked:
+ * - revocationList - TokenRevocationList, a hash map of the revoked jtis; the jti string comes with the cached claims
+ *   of the token, so its hash is computed once per token rather than per request
+ * - bloomFilter - a Bloom filter in front of the map, the negative answer every valid token gets
+ * Results: docs/jwt-verification-benchmark.md.
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main TokenRevocationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    @Param({"0", "10000"})
+    private int revoked;
+
+    private TokenRevocationList revocationList;
+    private BloomFilter bloomFilter;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        // nothing is loaded from or written to the table, revocations arrive as bus messages
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        revocationList = new TokenRevocationList(null, bus, new SimpleMeterRegistry());
+        bloomFilter = new BloomFilter(Math.max(1, revoked), 0.01);
+        long expiresAt = System.currentTimeMillis() + 3_600_000;
+        for (int i = 0; i < revoked; i++) {
+            String jti = UUID.randomUUID().toString();
+            bus.publish("other-node", List.of(TokenRevocationList.TAG_PREFIX + jti + ":" + expiresAt));
+            bloomFilter.put(jti);
+        }
+        claims = Jwts.claims().setId(UUID.randomUUID().toString());
+        claims.getId().hashCode();
+    }
+
+
+    @Benchmark
+    public boolean revocationList() {
+        return revocationList.isRevoked(claims);
+    }
+
+    @Benchmark
+    public boolean bloomFilter() {
+        return bloomFilter.mightContain(claims.getId()) && revocationList.isRevoked(claims);
+    }
+}
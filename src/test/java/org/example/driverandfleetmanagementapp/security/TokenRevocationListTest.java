@@ -0,0 +1,118 @@
+package org.example.driverandfleetmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.cache.InMemoryCacheInvalidationBus;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TokenRevocationListTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = node();
+    }
+
+    private TokenRevocationList node() {
+        TokenRevocationList node = new TokenRevocationList(jdbcTemplate, bus, meterRegistry);
+        node.load();
+        return node;
+    }
+
+    private static Claims claims(String jti, Duration expiresIn) {
+        return Jwts.claims()
+                .setId(jti)
+                .setSubject("user")
+                .setExpiration(Date.from(Instant.now().plus(expiresIn)));
+    }
+
+    private long rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_tokens", Long.class);
+    }
+
+
+    @Test
+    void revoke_ShouldRejectTheTokenFromNowOnAndKeepOthersValid() {
+        Claims revoked = claims(UUID.randomUUID().toString(), Duration.ofHours(1));
+        Claims other = claims(UUID.randomUUID().toString(), Duration.ofHours(1));
+
+        revocationList.revoke(revoked);
+        revocationList.revoke(revoked);
+
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.isRevoked(other)).isFalse();
+        assertThat(rows()).isEqualTo(1);
+        assertThat(meterRegistry.get("fleet.security.jwt.revoked.rejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void revoke_ShouldReachTheOtherNodesAndNodesStartedLater() {
+        TokenRevocationList running = node();
+        Claims claims = claims(UUID.randomUUID().toString(), Duration.ofHours(1));
+
+        revocationList.revoke(claims);
+        // the broadcast leaves with the commit
+        assertThat(running.isRevoked(claims)).isFalse();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        try {
+            TokenRevocationList startedLater = node();
+
+            assertThat(running.isRevoked(claims)).isTrue();
+            assertThat(startedLater.isRevoked(claims)).isTrue();
+        } finally {
+            jdbcTemplate.update("DELETE FROM revoked_tokens");
+        }
+    }
+
+    @Test
+    void revoke_WhenTheTokenHasNoId_ShouldFail() {
+        assertThatThrownBy(() -> revocationList.revoke(claims(null, Duration.ofHours(1))))
+                .isInstanceOf(BusinessLogicException.class)
+                .hasMessageStartingWith("Token has no id and cannot be revoked");
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void deleteExpired_ShouldDropTokensThatExpiredAnyway() {
+        Claims valid = claims(UUID.randomUUID().toString(), Duration.ofHours(1));
+        Claims expired = claims(UUID.randomUUID().toString(), Duration.ofMillis(1));
+        revocationList.revoke(valid);
+        revocationList.revoke(expired);
+        // revoked by a node that is gone, the row expired meanwhile
+        jdbcTemplate.update("INSERT INTO revoked_tokens (jti, username, expires_at, revoked_at) VALUES (?, ?, ?, ?)",
+                "orphan", "user", Timestamp.from(Instant.now().minusSeconds(60)), Timestamp.from(Instant.now().minusSeconds(120)));
+
+        assertThat(revocationList.deleteExpired()).isEqualTo(2);
+
+        assertThat(rows()).isEqualTo(1);
+        assertThat(revocationList.isRevoked(valid)).isTrue();
+        assertThat(meterRegistry.get("fleet.security.jwt.revoked.tokens").gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.driverandfleetmanagementapp.security.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.PasswordProperties;
+import org.example.driverandfleetmanagementapp.security.BoundedPasswordEncoder;
+import org.example.driverandfleetmanagementapp.security.SecurityConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DatabaseUserDetailsServiceTest {
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final PasswordProperties properties = new PasswordProperties();
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        ((BoundedPasswordEncoder) passwordEncoder).close();
+    }
+
+    // the login path of the AuthenticationManager, with the encoder of the app
+    private DaoAuthenticationProvider provider() {
+        passwordEncoder = new SecurityConfig().passwordEncoder(properties, new SimpleMeterRegistry());
+        DatabaseUserDetailsService service = new DatabaseUserDetailsService(userRepository);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(service);
+        provider.setUserDetailsPasswordService(service);
+        return provider;
+    }
+
+    // a bare BCrypt hash like the seed users have
+    private void insertUser(String username, String passwordHash) {
+        jdbcTemplate.update("INSERT INTO app_users (id, username, password_hash, role_id) VALUES (nextval('app_user_sequence'), ?, ?, 1)",
+                username, passwordHash);
+    }
+
+    private String storedHash(String username) {
+        userRepository.flush();
+        return jdbcTemplate.queryForObject("SELECT password_hash FROM app_users WHERE username = ?", String.class, username);
+    }
+
+
+    @Test
+    void login_WithAnOutdatedHash_ShouldRehashThePasswordToTheConfiguredCost() {
+        insertUser("driver1", new BCryptPasswordEncoder(4).encode("secret"));
+        DaoAuthenticationProvider provider = provider();
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("driver1", "secret"));
+
+        String rehashed = storedHash("driver1");
+        assertThat(rehashed).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("secret", rehashed)).isTrue();
+        // the next login leaves it alone
+        provider.authenticate(new UsernamePasswordAuthenticationToken("driver1", "secret"));
+        assertThat(storedHash("driver1")).isEqualTo(rehashed);
+    }
+
+    @Test
+    void login_WhenTheAlgorithmChangedToArgon2_ShouldRehashOnTheNextLogin() {
+        properties.getArgon2().setMemoryKib(1024);
+        properties.setAlgorithm(PasswordProperties.Algorithm.ARGON2);
+        insertUser("driver2", new BCryptPasswordEncoder(4).encode("secret"));
+
+        provider().authenticate(new UsernamePasswordAuthenticationToken("driver2", "secret"));
+
+        assertThat(storedHash("driver2")).startsWith("{argon2}$argon2id$");
+    }
+
+    @Test
+    void login_WithAWrongPasswordOrUpgradesDisabled_ShouldKeepTheStoredHash() {
+        String hash = new BCryptPasswordEncoder(4).encode("secret");
+        insertUser("driver3", hash);
+        DaoAuthenticationProvider provider = provider();
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("driver3", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(storedHash("driver3")).isEqualTo(hash);
+
+        ((BoundedPasswordEncoder) passwordEncoder).close();
+        properties.setUpgradeOnLogin(false);
+        provider().authenticate(new UsernamePasswordAuthenticationToken("driver3", "secret"));
+        assertThat(storedHash("driver3")).isEqualTo(hash);
+    }
+}
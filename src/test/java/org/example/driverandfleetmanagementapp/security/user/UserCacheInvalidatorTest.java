@@ -0,0 +1,62 @@
+package org.example.driverandfleetmanagementapp.security.user;
+
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.CacheTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.User;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheInvalidatorTest {
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    private UserCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheInvalidationService", cacheInvalidationService);
+        invalidator = new UserCacheInvalidator(beanFactory.getBeanProvider(CacheInvalidationService.class));
+    }
+
+
+    @Test
+    void evict_WhenAUserWasRenamed_ShouldEvictTheOldAndTheNewName() {
+        AppUser user = new AppUser();
+        user.setUsername("driver1");
+        user.rememberLoadedUsername();
+        user.setUsername("driver2");
+
+        invalidator.evict(user);
+
+        verify(cacheInvalidationService).invalidate(Set.of("user:driver2", "user:driver1"));
+    }
+
+    @Test
+    void evict_WhenARoleChanged_ShouldEvictEveryUserHoldingIt() {
+        Role role = new Role();
+        role.setName("ADMIN");
+        role.rememberLoadedName();
+
+        invalidator.evict(role);
+
+        verify(cacheInvalidationService).invalidate(Set.of("role:ROLE_ADMIN"));
+    }
+
+    @Test
+    void cachedUsers_ShouldBeTaggedWithTheirNameAndRoles() {
+        assertThat(CacheTags.of(CacheTags.user("admin"), User.withUsername("admin").password("").roles("ADMIN").build()))
+                .containsExactlyInAnyOrder("user:admin", "role:ROLE_ADMIN");
+    }
+}
@@ -1,11 +1,14 @@
 package org.example.driverandfleetmanagementapp.service;
 
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
 import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
 import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
 import org.example.driverandfleetmanagementapp.model.Driver;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.DriverAssignmentChanged;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
 import org.example.driverandfleetmanagementapp.repository.DriverRepository;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
 import org.example.driverandfleetmanagementapp.service.assignment.AssignmentServiceImpl;
@@ -37,6 +40,12 @@ public class AssignmentServiceImplTest {
     @Mock
     private DriverMapper driverMapper;
 
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
     @InjectMocks
     private AssignmentServiceImpl assignmentService;
 
@@ -99,6 +108,8 @@ public class AssignmentServiceImplTest {
         verify(driverRepository).findById(1L);
         verify(vehicleRepository).findById(1L);
         verify(driverMapper).toDto(driver);
+        verify(outboxPublisher).publishDomainEvent("VEHICLE", 1L, DriverAssignmentChanged.ASSIGNED,
+                new DriverAssignmentChanged(1L, 1L, Vehicle.VehicleStatus.IN_USE, Driver.DriverStatus.ACTIVE));
     }
 
 
@@ -180,6 +191,8 @@ public class AssignmentServiceImplTest {
         verify(driverRepository).findById(1L);
         verify(vehicleRepository).findById(1L);
         verify(driverMapper).toDto(driver);
+        verify(outboxPublisher).publishDomainEvent("VEHICLE", 1L, DriverAssignmentChanged.UNASSIGNED,
+                new DriverAssignmentChanged(1L, 1L, Vehicle.VehicleStatus.AVAILABLE, Driver.DriverStatus.INACTIVE));
     }
 
 
@@ -0,0 +1,148 @@
+package org.example.driverandfleetmanagementapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.driverandfleetmanagementapp.audit.AuditLog;
+import org.example.driverandfleetmanagementapp.audit.AuditWriter;
+import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportReport;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowStatus;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.service.bulkimport.BulkImportServiceImpl;
+import org.example.driverandfleetmanagementapp.service.driver.DriverService;
+import org.example.driverandfleetmanagementapp.service.vehicle.VehicleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+class BulkImportServiceImplTest {
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private DriverService driverService;
+
+    @Mock
+    private AuditWriter auditWriter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private SimpleMeterRegistry meterRegistry;
+    private BulkImportServiceImpl bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkImportService = new BulkImportServiceImpl(vehicleService, driverService, validator, objectMapper,
+                auditWriter, meterRegistry);
+    }
+
+    private VehicleDto vehicle(String plate) {
+        return VehicleDto.builder()
+                .licensePlate(plate)
+                .brand("Toyota")
+                .model("Corolla")
+                .productionYear(2020)
+                .type(Vehicle.VehicleType.CAR)
+                .registrationDate(LocalDate.of(2020, 1, 15))
+                .technicalInspectionDate(LocalDate.now().plusYears(1))
+                .mileage(15000.0)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+    }
+
+    // every row handed to the service is created with id = 1000 + row
+    private void serviceCreatesEveryRow() {
+        when(vehicleService.importVehicles(anyList())).thenAnswer(invocation -> {
+            List<ImportRow<VehicleDto>> rows = invocation.getArgument(0);
+            return rows.stream()
+                    .map(row -> ImportRowResult.created(row.row(), row.value().getLicensePlate(), 1000L + row.row()))
+                    .toList();
+        });
+    }
+
+
+    @Test
+    void importVehicles_FromNdjson_ShouldReportMalformedInvalidDuplicateAndCreatedRows() throws IOException {
+        serviceCreatesEveryRow();
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(vehicle("AAA11111")),
+                "{not json",
+                "",
+                objectMapper.writeValueAsString(vehicle("bad plate")),
+                objectMapper.writeValueAsString(vehicle("AAA11111")),
+                objectMapper.writeValueAsString(vehicle("BBB22222")));
+
+        ImportReport report = bulkImportService.importVehicles(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.total()).isEqualTo(5);
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.duplicates()).isEqualTo(1);
+        assertThat(report.invalid()).isEqualTo(2);
+        assertThat(report.rows()).extracting(ImportRowResult::row, ImportRowResult::status, ImportRowResult::key).containsExactly(
+                tuple(1, ImportRowStatus.CREATED, "AAA11111"),
+                tuple(2, ImportRowStatus.INVALID, null),
+                tuple(3, ImportRowStatus.INVALID, "bad plate"),
+                tuple(4, ImportRowStatus.DUPLICATE, "AAA11111"),
+                tuple(5, ImportRowStatus.CREATED, "BBB22222"));
+        assertThat(report.rows().get(2).errors()).containsExactly("licensePlate: Invalid license plate format");
+        assertThat(report.rows().get(3).errors()).containsExactly("Duplicate of row 1 in this import");
+        assertThat(meterRegistry.get("fleet.import.rows").tag("status", "created").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void importVehicles_ShouldHandRowsToTheServiceInChunksAndAuditCreatedRowsInOneBatch() {
+        serviceCreatesEveryRow();
+        List<VehicleDto> vehicles = IntStream.range(0, 1_100).mapToObj(i -> vehicle(String.format("PL%06d", i))).toList();
+
+        ImportReport report = bulkImportService.importVehicles(vehicles);
+
+        assertThat(report.created()).isEqualTo(1_100);
+        verify(vehicleService, times(3)).importVehicles(anyList());
+        verify(auditWriter, times(3)).submitAll(argThat((List<AuditLog> audits) -> audits.stream()
+                .allMatch(audit -> "VEHICLE".equals(audit.getEntityType()) && "CREATE".equals(audit.getAction()))));
+    }
+
+    @Test
+    void importVehicles_WhenChunkHitsConstraint_ShouldRetryRowByRow() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(vehicleService.importVehicles(anyList())).thenAnswer(invocation -> {
+            List<ImportRow<VehicleDto>> rows = invocation.getArgument(0);
+            chunkSizes.add(rows.size());
+            if (rows.stream().anyMatch(row -> row.value().getLicensePlate().equals("RACE0001"))) {
+                throw new DataIntegrityViolationException("unique constraint");
+            }
+            return rows.stream().map(row -> ImportRowResult.created(row.row(), row.value().getLicensePlate(), (long) row.row())).toList();
+        });
+
+        ImportReport report = bulkImportService.importVehicles(List.of(vehicle("OK000001"), vehicle("RACE0001"), vehicle("OK000002")));
+
+        assertThat(chunkSizes).containsExactly(3, 1, 1, 1);
+        assertThat(report.rows()).extracting(ImportRowResult::status)
+                .containsExactly(ImportRowStatus.CREATED, ImportRowStatus.DUPLICATE, ImportRowStatus.CREATED);
+    }
+}
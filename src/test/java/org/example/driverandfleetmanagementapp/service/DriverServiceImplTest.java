@@ -1,13 +1,20 @@
 package org.example.driverandfleetmanagementapp.service;
 
 
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.NegativeLookupCache;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceNotFoundException;
 import org.example.driverandfleetmanagementapp.service.driver.DriverServiceImpl;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.ActiveProfiles;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.DriverDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowStatus;
 import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
 import org.example.driverandfleetmanagementapp.mapper.DriverMapper;
@@ -19,13 +26,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.support.NoOpCacheManager;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -43,6 +56,12 @@ class DriverServiceImplTest {
     @Mock
     private DriverMapper driverMapper;
 
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Spy
+    private NegativeLookupCache negativeLookupCache = new NegativeLookupCache(new NoOpCacheManager(), mock(CacheInvalidationService.class));
+
     @InjectMocks
     private DriverServiceImpl driverService;
 
@@ -93,6 +112,25 @@ class DriverServiceImplTest {
     }
 
 
+    @Test
+    void scrollDrivers_ShouldLoadVehiclesOfWholeWindowAtOnce() {
+        Driver second = Driver.builder().id(2L).licenseNumber("987654321").build();
+        DriverDto secondDto = DriverDto.builder().id(2L).build();
+        Window<Driver> window = Window.from(List.of(driver, second), i -> ScrollPosition.forward(Map.of("id", (long) i + 1)), false);
+        when(driverRepository.findBy(any(ScrollPosition.class), eq(Limit.of(2)), eq(Sort.by("id")))).thenReturn(window);
+        when(driverRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(second, driver));
+        when(driverMapper.toDto(driver)).thenReturn(driverDto);
+        when(driverMapper.toDto(second)).thenReturn(secondDto);
+
+        CursorPage<DriverDto> result = driverService.scrollDrivers(new CursorPageRequest(null, 2, "id", Sort.Direction.ASC));
+
+        assertThat(result.content()).containsExactly(driverDto, secondDto);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+        verify(driverRepository).findByIdIn(List.of(1L, 2L));
+    }
+
+
     @Test
     void getDriverById_WhenDriverExists_ShouldReturnDriverDto() {
         when(driverRepository.findById(1L)).thenReturn(Optional.of(driver));
@@ -261,5 +299,31 @@ class DriverServiceImplTest {
 
 
 
-}
 
+    @Test
+    void importDrivers_ShouldCreateActiveDriversAndRejectExistingOrInactive() {
+        DriverDto existing = driverDto.toBuilder().id(null).licenseNumber("111111111").status(Driver.DriverStatus.ACTIVE).build();
+        DriverDto inactive = driverDto.toBuilder().id(null).licenseNumber("222222222").status(Driver.DriverStatus.INACTIVE).build();
+        DriverDto fresh = driverDto.toBuilder().id(null).licenseNumber("333333333").status(Driver.DriverStatus.ACTIVE).build();
+        Driver freshEntity = driver.toBuilder().id(null).licenseNumber("333333333").build();
+
+        when(driverRepository.findExistingLicenseNumbers(List.of("111111111", "222222222", "333333333"))).thenReturn(Set.of("111111111"));
+        when(driverMapper.toEntity(fresh)).thenReturn(freshEntity);
+        when(driverRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Driver> drivers = invocation.getArgument(0);
+            drivers.forEach(d -> d.setId(700L));
+            return drivers;
+        });
+
+        List<ImportRowResult> results = driverService.importDrivers(List.of(
+                new ImportRow<>(1, existing), new ImportRow<>(2, inactive), new ImportRow<>(3, fresh)));
+
+        assertThat(results).extracting(ImportRowResult::row, ImportRowResult::status, ImportRowResult::id).containsExactlyInAnyOrder(
+                tuple(1, ImportRowStatus.DUPLICATE, null),
+                tuple(2, ImportRowStatus.INVALID, null),
+                tuple(3, ImportRowStatus.CREATED, 700L));
+        assertThat(results).filteredOn(r -> r.row() == 2).first()
+                .extracting(ImportRowResult::errors).isEqualTo(List.of("New drivers must be created with ACTIVE status"));
+        verify(driverRepository).flush();
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.driverandfleetmanagementapp.service;
+
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderRunDto;
+import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
+import org.example.driverandfleetmanagementapp.model.InspectionReminderRun;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.repository.InspectionReminderRunRepository;
+import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.service.notification.InspectionReminderJob;
+import org.example.driverandfleetmanagementapp.service.notification.NotificationService;
+import org.example.driverandfleetmanagementapp.service.notification.QueuedReminders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({InspectionReminderJob.class, InspectionReminderJobTest.Properties.class})
+// the job reads and writes on its own thread, test data has to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InspectionReminderJobTest {
+
+    private static final int BATCH_SIZE = 3;
+    // beyond the seeded inspection dates
+    private static final int DAYS_AHEAD = 2000;
+
+    @Autowired
+    private InspectionReminderJob inspectionReminderJob;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private InspectionReminderRunRepository runRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    private final Queue<Long> queued = new ConcurrentLinkedQueue<>();
+    private List<Vehicle> due;
+
+    @TestConfiguration
+    static class Properties {
+        @Bean
+        NotificationProperties notificationProperties() {
+            NotificationProperties properties = new NotificationProperties();
+            properties.getInspectionReminder().setBatchSize(BATCH_SIZE);
+            properties.getInspectionReminder().setCron("-");
+            return properties;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // several vehicles share an inspection date, so batches end in the middle of a date
+        due = vehicleRepository.saveAll(IntStream.range(0, 11)
+                        .mapToObj(i -> vehicle("IRJ" + String.format("%04d", i), LocalDate.now().plusDays(DAYS_AHEAD - 10 + i / 3)))
+                        .toList()).stream()
+                .sorted(Comparator.comparing(Vehicle::getTechnicalInspectionDate).thenComparing(Vehicle::getId))
+                .toList();
+        vehicleRepository.save(vehicle("IRJ9999", LocalDate.now().plusDays(DAYS_AHEAD + 1)));
+        when(notificationService.enqueueInspectionReminders(any())).thenAnswer(invocation -> {
+            List<Vehicle> vehicles = invocation.getArgument(0);
+            vehicles.forEach(vehicle -> queued.add(vehicle.getId()));
+            return new QueuedReminders(vehicles.size(), 0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        awaitIdle();
+        jdbcTemplate.update("DELETE FROM inspection_reminder_runs");
+        jdbcTemplate.update("DELETE FROM vehicles WHERE license_plate LIKE 'IRJ%'");
+    }
+
+    private Vehicle vehicle(String licensePlate, LocalDate inspectionDate) {
+        return Vehicle.builder()
+                .licensePlate(licensePlate)
+                .brand("Toyota")
+                .model("Corolla")
+                .productionYear(2020)
+                .type(Vehicle.VehicleType.CAR)
+                .registrationDate(LocalDate.of(2020, 1, 15))
+                .technicalInspectionDate(inspectionDate)
+                .mileage(15000.0)
+                .status(Vehicle.VehicleStatus.AVAILABLE)
+                .build();
+    }
+
+    private void awaitIdle() {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (inspectionReminderJob.isBusy() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(inspectionReminderJob.isBusy()).isFalse();
+    }
+
+
+    @Test
+    void start_ShouldQueueEveryDueVehicleInBatches() {
+        InspectionReminderRunDto started = inspectionReminderJob.start(DAYS_AHEAD, "admin");
+        awaitIdle();
+
+        InspectionReminderRunDto run = inspectionReminderJob.getRun(started.getId());
+        assertThat(run.getStatus()).isEqualTo(InspectionReminderRun.RunStatus.COMPLETED);
+        assertThat(run.getTotalVehicles()).isEqualTo(queued.size());
+        assertThat(run.getProcessedVehicles()).isEqualTo(run.getTotalVehicles());
+        assertThat(run.getQueuedNotifications()).isEqualTo(run.getTotalVehicles());
+        assertThat(run.getProgressPercent()).isEqualTo(100.0);
+        assertThat(queued).doesNotHaveDuplicates()
+                .containsAll(due.stream().map(Vehicle::getId).toList())
+                .doesNotContain(vehicleRepository.findByLicensePlate("IRJ9999").orElseThrow().getId());
+        assertThat(inspectionReminderJob.getLatestRun().getId()).isEqualTo(started.getId());
+    }
+
+    @Test
+    void resumeUnfinishedRun_ShouldContinueAfterTheWatermark() {
+        Vehicle watermark = due.get(4);
+        LocalDateTime now = LocalDateTime.now();
+        InspectionReminderRun interrupted = runRepository.save(InspectionReminderRun.builder()
+                .status(InspectionReminderRun.RunStatus.RUNNING)
+                .triggeredBy(InspectionReminderJob.SCHEDULER)
+                .windowStart(due.getFirst().getTechnicalInspectionDate())
+                .windowEnd(due.getLast().getTechnicalInspectionDate())
+                .totalVehicles(due.size())
+                .processedVehicles(5)
+                .queuedNotifications(5)
+                .lastInspectionDate(watermark.getTechnicalInspectionDate())
+                .lastVehicleId(watermark.getId())
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+
+        inspectionReminderJob.resumeUnfinishedRun();
+        awaitIdle();
+
+        assertThat(queued).containsExactlyElementsOf(due.subList(5, due.size()).stream().map(Vehicle::getId).toList());
+        InspectionReminderRunDto run = inspectionReminderJob.getRun(interrupted.getId());
+        assertThat(run.getStatus()).isEqualTo(InspectionReminderRun.RunStatus.COMPLETED);
+        assertThat(run.getProcessedVehicles()).isEqualTo(due.size());
+    }
+
+    @Test
+    void start_WhileARunIsInProgress_ShouldThrowConflict() {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return new QueuedReminders(0, 0);
+        }).when(notificationService).enqueueInspectionReminders(any());
+
+        inspectionReminderJob.start(DAYS_AHEAD, "admin");
+        try {
+            assertThatThrownBy(() -> inspectionReminderJob.start(DAYS_AHEAD, "admin"))
+                    .isInstanceOf(ResourceConflictException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void start_WhenABatchFails_ShouldKeepTheWatermarkOfTheLastCommittedBatch() {
+        Long failing = due.get(4).getId();
+        doAnswer(invocation -> {
+            List<Vehicle> vehicles = invocation.getArgument(0);
+            vehicles.forEach(vehicle -> queued.add(vehicle.getId()));
+            if (queued.contains(failing)) {
+                throw new IllegalStateException("outbox unavailable");
+            }
+            return new QueuedReminders(vehicles.size(), 0);
+        }).when(notificationService).enqueueInspectionReminders(any());
+
+        InspectionReminderRunDto started = inspectionReminderJob.start(DAYS_AHEAD, "admin");
+        awaitIdle();
+
+        // the failing vehicle's batch is rolled back as a whole, the batches before it stay committed
+        List<Long> attempted = new ArrayList<>(queued);
+        int committed = attempted.indexOf(failing) / BATCH_SIZE * BATCH_SIZE;
+        InspectionReminderRun run = runRepository.findById(started.getId()).orElseThrow();
+        assertThat(run.getStatus()).isEqualTo(InspectionReminderRun.RunStatus.FAILED);
+        assertThat(run.getError()).isEqualTo("outbox unavailable");
+        assertThat(run.getProcessedVehicles()).isEqualTo(committed);
+        assertThat(run.getQueuedNotifications()).isEqualTo(committed);
+        assertThat(run.getLastVehicleId()).isEqualTo(attempted.get(committed - 1));
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.driverandfleetmanagementapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
+import org.example.driverandfleetmanagementapp.service.notification.InspectionReminderLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest
+@ActiveProfiles("test")
+class InspectionReminderLedgerTest {
+
+    private static final LocalDate DUE = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationProperties properties = new NotificationProperties();
+    private InspectionReminderLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        properties.getInspectionReminder().getLedger().setExpectedEntries(1_000);
+        ledger = new InspectionReminderLedger(jdbcTemplate, transactionManager, properties, meterRegistry);
+    }
+
+    private static InspectionReminderLedger.Key key(long vehicleId, String channel) {
+        return new InspectionReminderLedger.Key(vehicleId, DUE, channel);
+    }
+
+    private void insertRow(long vehicleId, LocalDate inspectionDate, String channel) {
+        jdbcTemplate.update("INSERT INTO inspection_reminder_ledger (vehicle_id, inspection_date, channel, recorded_at) VALUES (?, ?, ?, ?)",
+                vehicleId, Date.valueOf(inspectionDate), channel, LocalDateTime.now());
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("fleet.notifications.ledger.lookups").tag("result", result).counter().count();
+    }
+
+
+    @Test
+    void recordNew_ShouldRecordEachKeyOnce() {
+        assertThat(ledger.recordNew(List.of(key(1, "email"), key(1, "sms"), key(2, "email"))))
+                .containsExactly(key(1, "email"), key(1, "sms"), key(2, "email"));
+
+        assertThat(ledger.recordNew(List.of(key(1, "email"), key(2, "email"), key(3, "email"))))
+                .containsExactly(key(3, "email"));
+        // another inspection date is another reminder
+        InspectionReminderLedger.Key nextInspection = new InspectionReminderLedger.Key(1, DUE.plusYears(1), "email");
+        assertThat(ledger.recordNew(List.of(nextInspection))).containsExactly(nextInspection);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inspection_reminder_ledger", Long.class)).isEqualTo(5);
+        assertThat(lookups("recorded")).isEqualTo(2);
+    }
+
+    @Test
+    void recordNew_WhenTheFilterHasNotSeenTheKeys_ShouldStillSkipRecordedOnes() {
+        // recorded by another instance, this ledger's filter is empty
+        insertRow(1, DUE, "email");
+
+        assertThat(ledger.recordNew(List.of(key(1, "email"), key(1, "sms")))).containsExactly(key(1, "sms"));
+        assertThat(lookups("unseen")).isEqualTo(2);
+    }
+
+    @Test
+    void rebuild_ShouldLoadTheKeysOfUpcomingInspections() {
+        IntStream.range(0, 50).forEach(i -> insertRow(i, DUE, "email"));
+        insertRow(100, LocalDate.now().minusDays(1), "email");
+
+        ledger.rebuild();
+
+        assertThat(meterRegistry.get("fleet.notifications.ledger.filter.entries").gauge().value()).isEqualTo(50);
+        assertThat(ledger.recordNew(IntStream.range(0, 50).mapToObj(i -> key(i, "email")).toList())).isEmpty();
+        assertThat(lookups("recorded")).isEqualTo(50);
+        assertThat(lookups("unseen")).isZero();
+    }
+
+    @Test
+    void deleteExpired_ShouldOnlyDeleteRowsPastTheRetention() {
+        LocalDate expired = LocalDate.now().minusDays(properties.getInspectionReminder().getLedger().getRetention().toDays() + 1);
+        insertRow(1, expired, "email");
+        insertRow(2, LocalDate.now().minusDays(30), "email");
+        insertRow(3, DUE, "email");
+
+        assertThat(ledger.deleteExpired()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT vehicle_id FROM inspection_reminder_ledger ORDER BY vehicle_id", Long.class))
+                .containsExactly(2L, 3L);
+    }
+}
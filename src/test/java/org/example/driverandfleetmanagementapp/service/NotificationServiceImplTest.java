@@ -1,23 +1,31 @@
 package org.example.driverandfleetmanagementapp.service;
 
+import org.example.driverandfleetmanagementapp.config.NotificationProperties;
 import org.example.driverandfleetmanagementapp.dto.notification.InspectionReminderResponse;
+import org.example.driverandfleetmanagementapp.model.Driver;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.notification.Notification;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
+import org.example.driverandfleetmanagementapp.service.notification.InspectionReminderLedger;
 import org.example.driverandfleetmanagementapp.service.notification.NotificationServiceImpl;
+import org.example.driverandfleetmanagementapp.service.notification.QueuedReminders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDate;
 import java.util.Collections;
-import java.util.concurrent.CompletableFuture;
 import org.springframework.data.domain.*;
 import java.util.List;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -30,6 +38,15 @@ public class NotificationServiceImplTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private InspectionReminderLedger inspectionReminderLedger;
+
+    @Spy
+    private NotificationProperties notificationProperties = new NotificationProperties();
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -80,10 +97,51 @@ public class NotificationServiceImplTest {
     }
 
     @Test
-    void sendInspectionReminderNotification_ReturnsNonNullFuture() {
-        CompletableFuture<Void> future = notificationService.sendInspectionReminderNotification(vehicle);
+    void processInspectionReminders_ShouldQueueOneOutboxEventPerChannel() {
+        Page<Vehicle> vehiclePage = new PageImpl<>(List.of(vehicle), pageable, 1);
+        notificationProperties.getInspectionReminder().setChannels(List.of("email", "sms"));
+
+        when(vehicleRepository.findByTechnicalInspectionDateBetween(any(), any(), any()))
+                .thenReturn(vehiclePage);
+        when(inspectionReminderLedger.recordNew(any())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(0)));
+
+        InspectionReminderResponse response = notificationService.processInspectionReminders(30, pageable);
+
+        assertThat(response.getTotalVehicles()).isEqualTo(1);
+        assertThat(response.getQueuedNotifications()).isEqualTo(2);
+        assertThat(response.getSkippedNotifications()).isZero();
+        verify(outboxPublisher).enqueue(eq("email"), any(Notification.class), eq("VEHICLE"), eq(1L), eq("INSPECTION_REMINDER"));
+        verify(outboxPublisher).enqueue(eq("sms"), any(Notification.class), eq("VEHICLE"), eq(1L), eq("INSPECTION_REMINDER"));
+    }
+
+    @Test
+    void enqueueInspectionReminders_ShouldSkipRemindersAlreadyInTheLedger() {
+        notificationProperties.getInspectionReminder().setChannels(List.of("email", "sms"));
+        Vehicle other = vehicle.toBuilder().id(2L).licensePlate("XYZ789").build();
+        // vehicle 1 was reminded by email before, vehicle 2 on both channels
+        when(inspectionReminderLedger.recordNew(any())).thenReturn(
+                Set.of(new InspectionReminderLedger.Key(1L, vehicle.getTechnicalInspectionDate(), "sms")));
+
+        QueuedReminders reminders = notificationService.enqueueInspectionReminders(List.of(vehicle, other));
+
+        assertThat(reminders).isEqualTo(new QueuedReminders(1, 3));
+        verify(outboxPublisher).enqueue(eq("sms"), any(Notification.class), eq("VEHICLE"), eq(1L), eq("INSPECTION_REMINDER"));
+        verifyNoMoreInteractions(outboxPublisher);
+    }
 
-        assertThat(future).isNotNull();
+    @Test
+    void enqueueInspectionReminders_ShouldAddressTheAssignedDriverOrTheFleetManager() {
+        ArgumentCaptor<Notification> notifications = ArgumentCaptor.forClass(Notification.class);
+        when(inspectionReminderLedger.recordNew(any())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(0)));
+        Vehicle assigned = vehicle.toBuilder().id(2L).driver(Driver.builder().id(5L).email("driver@example.com").build()).build();
+
+        notificationService.enqueueInspectionReminders(List.of(vehicle, assigned));
+
+        verify(outboxPublisher, times(2)).enqueue(eq("email"), notifications.capture(), eq("VEHICLE"), any(), eq("INSPECTION_REMINDER"));
+        assertThat(notifications.getAllValues()).extracting(Notification::recipient)
+                .containsExactly(notificationProperties.getInspectionReminder().getFleetManagerRecipient(), "driver@example.com");
+        assertThat(notifications.getAllValues().getFirst().key())
+                .isEqualTo("inspection-reminder:1:" + vehicle.getTechnicalInspectionDate());
     }
 
 
@@ -1,9 +1,17 @@
 package org.example.driverandfleetmanagementapp.service;
 
 
+import org.example.driverandfleetmanagementapp.cache.CacheInvalidationService;
+import org.example.driverandfleetmanagementapp.cache.NegativeLookupCache;
+import org.example.driverandfleetmanagementapp.dto.CursorPage;
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
 import org.example.driverandfleetmanagementapp.dto.VehicleDto;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRow;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowResult;
+import org.example.driverandfleetmanagementapp.dto.bulkimport.ImportRowStatus;
 import org.example.driverandfleetmanagementapp.mapper.VehicleMapper;
 import org.example.driverandfleetmanagementapp.service.vehicle.VehicleServiceImpl;
+import org.example.driverandfleetmanagementapp.utilis.KeysetCursor;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
@@ -13,22 +21,30 @@ import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicExc
 import org.example.driverandfleetmanagementapp.exception.custom.ResourceConflictException;
 import org.example.driverandfleetmanagementapp.model.Driver;
 import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.example.driverandfleetmanagementapp.outbox.OutboxPublisher;
+import org.example.driverandfleetmanagementapp.outbox.VehicleStatusChanged;
 import org.example.driverandfleetmanagementapp.repository.DriverRepository;
 import org.example.driverandfleetmanagementapp.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.support.NoOpCacheManager;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -48,6 +64,15 @@ class VehicleServiceImplTest {
     @Mock
     private VehicleMapper vehicleMapper;
 
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Spy
+    private NegativeLookupCache negativeLookupCache = new NegativeLookupCache(new NoOpCacheManager(), mock(CacheInvalidationService.class));
+
     @InjectMocks
     private VehicleServiceImpl vehicleService;
 
@@ -150,6 +175,43 @@ class VehicleServiceImplTest {
         assertThat(result.getContent().getFirst()).isEqualTo(vehicleDto);
     }
 
+    @Test
+    void scrollVehiclesByStatus_ShouldReturnWindowWithNextCursor() {
+        Window<Vehicle> window = Window.from(List.of(vehicle), i -> ScrollPosition.forward(Map.of("id", vehicle.getId())), true);
+        when(vehicleRepository.findByStatus(eq(Vehicle.VehicleStatus.AVAILABLE), any(ScrollPosition.class), eq(Limit.of(1)), eq(Sort.by("id"))))
+                .thenReturn(window);
+        when(vehicleMapper.toDto(vehicle)).thenReturn(vehicleDto);
+
+        CursorPage<VehicleDto> result = vehicleService.scrollVehiclesByStatus(Vehicle.VehicleStatus.AVAILABLE,
+                new CursorPageRequest(null, 1, "id", Sort.Direction.ASC));
+
+        assertThat(result.content()).containsExactly(vehicleDto);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(result.nextCursor(), "id", Sort.Direction.ASC, Vehicle.class).getKeys())
+                .containsEntry("id", 1L);
+        verify(vehicleRepository, never()).count();
+    }
+
+    @Test
+    void scrollVehicles_WhenSortPropertyNotAllowed_ShouldThrowException() {
+        assertThatThrownBy(() -> vehicleService.scrollVehicles(new CursorPageRequest(null, 10, "driver", Sort.Direction.ASC)))
+                .isInstanceOf(BusinessLogicException.class);
+
+        verifyNoInteractions(vehicleRepository);
+    }
+
+    @Test
+    void scrollVehicles_WhenTheSortKeyHasNoIndex_ShouldThrowException() {
+        assertThatThrownBy(() -> vehicleService.scrollVehicles(new CursorPageRequest(null, 10, "mileage", Sort.Direction.ASC)))
+                .isInstanceOf(BusinessLogicException.class);
+        // (status, id) is the only index within a status
+        assertThatThrownBy(() -> vehicleService.scrollVehiclesByStatus(Vehicle.VehicleStatus.AVAILABLE,
+                new CursorPageRequest(null, 10, "brand", Sort.Direction.ASC)))
+                .isInstanceOf(BusinessLogicException.class);
+
+        verifyNoInteractions(vehicleRepository);
+    }
+
     @Test
     void getVehiclesByBrandAndModel_ShouldReturnPageOfVehicleDtos() {
         Page<Vehicle> vehiclePage = new PageImpl<>(List.of(vehicle));
@@ -260,6 +322,9 @@ class VehicleServiceImplTest {
         vehicleService.deleteVehicle(1L);
 
         verify(vehicleRepository).delete(vehicle);
+        verify(cacheInvalidationService).invalidate(argThat((Collection<String> tags) -> tags.contains("vehicle:1")
+                && tags.contains("licensePlate:ABC123")
+                && tags.contains("getVehiclesByType[CAR]")));
     }
 
     @Test
@@ -299,6 +364,55 @@ class VehicleServiceImplTest {
 
         assertThat(result).isEqualTo(vehicleDto);
         assertThat(vehicle.getStatus()).isEqualTo(Vehicle.VehicleStatus.IN_USE);
+        verify(cacheInvalidationService).invalidate("vehicle:1");
+        verify(outboxPublisher).publishDomainEvent("VEHICLE", 1L, VehicleStatusChanged.TYPE,
+                new VehicleStatusChanged(1L, vehicle.getLicensePlate(), Vehicle.VehicleStatus.AVAILABLE, Vehicle.VehicleStatus.IN_USE));
+    }
+
+
+    @Test
+    void updateVehicleStatus_WhenStatusUnchanged_ShouldNotPublishEvent() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(vehicleMapper.toDto(vehicle)).thenReturn(vehicleDto);
+
+        vehicleService.updateVehicleStatus(1L, vehicle.getStatus());
+
+        verifyNoInteractions(outboxPublisher);
+    }
+
+
+    @Test
+    void importVehicles_ShouldCreateNewRowsAndReportDuplicatesAndRuleViolations() {
+        VehicleDto existing = vehicleDto.toBuilder().id(null).licensePlate("EXISTS1").build();
+        VehicleDto inService = vehicleDto.toBuilder().id(null).licensePlate("INSRV1").status(Vehicle.VehicleStatus.IN_SERVICE).build();
+        VehicleDto fresh = vehicleDto.toBuilder().id(99L).licensePlate("NEW1").build();
+        Vehicle freshEntity = vehicle.toBuilder().id(99L).licensePlate("NEW1").build();
+
+        when(vehicleRepository.findExistingLicensePlates(List.of("EXISTS1", "INSRV1", "NEW1"))).thenReturn(Set.of("EXISTS1"));
+        when(vehicleMapper.toEntity(fresh)).thenReturn(freshEntity);
+        when(vehicleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Vehicle> vehicles = invocation.getArgument(0);
+            vehicles.forEach(v -> v.setId(500L));
+            return vehicles;
+        });
+
+        List<ImportRowResult> results = vehicleService.importVehicles(List.of(
+                new ImportRow<>(1, existing), new ImportRow<>(2, inService), new ImportRow<>(3, fresh)));
+
+        assertThat(results).extracting(ImportRowResult::row, ImportRowResult::status, ImportRowResult::id).containsExactlyInAnyOrder(
+                tuple(1, ImportRowStatus.DUPLICATE, null),
+                tuple(2, ImportRowStatus.INVALID, null),
+                tuple(3, ImportRowStatus.CREATED, 500L));
+        // client supplied ids are dropped, the sequence assigns them
+        verify(vehicleRepository).saveAll(argThat(vehicles -> vehicles.iterator().next().getId() == 500L));
+        verify(vehicleRepository).flush();
+        verify(cacheInvalidationService).invalidate(argThat((Collection<String> tags) -> tags.contains("vehicle:500")));
     }
 
-}
\ No newline at end of file
+    @Test
+    void importVehicles_WithEmptyChunk_ShouldNotQuery() {
+        assertThat(vehicleService.importVehicles(List.of())).isEmpty();
+
+        verifyNoInteractions(vehicleRepository);
+    }
+}
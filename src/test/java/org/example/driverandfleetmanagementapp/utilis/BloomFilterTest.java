@@ -0,0 +1,53 @@
+package org.example.driverandfleetmanagementapp.utilis;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAKeyThatWasPut() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+
+        IntStream.range(0, 100_000).forEach(i -> filter.put("vehicle:" + i));
+
+        assertThat(IntStream.range(0, 100_000).allMatch(i -> filter.mightContain("vehicle:" + i))).isTrue();
+        assertThat(filter.approximateElementCount()).isGreaterThan(99_000);
+    }
+
+    @Test
+    void mightContain_ShouldStayNearTheConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        IntStream.range(0, 100_000).forEach(i -> filter.put("vehicle:" + i));
+
+        long falsePositives = IntStream.range(100_000, 200_000).filter(i -> filter.mightContain("vehicle:" + i)).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.02);
+    }
+
+    @Test
+    void put_FromConcurrentThreads_ShouldKeepEveryKey() {
+        BloomFilter filter = new BloomFilter(200_000, 0.01);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 8).forEach(t -> executor.submit(() ->
+                    IntStream.range(0, 25_000).forEach(i -> filter.put("key:" + t + ":" + i))));
+        }
+
+        assertThat(IntStream.range(0, 8).allMatch(t ->
+                IntStream.range(0, 25_000).allMatch(i -> filter.mightContain("key:" + t + ":" + i)))).isTrue();
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(1_000, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.driverandfleetmanagementapp.utilis;
+
+
+import org.example.driverandfleetmanagementapp.dto.CursorPageRequest;
+import org.example.driverandfleetmanagementapp.exception.custom.BusinessLogicException;
+import org.example.driverandfleetmanagementapp.model.Vehicle;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+@ActiveProfiles("test")
+public class KeysetCursorTest {
+
+    @Test
+    void encodedCursorShouldDecodeToSameKeysWithEntityTypes() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("technicalInspectionDate", LocalDate.of(2026, 3, 1));
+        keys.put("id", 42L);
+
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys), "technicalInspectionDate", Sort.Direction.DESC);
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, "technicalInspectionDate", Sort.Direction.DESC, Vehicle.class);
+
+        assertThat(position.getKeys())
+                .containsEntry("technicalInspectionDate", LocalDate.of(2026, 3, 1))
+                .containsEntry("id", 42L);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void missingCursorShouldStartFromTheBeginning() {
+        assertThat(KeysetCursor.decode(null, "id", Sort.Direction.ASC, Vehicle.class).isInitial()).isTrue();
+    }
+
+    @Test
+    void cursorOfDifferentSortShouldBeRejected() {
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of("brand", "Audi", "id", 1L)), "brand", Sort.Direction.ASC);
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, "brand", Sort.Direction.DESC, Vehicle.class))
+                .isInstanceOf(BusinessLogicException.class)
+                .hasMessageContaining("different sort");
+    }
+
+    @Test
+    void tamperedCursorShouldBeRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor", "id", Sort.Direction.ASC, Vehicle.class))
+                .isInstanceOf(BusinessLogicException.class)
+                .hasMessage("Invalid cursor");
+        String unknownProperty = KeysetCursor.encode(ScrollPosition.forward(Map.of("password", "x")), "id", Sort.Direction.ASC);
+        assertThatThrownBy(() -> KeysetCursor.decode(unknownProperty, "id", Sort.Direction.ASC, Vehicle.class))
+                .isInstanceOf(BusinessLogicException.class);
+    }
+
+    @Test
+    void sortShouldRejectUnknownPropertyAndLimitOutOfRange() {
+        Set<String> sortable = Set.of("id", "brand");
+
+        assertThat(KeysetCursor.sort(new CursorPageRequest(null, 20, "brand", Sort.Direction.ASC), sortable))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "brand"));
+        assertThatThrownBy(() -> KeysetCursor.sort(new CursorPageRequest(null, 20, "driver", Sort.Direction.ASC), sortable))
+                .isInstanceOf(BusinessLogicException.class);
+        assertThatThrownBy(() -> KeysetCursor.sort(new CursorPageRequest(null, 0, "id", Sort.Direction.ASC), sortable))
+                .isInstanceOf(BusinessLogicException.class);
+        assertThatThrownBy(() -> KeysetCursor.sort(new CursorPageRequest(null, CursorPageRequest.MAX_LIMIT + 1, "id", Sort.Direction.ASC), sortable))
+                .isInstanceOf(BusinessLogicException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Stand-in for the weather API on a free local port: answers /weather?q={city} after the configured latency with
+ * the city's name and the current temperature, 404 for "atlantis" and the configured status when it is not 200.
+ */
+final class WeatherApiStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong temperature = new AtomicLong(12);
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int status = 200;
+
+    WeatherApiStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.createContext("/weather", exchange -> {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String city = exchange.getRequestURI().getQuery().replaceFirst("^q=([^&]*).*", "$1");
+            byte[] body = ("{\"name\":\"" + city + "\",\"main\":{\"temp\":" + temperature.get() + ",\"humidity\":70},"
+                    + "\"weather\":[{\"main\":\"Clouds\",\"description\":\"overcast clouds\"}]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (city.equals("atlantis")) {
+                exchange.sendResponseHeaders(404, -1);
+            } else if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            inFlight.decrementAndGet();
+            exchange.close();
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/weather";
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    void temperature(long temperature) {
+        this.temperature.set(temperature);
+    }
+
+    void latency(Duration latency) {
+        this.latency = latency;
+    }
+
+    void status(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.example.driverandfleetmanagementapp.exception.custom.CityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+
+class WeatherCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration STALE_WHILE_REVALIDATE = Duration.ofMinutes(10);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WeatherApiStub weatherApi;
+    private WeatherCache weatherCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        weatherApi = new WeatherApiStub();
+        WeatherProperties properties = new WeatherProperties();
+        properties.getApi().setUrl(weatherApi.url());
+        properties.getApi().setKey("test-key");
+        properties.getCache().setTtl(TTL);
+        properties.getCache().setStaleWhileRevalidate(STALE_WHILE_REVALIDATE);
+        WeatherService weatherService = new WeatherService(WebClient.create(), properties, CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), meterRegistry);
+        weatherCache = new WeatherCache(weatherService, properties, meterRegistry, nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherApi.close();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private double temperature(String city) {
+        return weatherCache.get(city).block().getMain().getTemp();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("fleet.weather.cache.requests").tag("result", result).counter().count();
+    }
+
+
+    @Test
+    void get_ShouldServeTheSameCityFromTheCacheWithinTheTtl() {
+        assertThat(weatherCache.get("Warsaw").block().getName()).isEqualTo("warsaw");
+        advance(TTL.minusSeconds(1));
+
+        assertThat(temperature(" WARSAW ")).isEqualTo(12);
+        assertThat(temperature("warsaw")).isEqualTo(12);
+
+        assertThat(weatherApi.calls()).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(2);
+    }
+
+    @Test
+    void get_WhenManyRequestsMissAtOnce_ShouldCallTheApiOnce() {
+        weatherApi.latency(Duration.ofMillis(300));
+
+        List<WeatherData> results = Flux.range(0, 20)
+                .flatMap(i -> weatherCache.get("Gdansk"))
+                .collectList()
+                .block();
+
+        assertThat(results).hasSize(20).allSatisfy(data -> assertThat(data.getName()).isEqualTo("gdansk"));
+        assertThat(weatherApi.calls()).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("coalesced")).isEqualTo(19);
+    }
+
+    @Test
+    void get_AfterTheTtl_ShouldServeTheStaleWeatherWhileItIsRefreshed() {
+        weatherCache.get("Krakow").block();
+        weatherApi.temperature(-3);
+        weatherApi.latency(Duration.ofMillis(300));
+        advance(TTL.plusSeconds(1));
+
+        assertThat(temperature("Krakow")).isEqualTo(12);
+        assertThat(temperature("Krakow")).isEqualTo(12);
+        assertThat(requests("stale")).isEqualTo(2);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> temperature("Krakow") == -3);
+        assertThat(weatherApi.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void get_PastTheStaleWindow_ShouldWaitForTheApi() {
+        weatherCache.get("Poznan").block();
+        weatherApi.temperature(20);
+        advance(TTL.plus(STALE_WHILE_REVALIDATE).plusSeconds(1));
+
+        assertThat(temperature("Poznan")).isEqualTo(20);
+        assertThat(requests("miss")).isEqualTo(2);
+        assertThat(requests("stale")).isZero();
+    }
+
+    @Test
+    void get_WhenCityIsUnknown_ShouldFailAndNotCacheTheFailure() {
+        assertThatThrownBy(() -> weatherCache.get("Atlantis").block()).isInstanceOf(CityNotFoundException.class);
+        assertThatThrownBy(() -> weatherCache.get("Atlantis").block()).isInstanceOf(CityNotFoundException.class);
+
+        assertThat(weatherApi.calls()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+
+/**
+ * Time for a burst of concurrent weather calls against a local stub answering after 200 ms: blocking ones, each
+ * holding one of 200 platform threads (Tomcat's default pool) until its answer came, against the reactive pipeline
+ * with all calls in flight on the event loop. Blocking time grows in steps of the latency once the burst exceeds the
+ * pool, reactive time stays near one latency. Results: docs/weather-client-benchmark.md.
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main WeatherClientBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class WeatherClientBenchmark {
+
+    private static final int REQUEST_THREADS = 200;
+
+    @Param({"50", "200", "800"})
+    private int concurrency;
+
+    private WeatherApiStub weatherApi;
+    private WeatherService weatherService;
+    private ExecutorService requestThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        weatherApi = new WeatherApiStub();
+        weatherApi.latency(Duration.ofMillis(200));
+        WeatherProperties properties = new WeatherProperties();
+        properties.getApi().setUrl(weatherApi.url());
+        properties.getApi().setKey("benchmark");
+        // the pool and the bulkhead fit the largest burst, the execution model is what is measured
+        properties.getClient().setMaxConnections(1_000);
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1_000)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        weatherService = new WeatherService(new WebClientConfig().webClient(properties), properties,
+                CircuitBreakerRegistry.ofDefaults(), bulkheadRegistry, new SimpleMeterRegistry());
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        weatherApi.close();
+    }
+
+
+    @Benchmark
+    public void blocking() throws InterruptedException {
+        List<Callable<WeatherData>> calls = IntStream.range(0, concurrency)
+                .<Callable<WeatherData>>mapToObj(i -> () -> weatherService.fetchCurrentWeather("city" + i).block())
+                .toList();
+        requestThreads.invokeAll(calls);
+    }
+
+    @Benchmark
+    public void reactive() {
+        Flux.range(0, concurrency)
+                .flatMap(i -> weatherService.fetchCurrentWeather("city" + i), concurrency)
+                .blockLast();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.example.driverandfleetmanagementapp.exception.custom.CityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class WeatherRecommendationServiceTest {
+
+    @Mock
+    private WeatherCache weatherCache;
+
+    private final WeatherProperties properties = new WeatherProperties();
+    private WeatherRecommendationService weatherRecommendationService;
+
+    @BeforeEach
+    void setUp() {
+        properties.getBatch().setParallelism(2);
+        weatherRecommendationService = new WeatherRecommendationService(weatherCache, properties, new SimpleMeterRegistry());
+    }
+
+    private static WeatherData weather(String city, double temp, String condition) {
+        WeatherData data = new WeatherData();
+        data.setName(city);
+        WeatherData.Main main = new WeatherData.Main();
+        main.setTemp(temp);
+        main.setHumidity(80);
+        data.setMain(main);
+        WeatherData.Weather weather = new WeatherData.Weather();
+        weather.setMain(condition);
+        data.setWeather(List.of(weather));
+        return data;
+    }
+
+
+    @Test
+    void getDetailedWeatherWithRating_ShouldRateTheConditions() {
+        when(weatherCache.get("Zakopane")).thenReturn(Mono.just(weather("Zakopane", -8, "Snow")));
+        when(weatherCache.get("Nowhere")).thenReturn(Mono.empty());
+
+        WeatherDto snow = weatherRecommendationService.getDetailedWeatherWithRating("Zakopane").block();
+        WeatherDto unknown = weatherRecommendationService.getDetailedWeatherWithRating("Nowhere").block();
+
+        assertThat(snow.getCity()).isEqualTo("Zakopane");
+        assertThat(snow.getDriverRating()).isEqualTo("Snow - possible snowed roads");
+        assertThat(unknown.getCondition()).isEqualTo("Unknown");
+    }
+
+    @Test
+    void getBatchWeatherWithRating_ShouldReturnTheFoundCitiesInOrderAndAnErrorPerFailedCity() {
+        when(weatherCache.get("Warsaw")).thenReturn(Mono.just(weather("Warsaw", 10, "Clear")));
+        when(weatherCache.get("Atlantis")).thenReturn(Mono.error(new CityNotFoundException("City 'atlantis' not found.")));
+        when(weatherCache.get("Krakow")).thenReturn(Mono.error(
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults(WeatherService.RESILIENCE_INSTANCE))));
+        when(weatherCache.get("Gdansk")).thenReturn(Mono.delay(Duration.ofMillis(50)).thenReturn(weather("Gdansk", 2, "Rain")));
+
+        WeatherBatchResponse response = weatherRecommendationService
+                .getBatchWeatherWithRating(List.of("Gdansk", "Atlantis", "Warsaw", "Krakow"))
+                .block();
+
+        assertThat(response.results()).extracting(WeatherDto::getCity).containsExactly("Gdansk", "Warsaw");
+        assertThat(response.results().getFirst().getDriverRating()).isEqualTo("Raining - possible slippery roads");
+        assertThat(response.errors()).containsExactly(
+                new WeatherBatchResponse.CityError("Atlantis", 404, "City 'atlantis' not found."),
+                new WeatherBatchResponse.CityError("Krakow", 503, "Weather service unavailable. Please try again later."));
+    }
+
+    @Test
+    void getBatchWeatherWithRating_ShouldLookUpEachCityOnceWithBoundedParallelism() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(weatherCache.get(anyString())).thenAnswer(invocation -> {
+            String city = invocation.getArgument(0);
+            return Mono.delay(Duration.ofMillis(50))
+                    .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doOnTerminate(inFlight::decrementAndGet)
+                    .thenReturn(weather(city, 15, "Clouds"));
+        });
+
+        WeatherBatchResponse response = weatherRecommendationService
+                .getBatchWeatherWithRating(List.of("Warsaw", " warsaw", "Lodz", "WARSAW", "Gdansk", "Poznan", "Lublin"))
+                .block();
+
+        assertThat(response.results()).extracting(WeatherDto::getCity).containsExactly("Warsaw", "Lodz", "Gdansk", "Poznan", "Lublin");
+        assertThat(response.errors()).isEmpty();
+        assertThat(maxInFlight).hasValue(2);
+        verify(weatherCache, times(1)).get("Warsaw");
+        verify(weatherCache, times(5)).get(anyString());
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.driverandfleetmanagementapp.weather;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.driverandfleetmanagementapp.config.WeatherProperties;
+import org.example.driverandfleetmanagementapp.exception.custom.CityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Signal;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class WeatherServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // like resilience4j.*.instances.weather-api in application.properties, with a smaller window
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(CityNotFoundException.class)
+            .build());
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(2)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final WeatherProperties properties = new WeatherProperties();
+    private WeatherApiStub weatherApi;
+    private WeatherService weatherService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        weatherApi = new WeatherApiStub();
+        properties.getApi().setUrl(weatherApi.url());
+        properties.getApi().setKey("test-key");
+        properties.getClient().setResponseTimeout(Duration.ofMillis(500));
+        weatherService = new WeatherService(new WebClientConfig().webClient(properties), properties,
+                circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherApi.close();
+    }
+
+    private CircuitBreaker.State circuitState() {
+        return circuitBreakerRegistry.circuitBreaker(WeatherService.RESILIENCE_INSTANCE).getState();
+    }
+
+
+    @Test
+    void fetchCurrentWeather_ShouldMapTheApiResponse() {
+        WeatherData data = weatherService.fetchCurrentWeather("warsaw").block();
+
+        assertThat(data.getName()).isEqualTo("warsaw");
+        assertThat(data.getMain().getTemp()).isEqualTo(12);
+        assertThat(data.getWeather()).extracting(WeatherData.Weather::getMain).containsExactly("Clouds");
+        assertThat(meterRegistry.get("fleet.weather.api.call.time").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchCurrentWeather_WhenTheApiKeepsFailing_ShouldOpenTheCircuitAndStopCallingIt() {
+        weatherApi.status(500);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> weatherService.fetchCurrentWeather("warsaw").block())
+                    .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        }
+
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> weatherService.fetchCurrentWeather("warsaw").block()).isInstanceOf(CallNotPermittedException.class);
+        assertThat(weatherApi.calls()).isEqualTo(4);
+        assertThat(meterRegistry.get("fleet.weather.api.call.time").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchCurrentWeather_WhenCityIsUnknown_ShouldNotCountAgainstTheCircuit() {
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> weatherService.fetchCurrentWeather("atlantis").block()).isInstanceOf(CityNotFoundException.class);
+        }
+
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(weatherApi.calls()).isEqualTo(6);
+    }
+
+    @Test
+    void fetchCurrentWeather_WhenTheApiDoesNotAnswerInTime_ShouldTimeOut() {
+        weatherApi.latency(Duration.ofSeconds(2));
+
+        assertThatThrownBy(() -> weatherService.fetchCurrentWeather("warsaw").block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientRequestException.class);
+    }
+
+    @Test
+    void fetchCurrentWeather_AboveTheBulkheadLimit_ShouldRejectRightAway() {
+        weatherApi.latency(Duration.ofMillis(300));
+
+        List<Signal<WeatherData>> results = Flux.range(0, 5)
+                .flatMap(i -> weatherService.fetchCurrentWeather("city" + i).materialize().filter(signal -> !signal.isOnComplete()))
+                .collectList()
+                .block();
+
+        assertThat(results).filteredOn(Signal::isOnNext).hasSize(2);
+        assertThat(results).filteredOn(Signal::isOnError)
+                .hasSize(3)
+                .allSatisfy(signal -> assertThat(signal.getThrowable()).isInstanceOf(BulkheadFullException.class));
+        assertThat(weatherApi.maxInFlight()).isLessThanOrEqualTo(2);
+        // rejected by the bulkhead is not a failure of the API
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}